@@ -0,0 +1,41 @@
+package com.loanemi.benchmarks;
+
+/**
+ * Synthetic test data shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static String caseId(int index) {
+        return "TC" + (index + 1);
+    }
+
+    /**
+     * Builds an inputData.json document with the same shape as the real one
+     * (a "testCases" object keyed by case id) holding the requested number of cases.
+     */
+    static String inputDataJson(int cases) {
+        StringBuilder json = new StringBuilder(cases * 160 + 32).append("{\"testCases\":{");
+        for (int i = 0; i < cases; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(caseId(i)).append("\":{")
+                .append("\"amount\":\"").append(100000 + i * 1000).append("\",")
+                .append("\"rate\":\"").append(8 + (i % 40) * 0.25).append("\",")
+                .append("\"tenure\":\"").append(1 + i % 30).append("\",")
+                .append("\"fees\":\"").append(i % 10 * 1000).append("\",")
+                .append("\"expectedEmi\":\"").append(21618 + i).append("\"}");
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * A value shaped like the amortization table cells scraped from the site.
+     */
+    static String cellValue(int row, int column) {
+        return column == 0 ? String.valueOf(2025 + row) : "₹ " + (row * 1000 + column * 37) + ",561";
+    }
+}
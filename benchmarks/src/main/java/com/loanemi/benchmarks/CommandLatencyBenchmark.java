@@ -0,0 +1,70 @@
+package com.loanemi.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.timing.LatencyHistogram;
+
+/**
+ * Cost of recording one WebDriver command's latency, with one test thread and with as many
+ * threads as a parallel run: the lock-free LatencyHistogram against the same buckets behind a
+ * lock. Latencies are drawn from 0.1 to 200 ms, the range of real commands.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandLatencyBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final long[] lockedCounts = new long[1024];
+    private long lockedTotal;
+
+    private static long latencyNanos() {
+        return ThreadLocalRandom.current().nextLong(100_000, 200_000_000);
+    }
+
+    private synchronized void recordLocked(long nanos) {
+        long micros = nanos / 1_000;
+        lockedCounts[(int) Math.min(lockedCounts.length - 1, 63 - Long.numberOfLeadingZeros(micros | 1))]++;
+        lockedTotal += micros;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void histogram1Thread() {
+        histogram.recordNanos(latencyNanos());
+    }
+
+    @Benchmark
+    @Threads(6)
+    public void histogram6Threads() {
+        histogram.recordNanos(latencyNanos());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void locked1Thread() {
+        recordLocked(latencyNanos());
+    }
+
+    @Benchmark
+    @Threads(6)
+    public void locked6Threads() {
+        recordLocked(latencyNanos());
+    }
+}
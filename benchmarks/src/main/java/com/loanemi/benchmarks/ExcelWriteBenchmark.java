@@ -0,0 +1,90 @@
+package com.loanemi.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.utils.ExcelExportMode;
+import com.loanemi.utils.ExcelUtils;
+import com.loanemi.utils.ExcelWorkbookSession;
+
+/**
+ * Cost of exporting a schedule-sized table through ExcelUtils.setCellData, which opens,
+ * parses and rewrites the whole workbook for every cell, against one ExcelWorkbookSession
+ * that writes the file once (in-memory or SXSSF streaming). Each invocation writes rows × 7 columns, like HomeLoanPage's
+ * yearly/monthly export.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelWriteBenchmark {
+
+    private static final int COLUMNS = 7;
+
+    @Param({"10", "50"})
+    public int rows;
+
+    private Path workbook;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        workbook = Files.createTempFile("emi_data-", ".xlsx");
+        Files.delete(workbook); // ExcelUtils creates the workbook on first write
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workbook);
+    }
+
+    @Benchmark
+    public void setCellDataPerCell() {
+        String path = workbook.toString();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                ExcelUtils.setCellData(path, "YearlyData", r, c, BenchmarkData.cellValue(r, c));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sessionPerTable() {
+        writeTable(ExcelExportMode.BATCHED);
+    }
+
+    @Benchmark
+    public void streamingSessionPerTable() {
+        writeTable(ExcelExportMode.STREAMING);
+    }
+
+    private void writeTable(ExcelExportMode mode) {
+        try (ExcelWorkbookSession session = ExcelUtils.openSession(workbook.toString(), mode)) {
+            String[] values = new String[COLUMNS];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < COLUMNS; c++) {
+                    values[c] = BenchmarkData.cellValue(r, c);
+                }
+                session.writeRow("YearlyData", r, values);
+            }
+            session.commit();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.loanemi.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+/**
+ * Extent reporting overhead for a suite of tests, each logging a few steps: a new report
+ * file initialized and flushed per scenario (the old CucumberHooks behaviour), one shared
+ * report flushed after every test, and one shared report flushed every FLUSH_EVERY tests and
+ * at the end (what ExtentReportUtil's background flush amounts to). Divide by tests for the
+ * cost per test.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtentReportBenchmark {
+
+    private static final int LOGS_PER_TEST = 10;
+    private static final int FLUSH_EVERY = 25;
+
+    @Param({"20", "100"})
+    public int tests;
+
+    private Path dir;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("extent-");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void reportPerScenario() {
+        for (int t = 0; t < tests; t++) {
+            ExtentReports report = newReport("report-" + t + ".html");
+            logTest(report, t);
+            report.flush();
+        }
+    }
+
+    @Benchmark
+    public void sharedReportFlushPerTest() {
+        ExtentReports report = newReport("suite.html");
+        for (int t = 0; t < tests; t++) {
+            logTest(report, t);
+            report.flush();
+        }
+    }
+
+    @Benchmark
+    public void sharedReportPeriodicFlush() {
+        ExtentReports report = newReport("suite.html");
+        for (int t = 0; t < tests; t++) {
+            logTest(report, t);
+            if ((t + 1) % FLUSH_EVERY == 0) {
+                report.flush();
+            }
+        }
+        report.flush();
+    }
+
+    private ExtentReports newReport(String fileName) {
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(new ExtentSparkReporter(dir.resolve(fileName).toString()));
+        return report;
+    }
+
+    private static void logTest(ExtentReports report, int t) {
+        ExtentTest test = report.createTest("Scenario " + t);
+        for (int l = 0; l < LOGS_PER_TEST; l++) {
+            test.log(Status.INFO, "Step " + l + " of scenario " + t);
+        }
+        test.log(Status.PASS, "Scenario " + t + " passed");
+    }
+}
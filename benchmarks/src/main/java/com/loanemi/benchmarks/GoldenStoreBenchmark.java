@@ -0,0 +1,72 @@
+package com.loanemi.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.golden.GoldenCheck;
+import com.loanemi.golden.GoldenStore;
+
+/**
+ * Golden-result store: random lookups of the latest entry and check-and-record of a known
+ * key, by number of stored entries, to show lookup cost does not grow with the store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GoldenStoreBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    private Path file;
+    private GoldenStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("golden-", ".gstore");
+        Files.delete(file); // The store creates its own file
+        store = GoldenStore.open(file, 1024);
+        for (int i = 0; i < entries; i++) {
+            store.check(GoldenStore.key("carLoan", i, 10.5, 60), "bench", i * 12.5, i * 3.25);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Paths.get(file + ".versions"));
+    }
+
+    @Benchmark
+    public GoldenStore.Entry latestRandomKey() {
+        int i = ThreadLocalRandom.current().nextInt(entries);
+        return store.latest(GoldenStore.key("carLoan", i, 10.5, 60));
+    }
+
+    @Benchmark
+    public GoldenCheck checkKnownKey() {
+        int i = ThreadLocalRandom.current().nextInt(entries);
+        return store.check(GoldenStore.key("carLoan", i, 10.5, 60), "bench", i * 12.5, i * 3.25);
+    }
+}
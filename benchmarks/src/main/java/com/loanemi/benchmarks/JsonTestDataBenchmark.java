@@ -0,0 +1,73 @@
+package com.loanemi.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.entity.JsonData;
+import com.loanemi.entity.TestCase;
+import com.loanemi.utils.JsonUtil;
+import com.loanemi.utils.TestDataRepository;
+
+/**
+ * Cost of JsonUtil.getTestCase (re-reads the file per call) against TestDataRepository
+ * (one load, then map lookups). A synthetic inputData.json with the given number of test
+ * cases is generated per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonTestDataBenchmark {
+
+    @Param({"4", "100", "1000"})
+    public int cases;
+
+    private Path jsonFile;
+    private String lastCaseId;
+    private TestDataRepository repository;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonFile = Files.createTempFile("inputData-", ".json");
+        Files.writeString(jsonFile, BenchmarkData.inputDataJson(cases));
+        lastCaseId = BenchmarkData.caseId(cases - 1);
+        repository = TestDataRepository.load(jsonFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Benchmark
+    public JsonData getTestCase() {
+        return JsonUtil.getTestCase(jsonFile.toString(), lastCaseId);
+    }
+
+    @Benchmark
+    public TestDataRepository repositoryLoad() {
+        return TestDataRepository.load(jsonFile.toString());
+    }
+
+    @Benchmark
+    public TestCase repositoryLookup() {
+        return repository.get(lastCaseId);
+    }
+}
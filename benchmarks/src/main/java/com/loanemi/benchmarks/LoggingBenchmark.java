@@ -0,0 +1,105 @@
+package com.loanemi.benchmarks;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.utils.LogContext;
+
+/**
+ * Cost of one page-object log line to the rolling log file, with four test threads logging
+ * at once: the original setup (synchronous loggers, flush per event, each thread taking the
+ * appender lock) against the current one (async loggers on the Disruptor ring buffer, a
+ * batched writer thread, test context in the MDC, boxed primitives via Unbox).
+ *
+ * before/after log without pause, so once the ring buffer is full "after" is bound by how fast
+ * the writer thread drains it, like "before" is by the disk. burstBefore/burstAfter time
+ * BURST lines logged back to back after a pause, which is how tests log (a few lines per page
+ * action, then waiting on the browser): the cost a test thread actually pays.
+ *
+ * Each variant runs in its own JVM, since the logger context selector is fixed at startup.
+ * Run with -prof gc for allocation per line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+
+    private static final int BURST = 500;
+
+    private Logger logger;
+    private double amount;
+    private double rate;
+
+    @Setup
+    public void setUp() {
+        logger = LogManager.getLogger("CarLoanLogger");
+        amount = 1_500_000 + Thread.currentThread().getId();
+        rate = 9.5;
+        LogContext.start("testCarLoanEMICalculation", "chrome", 1);
+    }
+
+    // Lets the writer thread catch up before each burst
+    @Setup(Level.Iteration)
+    public void pause() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j2.configurationFile=log4j2-bench-before.xml",
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector"})
+    public void before() {
+        logger.info("Test Inputs — Amount: ₹{}, Rate: {}%", amount, rate);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j2.configurationFile=log4j2-bench-after.xml",
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.async.AsyncLoggerContextSelector"})
+    public void after() {
+        logger.info("Test Inputs — Amount: ₹{}, Rate: {}%", box(amount), box(rate));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 20, batchSize = BURST)
+    @Measurement(iterations = 50, batchSize = BURST)
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j2.configurationFile=log4j2-bench-before.xml",
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector"})
+    public void burstBefore() {
+        before();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 20, batchSize = BURST)
+    @Measurement(iterations = 50, batchSize = BURST)
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j2.configurationFile=log4j2-bench-after.xml",
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.async.AsyncLoggerContextSelector"})
+    public void burstAfter() {
+        after();
+    }
+}
@@ -0,0 +1,44 @@
+package com.loanemi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.utils.IndianNumberParser;
+
+/**
+ * Compares the regex-based parsing previously used by the page objects
+ * (replaceAll("[^\\d.]", "") + Double.parseDouble) with IndianNumberParser.
+ * Run with -prof gc to see the allocation difference per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberParsingBenchmark {
+
+    // Representative values scraped from the calculator summaries
+    @Param({"₹ 2,37,561", "₹ 12,34,56,789.25", "10.75 %", "60 Months"})
+    public String text;
+
+    @Benchmark
+    public double regexReplaceAndParse() {
+        return Double.parseDouble(text.replaceAll("[^\\d.]", ""));
+    }
+
+    @Benchmark
+    public double indianNumberParser() {
+        return IndianNumberParser.parse(text);
+    }
+}
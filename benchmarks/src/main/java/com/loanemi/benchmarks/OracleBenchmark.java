@@ -0,0 +1,74 @@
+package com.loanemi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.oracle.AmortizationSchedule;
+import com.loanemi.oracle.EmiScheme;
+import com.loanemi.oracle.ExactLoanOracle;
+import com.loanemi.oracle.LoanOracle;
+import com.loanemi.oracle.OracleCache;
+
+/**
+ * EMI math throughput: scalar EMI/APR, fast vs exact schedules, and cached schedule lookups,
+ * parameterized by tenure so the cost of long (30-year) schedules is visible.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OracleBenchmark {
+
+    @Param({"12", "120", "360"})
+    public int tenureMonths;
+
+    private final double principal = 1_000_000;
+    private final double rate = 10.75;
+    private final double fees = 10_000;
+
+    private OracleCache cache;
+
+    @Setup
+    public void setUp() {
+        cache = new OracleCache(1024, 1_000_000);
+        cache.schedule(principal, rate, tenureMonths, EmiScheme.ARREARS); // Warm the single cached entry
+    }
+
+    @Benchmark
+    public double emi() {
+        return LoanOracle.emi(principal, rate, tenureMonths, EmiScheme.ARREARS);
+    }
+
+    @Benchmark
+    public double aprWithFees() {
+        return LoanOracle.apr(principal, rate, tenureMonths, fees, EmiScheme.ARREARS);
+    }
+
+    @Benchmark
+    public AmortizationSchedule fastSchedule() {
+        return LoanOracle.schedule(principal, rate, tenureMonths, EmiScheme.ARREARS);
+    }
+
+    @Benchmark
+    public AmortizationSchedule exactSchedule() {
+        return ExactLoanOracle.schedule(principal, rate, tenureMonths, EmiScheme.ARREARS);
+    }
+
+    @Benchmark
+    public AmortizationSchedule cachedSchedule() {
+        return cache.schedule(principal, rate, tenureMonths, EmiScheme.ARREARS);
+    }
+}
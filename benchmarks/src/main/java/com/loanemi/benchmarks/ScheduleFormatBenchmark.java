@@ -0,0 +1,123 @@
+package com.loanemi.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loanemi.oracle.EmiScheme;
+import com.loanemi.oracle.LoanOracle;
+import com.loanemi.schedule.MappedSchedule;
+import com.loanemi.schedule.ScheduleFiles;
+import com.loanemi.schedule.ScheduleTable;
+import com.loanemi.utils.ExcelExportMode;
+import com.loanemi.utils.ExcelUtils;
+import com.loanemi.utils.ExcelWorkbookSession;
+
+/**
+ * Writing an oracle schedule as XLSX (one streaming session), CSV and columnar binary, and
+ * loading the balance column back from CSV (parse every line) vs the memory-mapped columnar
+ * file (zero-copy view), by tenure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleFormatBenchmark {
+
+    @Param({"120", "360"})
+    public int tenureMonths;
+
+    private ScheduleTable table;
+    private Path dir;
+    private Path xlsx;
+    private Path csv;
+    private Path columnar;
+
+    @Setup
+    public void setUp() throws IOException {
+        table = ScheduleTable.ofOracle(LoanOracle.schedule(1_000_000, 10.75, tenureMonths, EmiScheme.ARREARS));
+        dir = Files.createTempDirectory("schedules-");
+        xlsx = dir.resolve("schedule.xlsx");
+        csv = dir.resolve("schedule" + ScheduleFiles.CSV_EXTENSION);
+        columnar = dir.resolve("schedule" + ScheduleFiles.COLUMNAR_EXTENSION);
+        ScheduleFiles.writeCsv(table, csv);
+        ScheduleFiles.writeColumnar(table, columnar);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (Path file : new Path[] { xlsx, csv, columnar, dir }) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public void writeXlsx() {
+        try (ExcelWorkbookSession session = ExcelUtils.openSession(xlsx.toString(), ExcelExportMode.STREAMING)) {
+            String sheet = "Schedule";
+            session.clearSheet(sheet);
+            String[] values = new String[table.columnCount()];
+            for (int r = 0; r < table.rowCount(); r++) {
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = Double.toString(table.getDouble(c, r));
+                }
+                session.writeRow(sheet, r, values);
+            }
+            session.commit();
+        }
+    }
+
+    @Benchmark
+    public void writeCsv() throws IOException {
+        ScheduleFiles.writeCsv(table, csv);
+    }
+
+    @Benchmark
+    public void writeColumnar() throws IOException {
+        ScheduleFiles.writeColumnar(table, columnar);
+    }
+
+    @Benchmark
+    public double readCsvBalance() throws IOException {
+        double sum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv)) {
+            reader.readLine(); // header
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                sum += Double.parseDouble(line.substring(line.lastIndexOf(',') + 1));
+            }
+        }
+        return sum;
+    }
+
+    // A mapping is released only when its buffer is collected: a small young generation
+    // collects them before the process runs out of map areas (vm.max_map_count)
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmn8m")
+    public double readColumnarBalance() {
+        MappedSchedule schedule = MappedSchedule.open(columnar);
+        DoubleBuffer balance = schedule.doubleColumn(schedule.columnIndex("balance"));
+        double sum = 0;
+        while (balance.hasRemaining()) {
+            sum += balance.get();
+        }
+        return sum;
+    }
+}
@@ -1,7 +1,9 @@
 package com.loanemi.base;
 
+import com.loanemi.timing.JfrEvents;
+import com.loanemi.timing.TimingEvents;
 import com.loanemi.utils.ConfigReader;
-import com.loanemi.utils.ScreenshotUtil;
+import com.loanemi.utils.FlightRecorder;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,6 +37,8 @@ public class DriverSetup {
     /**
      * Public accessor for obtaining the WebDriver instance.
      * Determines mode of execution from config: 'local' or 'remote'.
+     * With flightRecorderEnabled the driver is wrapped by FlightRecorder; its commands are
+     * timed by TimingEvents beneath that. The launch is recorded as a JFR event.
      * 
      * @param browser Browser name (chrome, edge, firefox)
      * @return WebDriver instance for current thread
@@ -44,12 +48,19 @@ public class DriverSetup {
             String mode = ConfigReader.getProperty("executionMode").trim().toLowerCase();
             System.out.println(mode); // Debug print (optional)
 
-            if (mode.equals("remote")) {
-                logger.info("Execution mode: REMOTE via Selenium Grid");
-                driver.set(setupRemoteDriver(browser));
-            } else {
-                logger.info("Execution mode: LOCAL");
-                driver.set(setupLocalDriver(browser));
+            JfrEvents.DriverSession session = JfrEvents.driverSession(browser, mode);
+            String outcome = TimingEvents.FAILED;
+            try {
+                if (mode.equals("remote")) {
+                    logger.info("Execution mode: REMOTE via Selenium Grid");
+                    driver.set(FlightRecorder.attach(TimingEvents.attach(setupRemoteDriver(browser))));
+                } else {
+                    logger.info("Execution mode: LOCAL");
+                    driver.set(FlightRecorder.attach(TimingEvents.attach(setupLocalDriver(browser))));
+                }
+                outcome = TimingEvents.OK;
+            } finally {
+                session.end(outcome);
             }
 
             // Maximize browser window after launching
@@ -161,12 +172,11 @@ public class DriverSetup {
 
     /**
      * Gracefully shuts down the WebDriver and removes thread-local reference.
-     * Captures screenshot before closure to aid reporting/debugging.
+     * Screenshots are taken by the test hooks (see ScreenshotPipeline), not here.
      */
     public static void quitDriver() {
         WebDriver currentDriver = driver.get();
         if (currentDriver != null) {
-            ScreenshotUtil.captureScreenshot(currentDriver, "Before_Browser_Close");
             currentDriver.quit();
             logger.info("Driver session closed and removed from thread");
             driver.remove();
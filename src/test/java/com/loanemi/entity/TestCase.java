@@ -0,0 +1,227 @@
+package com.loanemi.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable, typed view of a single test case from inputData.json.
+ *
+ * Unlike {@link JsonData}, which mirrors the JSON as strings, every numeric field is parsed
+ * once when the test data is loaded. Fields a test case does not define are kept as NaN;
+ * reading one throws an IllegalStateException naming the case and field, instead of failing
+ * later with a NumberFormatException deep inside a page object.
+ *
+ * Instances are created by {@link #from(String, JsonData)} and shared freely across threads.
+ */
+public final class TestCase {
+
+    // Relative slack for floating-point noise in toWhole
+    private static final double WHOLE_EPSILON = 1e-9;
+
+    private final String id;
+
+    // ==== TC01: Basic Car Loan EMI Parameters ====
+    private final double amount;
+    private final double rate;
+    private final double years;
+
+    // ==== TC02: Home Loan Parameters and Expected Values ====
+    private final double homeValue;
+    private final double downPayment;
+    private final double insurance;
+    private final double tenure;
+    private final double fees;
+    private final double oneTimeExpense;
+    private final double tax;
+    private final double insurancePerYear;
+    private final double maintenance;
+    private final double monthly;
+    private final double yearly;
+    private final double quarterly;
+    private final double oneTimeOnly;
+
+    private final double expectedEmi;
+    private final double expectedExtra;
+    private final double expectedTax;
+    private final double expectedInsurance;
+    private final double expectedMaintenance;
+    private final double expectedTotal;
+
+    // ==== TC03–TC10: UI Field & Slider Mapping Parameters ====
+    private final double emi;
+    private final double maxAmount;
+    private final double maxRate;
+    private final double maxTenure;
+    private final double maxFees;
+    private final double maxEmi;
+
+    private final String amountName;
+    private final String rateName;
+    private final String tenureName;
+    private final String feesName;
+    private final String emiName;
+
+    private final double expectedAmount;
+    private final double expectedTenure;
+    private final double expectedRate;
+
+    private TestCase(String id, JsonData data) {
+        this.id = id;
+
+        this.amount = number(id, "amount", data.getAmount());
+        this.rate = number(id, "rate", data.getRate());
+        this.years = number(id, "years", data.getYears());
+
+        this.homeValue = number(id, "homeValue", data.getHomeValue());
+        this.downPayment = number(id, "downPayment", data.getDownPayment());
+        this.insurance = number(id, "insurance", data.getInsurance());
+        this.tenure = number(id, "tenure", data.getTenure());
+        this.fees = number(id, "fees", data.getFees());
+        this.oneTimeExpense = number(id, "oneTimeExpense", data.getOneTimeExpense());
+        this.tax = number(id, "tax", data.getTax());
+        this.insurancePerYear = number(id, "insurancePerYear", data.getInsurancePerYear());
+        this.maintenance = number(id, "maintenance", data.getMaintenance());
+        this.monthly = number(id, "monthly", data.getMonthly());
+        this.yearly = number(id, "yearly", data.getYearly());
+        this.quarterly = number(id, "quarterly", data.getQuarterly());
+        this.oneTimeOnly = number(id, "oneTimeOnly", data.getOneTimeOnly());
+
+        this.expectedEmi = number(id, "expectedEmi", data.getExpectedEmi());
+        this.expectedExtra = number(id, "expectedExtra", data.getExpectedExtra());
+        this.expectedTax = number(id, "expectedTax", data.getExpectedTax());
+        this.expectedInsurance = number(id, "expectedInsurance", data.getExpectedInsurance());
+        this.expectedMaintenance = number(id, "expectedMaintenance", data.getExpectedMaintenance());
+        this.expectedTotal = number(id, "expectedTotal", data.getExpectedTotal());
+
+        this.emi = number(id, "emi", data.getEmi());
+        this.maxAmount = number(id, "maxAmount", data.getMaxAmount());
+        this.maxRate = number(id, "maxRate", data.getMaxRate());
+        this.maxTenure = number(id, "maxTenure", data.getMaxTenure());
+        this.maxFees = number(id, "maxFees", data.getMaxFees());
+        this.maxEmi = number(id, "maxEmi", data.getMaxEmi());
+
+        this.amountName = data.getAmountName();
+        this.rateName = data.getRateName();
+        this.tenureName = data.getTenureName();
+        this.feesName = data.getFeesName();
+        this.emiName = data.getEmiName();
+
+        this.expectedAmount = number(id, "expectedAmount", data.getExpectedAmount());
+        this.expectedTenure = number(id, "expectedTenure", data.getExpectedTenure());
+        this.expectedRate = number(id, "expectedRate", data.getExpectedRate());
+    }
+
+    /**
+     * Parses a raw JSON-mapped test case into its typed form.
+     *
+     * @param id   Test case identifier (e.g. TC01)
+     * @param data Raw string values as deserialized by Jackson
+     * @return Immutable typed test case
+     * @throws IllegalArgumentException if a numeric field holds a non-numeric value
+     */
+    public static TestCase from(String id, JsonData data) {
+        return new TestCase(id, data);
+    }
+
+    /**
+     * Renders a numeric value the way it is typed into calculator inputs:
+     * plain notation, no trailing zeros (1500000, 9.5, 21617.95).
+     */
+    public static String toInput(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Converts a value that must be a whole number (rupees typed as an integer, years, months)
+     * to an int. Floating-point noise (a product off in its last bits) is rounded away;
+     * a genuinely fractional or out-of-range value fails instead of being silently truncated.
+     *
+     * @param value Value to convert
+     * @param field Name used in the error message
+     * @throws IllegalArgumentException if the value is not a whole number that fits an int
+     */
+    public static int toWhole(double value, String field) {
+        long rounded = Math.round(value);
+        if (Math.abs(value - rounded) > WHOLE_EPSILON * Math.max(1, Math.abs(value))) {
+            throw new IllegalArgumentException("'" + field + "' must be a whole number: " + value);
+        }
+        try {
+            return Math.toIntExact(rounded);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("'" + field + "' is out of range: " + value, e);
+        }
+    }
+
+    public String getId() { return id; }
+
+    public double getAmount() { return require(amount, "amount"); }
+    public double getRate() { return require(rate, "rate"); }
+    public double getYears() { return require(years, "years"); }
+
+    public double getHomeValue() { return require(homeValue, "homeValue"); }
+    public double getDownPayment() { return require(downPayment, "downPayment"); }
+    public double getInsurance() { return require(insurance, "insurance"); }
+    public double getTenure() { return require(tenure, "tenure"); }
+    public double getFees() { return require(fees, "fees"); }
+    public double getOneTimeExpense() { return require(oneTimeExpense, "oneTimeExpense"); }
+    public double getTax() { return require(tax, "tax"); }
+    public double getInsurancePerYear() { return require(insurancePerYear, "insurancePerYear"); }
+    public double getMaintenance() { return require(maintenance, "maintenance"); }
+    public double getMonthly() { return require(monthly, "monthly"); }
+    public double getYearly() { return require(yearly, "yearly"); }
+    public double getQuarterly() { return require(quarterly, "quarterly"); }
+    public double getOneTimeOnly() { return require(oneTimeOnly, "oneTimeOnly"); }
+
+    public double getExpectedEmi() { return require(expectedEmi, "expectedEmi"); }
+    public double getExpectedExtra() { return require(expectedExtra, "expectedExtra"); }
+    public double getExpectedTax() { return require(expectedTax, "expectedTax"); }
+    public double getExpectedInsurance() { return require(expectedInsurance, "expectedInsurance"); }
+    public double getExpectedMaintenance() { return require(expectedMaintenance, "expectedMaintenance"); }
+    public double getExpectedTotal() { return require(expectedTotal, "expectedTotal"); }
+
+    public double getEmi() { return require(emi, "emi"); }
+    public double getMaxAmount() { return require(maxAmount, "maxAmount"); }
+    public double getMaxRate() { return require(maxRate, "maxRate"); }
+    public double getMaxTenure() { return require(maxTenure, "maxTenure"); }
+    public double getMaxFees() { return require(maxFees, "maxFees"); }
+    public double getMaxEmi() { return require(maxEmi, "maxEmi"); }
+
+    public String getAmountName() { return amountName; }
+    public String getRateName() { return rateName; }
+    public String getTenureName() { return tenureName; }
+    public String getFeesName() { return feesName; }
+    public String getEmiName() { return emiName; }
+
+    public double getExpectedAmount() { return require(expectedAmount, "expectedAmount"); }
+    public double getExpectedTenure() { return require(expectedTenure, "expectedTenure"); }
+    public double getExpectedRate() { return require(expectedRate, "expectedRate"); }
+
+    /**
+     * Whether the test case defines the given numeric value (i.e. it is not NaN).
+     */
+    public static boolean isDefined(double value) {
+        return !Double.isNaN(value);
+    }
+
+    private double require(double value, String field) {
+        if (Double.isNaN(value)) {
+            throw new IllegalStateException("Test case '" + id + "' does not define '" + field + "'");
+        }
+        return value;
+    }
+
+    private static double number(String id, String field, String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Test case '" + id + "' has non-numeric '" + field + "': " + raw, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TestCase{" + id + "}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.loanemi.golden;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of comparing fresh calculator outputs with the golden store: NEW when the inputs
+ * were never seen, MATCH when the outputs equal the latest stored ones, DRIFT otherwise.
+ */
+public final class GoldenCheck {
+
+    public enum Outcome { NEW, MATCH, DRIFT }
+
+    private final GoldenStore.Entry previous;
+    private final String siteVersion;
+    private final double[] values;
+    private final Outcome outcome;
+
+    GoldenCheck(GoldenStore.Entry previous, String siteVersion, double[] values) {
+        this.previous = previous;
+        this.siteVersion = siteVersion;
+        this.values = values.clone();
+        if (previous == null) {
+            this.outcome = Outcome.NEW;
+        } else {
+            this.outcome = Arrays.equals(previous.getValues(), this.values) ? Outcome.MATCH : Outcome.DRIFT;
+        }
+    }
+
+    public Outcome getOutcome() { return outcome; }
+    public boolean isDrift() { return outcome == Outcome.DRIFT; }
+
+    /** Latest entry before this check, or null for NEW. */
+    public GoldenStore.Entry getPrevious() { return previous; }
+    public String getSiteVersion() { return siteVersion; }
+
+    /**
+     * Human-readable comparison, naming each output.
+     *
+     * @param names Output names, in the order the values were passed to the store
+     */
+    public String describe(String... names) {
+        if (outcome != Outcome.DRIFT) {
+            return outcome + " " + format(names, values);
+        }
+        StringBuilder changes = new StringBuilder();
+        int count = Math.max(values.length, previous.valueCount());
+        for (int i = 0; i < count; i++) {
+            double before = i < previous.valueCount() ? previous.getValue(i) : Double.NaN;
+            double now = i < values.length ? values[i] : Double.NaN;
+            if (Double.compare(before, now) != 0) {
+                if (changes.length() > 0) {
+                    changes.append(", ");
+                }
+                changes.append(name(names, i)).append(' ').append(before).append(" -> ").append(now);
+            }
+        }
+        return "DRIFT since site version '" + previous.getSiteVersion() + "' (now '" + siteVersion + "'): " + changes;
+    }
+
+    private static String format(String[] names, double[] values) {
+        StringBuilder text = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(name(names, i)).append('=').append(values[i]);
+        }
+        return text.append('}').toString();
+    }
+
+    private static String name(String[] names, int index) {
+        return index < names.length ? names[index] : "value" + index;
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+}
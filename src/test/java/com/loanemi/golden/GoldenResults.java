@@ -0,0 +1,134 @@
+package com.loanemi.golden;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+
+import com.aventstack.extentreports.Status;
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.ExtentReportUtil;
+
+/**
+ * Page-facing entry point to the golden-result store: records what the site computed for
+ * each set of inputs and flags when it changes its math.
+ *
+ * Every check compares the outputs just scraped from the page with the latest outputs stored
+ * for the same calculator and inputs, then stores them under the current site version.
+ * Drift is logged and reported as a warning in the Extent report, or fails the test when
+ * goldenFailOnDrift is set. The site version is goldenSiteVersion when configured, otherwise
+ * a fingerprint of the page's script and stylesheet URLs, which change whenever the site
+ * ships new assets.
+ *
+ * Config keys: goldenStoreEnabled, goldenStorePath, goldenInitialCapacity, goldenSiteVersion,
+ * goldenFailOnDrift.
+ */
+public final class GoldenResults {
+
+    private static final Logger logger = LogManager.getLogger("GoldenLogger");
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigReader.getProperty("goldenStoreEnabled", "false"));
+    private static final boolean failOnDrift =
+            Boolean.parseBoolean(ConfigReader.getProperty("goldenFailOnDrift", "false"));
+    private static final String configuredVersion = ConfigReader.getProperty("goldenSiteVersion", "").trim();
+
+    // Sorted asset URLs of the current page
+    private static final String ASSET_SCRIPT =
+            "return Array.from(document.querySelectorAll('script[src], link[rel=stylesheet][href]'))"
+            + ".map(function (e) { return e.src || e.href; }).sort().join('\\n');";
+
+    private static volatile GoldenStore store;
+    private static volatile boolean unavailable;
+    private static volatile String detectedVersion;
+
+    private GoldenResults() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled && !unavailable;
+    }
+
+    /**
+     * Shared store, opened on first use and closed at JVM exit; null if it cannot be opened.
+     */
+    public static GoldenStore store() {
+        if (store == null && isEnabled()) {
+            synchronized (GoldenResults.class) {
+                if (store == null && !unavailable) {
+                    try {
+                        GoldenStore opened = GoldenStore.open(
+                                Paths.get(ConfigReader.getProperty("goldenStorePath", "golden/results.gstore")),
+                                Integer.parseInt(ConfigReader.getProperty("goldenInitialCapacity", "65536")));
+                        Runtime.getRuntime().addShutdownHook(new Thread(opened::close, "golden-store-close"));
+                        store = opened;
+                    } catch (UncheckedIOException | IllegalStateException e) {
+                        unavailable = true;
+                        logger.error("Golden store unavailable, drift checks disabled for this run", e);
+                    }
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Site version used to tag outputs: goldenSiteVersion, or the asset fingerprint of the
+     * page currently open in the driver (detected once per run).
+     */
+    public static String siteVersion(WebDriver driver) {
+        if (!configuredVersion.isEmpty()) {
+            return configuredVersion;
+        }
+        String version = detectedVersion;
+        if (version == null) {
+            Object assets;
+            try {
+                assets = ((JavascriptExecutor) driver).executeScript(ASSET_SCRIPT);
+            } catch (WebDriverException e) {
+                logger.warn("Could not fingerprint site assets, using 'unknown' version: {}", e.getMessage());
+                return "unknown";
+            }
+            String urls = assets != null ? assets.toString() : "";
+            version = "assets-" + Long.toHexString(GoldenStore.key(urls));
+            detectedVersion = version;
+            logger.info("Detected site version {} from page assets", version);
+        }
+        return version;
+    }
+
+    /**
+     * Checks and records one calculator result.
+     *
+     * @param calculator  Calculator name, part of the key (e.g. "carLoan")
+     * @param inputs      Canonical inputs, part of the key
+     * @param outputNames Names of the outputs, for messages
+     * @param outputs     Values scraped from the page (at most {@link GoldenStore#MAX_VALUES})
+     * @return The comparison, or null when the store is disabled or unavailable
+     */
+    public static GoldenCheck check(WebDriver driver, String calculator, double[] inputs,
+                                    String[] outputNames, double... outputs) {
+        GoldenStore golden = store();
+        if (golden == null) {
+            return null;
+        }
+        GoldenCheck result = golden.check(GoldenStore.key(calculator, inputs), siteVersion(driver), outputs);
+        String message = calculator + " golden result: " + result.describe(outputNames);
+
+        if (!result.isDrift()) {
+            logger.debug(message);
+            return result;
+        }
+        logger.warn(message);
+        ExtentReportUtil.log(Status.WARNING, message);
+        if (failOnDrift) {
+            Assert.fail(message);
+        }
+        return result;
+    }
+}
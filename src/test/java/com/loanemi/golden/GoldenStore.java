@@ -0,0 +1,583 @@
+package com.loanemi.golden;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Embedded, file-backed store of every calculator output seen so far, tagged by site version.
+ *
+ * The store is one memory-mapped file holding an open-addressed hash table of fixed 64-byte
+ * slots, keyed by a 64-bit hash of the calculator name and its inputs ({@link #key}).
+ * Each (inputs, site version) pair gets its own slot, so the full history of an input is the
+ * run of slots with its key along the probe chain. Lookups read the mapping directly with
+ * absolute gets and touch one or two cache lines, so their cost is a memory access or two
+ * (well under a microsecond) whether the store holds thousands or millions of entries.
+ * The table doubles in place when it is more than 70% full: the occupied slots are first
+ * saved to a recovery copy ({@code <file>.grow}), then the same file is mapped at twice the
+ * size and the slots are rehashed into it, and the copy is deleted. A grow interrupted by a
+ * crash is completed from the copy when the store is next opened; a grow that fails leaves
+ * the current table in use. The file is never replaced while mapped, which Windows forbids.
+ * The table stops growing at {@link #MAX_CAPACITY} slots (a 1 GB mapping; the next doubling
+ * would pass the 2 GB limit of a single mapping): it then holds about 16.7 million entries,
+ * with probe runs, and so lookups, getting longer once it is more than 70% full.
+ * Site version names live in a small text sidecar ({@code <file>.versions}).
+ *
+ * <pre>
+ * header (64 bytes): int magic, int format, int capacity, int size, int next sequence number
+ * slot   (64 bytes): long key (0 = empty), long version tag, long recorded-at millis,
+ *                    int sequence, int value count, double[4] values
+ * </pre>
+ * Reads run concurrently; writes take an exclusive lock. The file is locked for the lifetime
+ * of the store, so only one process (test run) can use it at a time. Keys are 64-bit hashes:
+ * distinct inputs colliding is possible in principle but negligible at this scale.
+ */
+public final class GoldenStore implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger("GoldenLogger");
+
+    private static final int MAGIC = 0x474C4453; // "GLDS"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 64;
+
+    /** Outputs stored per entry. */
+    public static final int MAX_VALUES = 4;
+
+    private static final double MAX_LOAD = 0.7;
+
+    /** Most slots a table grows to: 2^24, a 1 GB mapping. */
+    public static final int MAX_CAPACITY = 1 << 24;
+
+    private static final int H_CAPACITY = 8;
+    private static final int H_SIZE = 12;
+    private static final int H_SEQUENCE = 16;
+
+    private static final int S_KEY = 0;
+    private static final int S_VERSION = 8;
+    private static final int S_RECORDED = 16;
+    private static final int S_SEQUENCE = 24;
+    private static final int S_COUNT = 28;
+    private static final int S_VALUES = 32;
+
+    private final Path file;
+    private final Path versionsFile;
+    private final Path growCopy;
+    private final Path growCopyTemp;
+    private final int maxCapacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Version tag → name, loaded from and appended to the sidecar
+    private final Map<Long, String> versionNames = new ConcurrentHashMap<>();
+
+    private FileChannel channel;
+    private FileLock fileLock;
+    private MappedByteBuffer map;
+    private int capacity;
+    private int mask;
+    private boolean closed;
+
+    private GoldenStore(Path file, int initialCapacity, int maxCapacity) throws IOException {
+        this.file = file;
+        this.maxCapacity = maxCapacity;
+        this.versionsFile = Paths.get(file + ".versions");
+        this.growCopy = Paths.get(file + ".grow");
+        this.growCopyTemp = Paths.get(file + ".grow.tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.deleteIfExists(growCopyTemp); // Incomplete copy: its grow never touched the table
+        if (Files.exists(growCopy)) {
+            completeInterruptedGrow();
+        } else {
+            int slots = Math.min(initialCapacity, maxCapacity);
+            mapFile(Files.exists(file) && Files.size(file) > 0 ? 0 : tableSize(slots));
+        }
+        loadVersionNames();
+        logger.info("Golden store opened: {} ({} entries, capacity {})", file, size(), capacity);
+    }
+
+    /**
+     * Opens (or creates) a store.
+     *
+     * @param file            Store file
+     * @param initialCapacity Slots of a new store; rounded up to a power of two
+     * @throws UncheckedIOException  if the file cannot be opened
+     * @throws IllegalStateException if another process holds the store
+     */
+    public static GoldenStore open(Path file, int initialCapacity) {
+        return open(file, initialCapacity, MAX_CAPACITY);
+    }
+
+    // A lower growth cap lets tests reach it without a 1 GB file
+    static GoldenStore open(Path file, int initialCapacity, int maxCapacity) {
+        try {
+            return new GoldenStore(file, initialCapacity, maxCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open golden store " + file, e);
+        }
+    }
+
+    /**
+     * 64-bit key for a calculator's inputs. Inputs are hashed by their exact bits,
+     * so callers must pass the same canonical values (e.g. tenure in months) every run.
+     */
+    public static long key(String calculator, double... inputs) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < calculator.length(); i++) {
+            h = mix(h ^ calculator.charAt(i));
+        }
+        for (double input : inputs) {
+            h = mix(h ^ Double.doubleToLongBits(input == 0 ? 0 : input)); // -0.0 and 0.0 alike
+        }
+        return h == 0 ? 1 : h; // 0 marks an empty slot
+    }
+
+    /**
+     * 64-bit tag for a site version name.
+     */
+    public static long versionTag(String siteVersion) {
+        return key("siteVersion:" + siteVersion);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * One stored output.
+     */
+    public static final class Entry {
+        private final long versionTag;
+        private final String siteVersion;
+        private final long recordedAt;
+        private final int sequence;
+        private final double[] values;
+
+        Entry(long versionTag, String siteVersion, long recordedAt, int sequence, double[] values) {
+            this.versionTag = versionTag;
+            this.siteVersion = siteVersion;
+            this.recordedAt = recordedAt;
+            this.sequence = sequence;
+            this.values = values;
+        }
+
+        public long getVersionTag() { return versionTag; }
+        public String getSiteVersion() { return siteVersion; }
+        public long getRecordedAt() { return recordedAt; }
+        public int getSequence() { return sequence; }
+        public double[] getValues() { return values.clone(); }
+        public double getValue(int index) { return values[index]; }
+        public int valueCount() { return values.length; }
+
+        @Override
+        public String toString() {
+            return "Entry{siteVersion=" + siteVersion + ", values=" + Arrays.toString(values)
+                    + ", recordedAt=" + Instant.ofEpochMilli(recordedAt) + "}";
+        }
+    }
+
+    /**
+     * Most recently recorded entry for the key, from any site version, or null.
+     */
+    public Entry latest(long key) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            int best = -1;
+            int bestSequence = -1;
+            for (int slot = (int) (spread(key) & mask); ; slot = (slot + 1) & mask) {
+                long stored = map.getLong(offset(slot) + S_KEY);
+                if (stored == 0) {
+                    break;
+                }
+                if (stored == key) {
+                    int sequence = map.getInt(offset(slot) + S_SEQUENCE);
+                    if (sequence > bestSequence) {
+                        best = slot;
+                        bestSequence = sequence;
+                    }
+                }
+            }
+            return best < 0 ? null : read(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every entry for the key, oldest first (one per site version it was recorded under).
+     */
+    public List<Entry> history(long key) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            List<Entry> entries = new ArrayList<>();
+            for (int slot = (int) (spread(key) & mask); ; slot = (slot + 1) & mask) {
+                long stored = map.getLong(offset(slot) + S_KEY);
+                if (stored == 0) {
+                    break;
+                }
+                if (stored == key) {
+                    entries.add(read(slot));
+                }
+            }
+            entries.sort((a, b) -> Integer.compare(a.getSequence(), b.getSequence()));
+            return Collections.unmodifiableList(entries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compares fresh outputs with the latest stored entry for the key, then records them under
+     * the given site version (replacing that version's previous entry for the key, if any).
+     *
+     * @param values Outputs to compare and store, at most {@link #MAX_VALUES}
+     */
+    public GoldenCheck check(long key, String siteVersion, double... values) {
+        if (values.length > MAX_VALUES) {
+            throw new IllegalArgumentException("At most " + MAX_VALUES + " outputs per entry: " + values.length);
+        }
+        long tag = versionTag(siteVersion);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Entry previous = latest(key);
+            if (versionNames.putIfAbsent(tag, siteVersion) == null) {
+                appendVersionName(tag, siteVersion);
+            }
+            put(key, tag, values);
+            return new GoldenCheck(previous, siteVersion, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of stored entries.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return map.getInt(H_SIZE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces written entries to disk.
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                map.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            map.force();
+            fileLock.release();
+            channel.close();
+            logger.info("Golden store closed: {} ({} entries)", file, map.getInt(H_SIZE));
+        } catch (IOException e) {
+            logger.warn("Error closing golden store: {}", file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(long key, long tag, double[] values) {
+        int slot = (int) (spread(key) & mask);
+        for (; ; slot = (slot + 1) & mask) {
+            long stored = map.getLong(offset(slot) + S_KEY);
+            if (stored == 0 || (stored == key && map.getLong(offset(slot) + S_VERSION) == tag)) {
+                break;
+            }
+        }
+        boolean added = map.getLong(offset(slot) + S_KEY) == 0;
+        if (added && map.getInt(H_SIZE) + 1 >= capacity) {
+            // Only reachable at the growth cap or when growing fails; an empty slot ends probes
+            throw new IllegalStateException("Golden store is full (" + capacity + " slots): " + file);
+        }
+        int sequence = map.getInt(H_SEQUENCE);
+        map.putInt(H_SEQUENCE, sequence + 1);
+        writeSlot(slot, key, tag, System.currentTimeMillis(), sequence, values);
+
+        if (added) {
+            int size = map.getInt(H_SIZE) + 1;
+            map.putInt(H_SIZE, size);
+            if (size > capacity * MAX_LOAD && capacity < maxCapacity) {
+                grow();
+                if (capacity >= maxCapacity) {
+                    logger.warn("Golden store reached its {} slot limit: it no longer grows and slows down past {} entries",
+                            capacity, (int) (capacity * MAX_LOAD));
+                }
+            }
+        }
+    }
+
+    private void writeSlot(int slot, long key, long tag, long recordedAt, int sequence, double[] values) {
+        int base = offset(slot);
+        map.putLong(base + S_VERSION, tag);
+        map.putLong(base + S_RECORDED, recordedAt);
+        map.putInt(base + S_SEQUENCE, sequence);
+        map.putInt(base + S_COUNT, values.length);
+        for (int v = 0; v < MAX_VALUES; v++) {
+            map.putDouble(base + S_VALUES + v * 8, v < values.length ? values[v] : 0);
+        }
+        map.putLong(base + S_KEY, key); // Last, so a slot is never visible half-written
+    }
+
+    private Entry read(int slot) {
+        int base = offset(slot);
+        long tag = map.getLong(base + S_VERSION);
+        double[] values = new double[map.getInt(base + S_COUNT)];
+        for (int v = 0; v < values.length; v++) {
+            values[v] = map.getDouble(base + S_VALUES + v * 8);
+        }
+        return new Entry(tag, versionNames.getOrDefault(tag, Long.toHexString(tag)),
+                map.getLong(base + S_RECORDED), map.getInt(base + S_SEQUENCE), values);
+    }
+
+    // Doubles the table in place; on failure the current table stays in use
+    private void grow() {
+        long start = System.nanoTime();
+        int newCapacity = capacity * 2;
+        MappedByteBuffer target;
+        ByteBuffer copy;
+        try {
+            copy = copyOccupiedSlots();
+            writeGrowCopy(copy);
+            target = channel.map(FileChannel.MapMode.READ_WRITE, 0, tableSize(newCapacity));
+        } catch (IOException | RuntimeException e) {
+            // Nothing in the table was changed yet
+            restoreAfterFailedGrow();
+            logger.warn("Golden store not grown, staying at {} slots: {}", capacity, e.toString());
+            return;
+        }
+        target.order(ByteOrder.LITTLE_ENDIAN);
+        rehash(target, copy, newCapacity);
+        target.force();
+        map = target;
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        deleteGrowCopy();
+        logger.info("Golden store grown to {} slots in {} ms", capacity, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Header followed by every occupied slot, packed
+    private ByteBuffer copyOccupiedSlots() {
+        ByteBuffer copy = ByteBuffer.allocate(HEADER_BYTES + map.getInt(H_SIZE) * SLOT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int h = 0; h < HEADER_BYTES; h += 4) {
+            copy.putInt(h, map.getInt(h));
+        }
+        int to = HEADER_BYTES;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (map.getLong(offset(slot) + S_KEY) == 0) {
+                continue;
+            }
+            for (int b = 0; b < SLOT_BYTES; b += 8) {
+                copy.putLong(to + b, map.getLong(offset(slot) + b));
+            }
+            to += SLOT_BYTES;
+        }
+        return copy;
+    }
+
+    // Written under a temp name and renamed, so a complete copy is the only kind that exists
+    private void writeGrowCopy(ByteBuffer copy) throws IOException {
+        try (FileChannel out = FileChannel.open(growCopyTemp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = copy.duplicate();
+            bytes.clear();
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+        try {
+            Files.move(growCopyTemp, growCopy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(growCopyTemp, growCopy, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Clears the target table and reinserts the slots of a grow copy at the new capacity
+    private static void rehash(MappedByteBuffer target, ByteBuffer copy, int newCapacity) {
+        int newMask = newCapacity - 1;
+        int end = (int) tableSize(newCapacity);
+        for (int b = HEADER_BYTES; b < end; b += 8) {
+            target.putLong(b, 0);
+        }
+        int entries = copy.getInt(H_SIZE);
+        for (int i = 0; i < entries; i++) {
+            int from = HEADER_BYTES + i * SLOT_BYTES;
+            int to = (int) (spread(copy.getLong(from + S_KEY)) & newMask);
+            while (target.getLong(offset(to) + S_KEY) != 0) {
+                to = (to + 1) & newMask;
+            }
+            for (int b = SLOT_BYTES - 8; b >= 0; b -= 8) { // Key last
+                target.putLong(offset(to) + b, copy.getLong(from + b));
+            }
+        }
+        for (int h = 0; h < HEADER_BYTES; h += 4) {
+            target.putInt(h, copy.getInt(h));
+        }
+        target.putInt(H_CAPACITY, newCapacity);
+    }
+
+    // Opening a store whose last grow was cut short: redo it from the recovery copy
+    private void completeInterruptedGrow() throws IOException {
+        ByteBuffer copy = ByteBuffer.wrap(Files.readAllBytes(growCopy)).order(ByteOrder.LITTLE_ENDIAN);
+        if (copy.capacity() < HEADER_BYTES || copy.getInt(0) != MAGIC || copy.getInt(4) != FORMAT
+                || copy.capacity() != HEADER_BYTES + copy.getInt(H_SIZE) * SLOT_BYTES) {
+            throw new IllegalStateException("Corrupt golden store recovery copy: " + growCopy);
+        }
+        int newCapacity = copy.getInt(H_CAPACITY) * 2;
+        mapFile(tableSize(newCapacity));
+        rehash(map, copy, newCapacity);
+        map.force();
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        deleteGrowCopy();
+        logger.warn("Golden store: completed an interrupted grow to {} slots from {}", capacity, growCopy);
+    }
+
+    // Drops the recovery copy and, where the platform allows it, any file extension a failed
+    // grow left behind; an extension that stays is unused tail (see mapFile)
+    private void restoreAfterFailedGrow() {
+        deleteGrowCopy(); // The table is still current: the copy must not be replayed later
+        try {
+            if (channel.size() > tableSize(capacity)) {
+                channel.truncate(tableSize(capacity));
+            }
+        } catch (IOException e) {
+            logger.warn("Golden store: could not restore file size after a failed grow: {}", e.toString());
+        }
+    }
+
+    private void deleteGrowCopy() {
+        try {
+            Files.deleteIfExists(growCopyTemp);
+            Files.deleteIfExists(growCopy);
+        } catch (IOException e) {
+            logger.warn("Golden store: could not delete recovery copy {}: {}", growCopy, e.toString());
+        }
+    }
+
+    // Maps the store file; a non-zero newSize initializes a fresh table of that size
+    private void mapFile(long newSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null; // Already open in this JVM
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IllegalStateException("Golden store is in use by another process: " + file);
+        }
+        long size = newSize > 0 ? newSize : channel.size();
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (newSize > 0) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, FORMAT);
+            map.putInt(H_CAPACITY, (int) ((newSize - HEADER_BYTES) / SLOT_BYTES));
+        } else if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT) {
+            channel.close();
+            throw new IllegalStateException("Not a golden store (or unsupported format): " + file);
+        }
+        capacity = map.getInt(H_CAPACITY);
+        mask = capacity - 1;
+        // Larger is fine: a failed grow may leave unused tail past the table
+        if (size < tableSize(capacity)) {
+            channel.close();
+            throw new IllegalStateException("Corrupt golden store (size " + size + ", capacity " + capacity + "): " + file);
+        }
+    }
+
+    private void loadVersionNames() throws IOException {
+        if (!Files.exists(versionsFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(versionsFile, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab > 0) {
+                versionNames.put(Long.parseUnsignedLong(line.substring(0, tab), 16), line.substring(tab + 1));
+            }
+        }
+    }
+
+    private void appendVersionName(long tag, String siteVersion) {
+        try (BufferedWriter out = Files.newBufferedWriter(versionsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(Long.toHexString(tag) + "\t" + siteVersion);
+            out.newLine();
+        } catch (IOException e) {
+            logger.warn("Could not record site version name '{}' in {}", siteVersion, versionsFile, e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Golden store already closed: " + file);
+        }
+    }
+
+    private static long tableSize(int slots) {
+        return HEADER_BYTES + (long) Integer.highestOneBit(Math.max(16, slots * 2 - 1)) * SLOT_BYTES;
+    }
+
+    // Keys are already well mixed; fold the high half in so low bits depend on all of it
+    private static long spread(long key) {
+        return key ^ (key >>> 32);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+}
@@ -0,0 +1,173 @@
+package com.loanemi.golden;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link GoldenStore} and the {@link GoldenCheck} outcomes it reports:
+ * history across site versions, reopening, growth past the 70% load limit up to the capacity
+ * limit and recovery of an interrupted grow. Each test uses its own temporary store file.
+ */
+public class GoldenStoreTest {
+
+    private Path dir;
+    private Path file;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("golden-store-test");
+        file = dir.resolve("results.gstore");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void checksReportNewMatchAndDrift() {
+        long key = GoldenStore.key("carLoan", 1500000, 9.5, 12);
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            GoldenCheck first = store.check(key, "v1", 131531.05, 78372.6);
+            GoldenCheck same = store.check(key, "v1", 131531.05, 78372.6);
+            GoldenCheck changed = store.check(key, "v2", 131531.05, 78372.7);
+
+            Assert.assertEquals(first.getOutcome(), GoldenCheck.Outcome.NEW);
+            Assert.assertNull(first.getPrevious());
+            Assert.assertEquals(same.getOutcome(), GoldenCheck.Outcome.MATCH);
+            Assert.assertEquals(changed.getOutcome(), GoldenCheck.Outcome.DRIFT);
+            Assert.assertEquals(changed.getPrevious().getSiteVersion(), "v1");
+            Assert.assertEquals(changed.describe("emi", "totalInterest"),
+                    "DRIFT since site version 'v1' (now 'v2'): totalInterest 78372.6 -> 78372.7");
+        }
+    }
+
+    @Test
+    public void keepsOneEntryPerSiteVersion() {
+        long key = GoldenStore.key("loanCalculator-ARREARS", 500000, 10, 60, 5000);
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            store.check(key, "v1", 1, 2, 3);
+            store.check(key, "v2", 4, 5, 6);
+            store.check(key, "v1", 7, 8, 9); // Replaces v1's entry and becomes the latest
+
+            Assert.assertEquals(store.size(), 2);
+            Assert.assertEquals(store.latest(key).getValues(), new double[] { 7, 8, 9 });
+            Assert.assertEquals(store.latest(key).getSiteVersion(), "v1");
+
+            List<GoldenStore.Entry> history = store.history(key);
+            Assert.assertEquals(history.size(), 2);
+            Assert.assertEquals(history.get(0).getSiteVersion(), "v2");
+            Assert.assertEquals(history.get(1).getSiteVersion(), "v1");
+
+            Assert.assertNull(store.latest(GoldenStore.key("loanCalculator-ADVANCE", 500000, 10, 60, 5000)));
+            Assert.assertTrue(store.history(GoldenStore.key("carLoan", 1)).isEmpty());
+        }
+    }
+
+    @Test
+    public void reopenedStoreKeepsEntriesAndVersionNames() {
+        long key = GoldenStore.key("creditCard", 100000, 15, 12, 199);
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            store.check(key, "assets-1", 9025.5);
+            store.check(key, "assets-2", 9030.25);
+        }
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            Assert.assertEquals(store.size(), 2);
+            Assert.assertEquals(store.latest(key).getSiteVersion(), "assets-2");
+            Assert.assertEquals(store.latest(key).getValue(0), 9030.25);
+            Assert.assertEquals(store.history(key).get(0).getSiteVersion(), "assets-1");
+            Assert.assertEquals(store.check(key, "assets-2", 9030.25).getOutcome(), GoldenCheck.Outcome.MATCH);
+        }
+    }
+
+    @Test
+    public void growsPastLoadLimitAndKeepsEveryEntry() throws IOException {
+        long initialSize;
+        try (GoldenStore store = GoldenStore.open(file, 16)) {
+            initialSize = Files.size(file);
+            for (int i = 0; i < 1000; i++) {
+                store.check(GoldenStore.key("carLoan", i), "v1", i, i * 2.0);
+            }
+            Assert.assertEquals(store.size(), 1000);
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(store.latest(GoldenStore.key("carLoan", i)).getValues(), new double[] { i, i * 2.0 });
+            }
+        }
+        Assert.assertTrue(Files.size(file) > initialSize, "grown from " + initialSize + " to " + Files.size(file));
+        Assert.assertFalse(Files.exists(Paths.get(file + ".grow")), "Recovery copy left behind");
+
+        try (GoldenStore store = GoldenStore.open(file, 16)) {
+            Assert.assertEquals(store.size(), 1000);
+            Assert.assertEquals(store.latest(GoldenStore.key("carLoan", 999)).getValue(1), 1998.0);
+        }
+    }
+
+    @Test
+    public void stopsGrowingAtTheCapacityLimit() throws IOException {
+        try (GoldenStore store = GoldenStore.open(file, 16, 32)) {
+            for (int i = 0; i < 31; i++) {
+                store.check(GoldenStore.key("carLoan", i), "v1", i);
+            }
+            Assert.assertEquals(Files.size(file), 64 + 32 * 64);
+            Assert.assertFalse(Files.exists(Paths.get(file + ".grow")), "Grow attempted past the limit");
+            for (int i = 0; i < 31; i++) {
+                Assert.assertEquals(store.latest(GoldenStore.key("carLoan", i)).getValue(0), (double) i);
+            }
+            Assert.assertThrows(IllegalStateException.class,
+                    () -> store.check(GoldenStore.key("carLoan", 31), "v1", 31));
+            Assert.assertEquals(store.size(), 31);
+        }
+    }
+
+    @Test
+    public void completesAnInterruptedGrowOnOpen() throws IOException {
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            for (int i = 0; i < 40; i++) {
+                store.check(GoldenStore.key("homeLoan", i), "v1", i);
+            }
+        }
+        long sizeBefore = Files.size(file);
+
+        // The recovery copy a grow writes before touching the table: header, then occupied slots
+        ByteBuffer table = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer copy = ByteBuffer.allocate(64 + 40 * 64).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(table.array(), 0, 64);
+        for (int offset = 64; offset < table.capacity(); offset += 64) {
+            if (table.getLong(offset) != 0) {
+                copy.put(table.array(), offset, 64);
+            }
+        }
+        Files.write(Paths.get(file + ".grow"), copy.array());
+        Files.write(file, new byte[(int) sizeBefore]); // A crash mid-rehash, at its worst: table wiped
+
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            Assert.assertEquals(store.size(), 40);
+            for (int i = 0; i < 40; i++) {
+                Assert.assertEquals(store.latest(GoldenStore.key("homeLoan", i)).getValue(0), (double) i);
+            }
+        }
+        Assert.assertEquals(Files.size(file), 64 + (sizeBefore - 64) * 2);
+        Assert.assertFalse(Files.exists(Paths.get(file + ".grow")), "Recovery copy left behind");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void secondOpenOfTheSameFileIsRefused() {
+        try (GoldenStore store = GoldenStore.open(file, 64)) {
+            GoldenStore.open(file, 64);
+        }
+    }
+}
@@ -1,24 +1,29 @@
 package com.loanemi.hooks;
 
-import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 
 import com.aventstack.extentreports.Status;
 import com.loanemi.base.DriverSetup;
+import com.loanemi.timing.BudgetMode;
+import com.loanemi.timing.RoundTripBudgets;
 import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.ExcelShards;
 import com.loanemi.utils.ExtentReportUtil;
-import com.loanemi.utils.ScreenshotUtil;
+import com.loanemi.utils.FlightRecorder;
+import com.loanemi.utils.LogContext;
+import com.loanemi.utils.ScreenshotPipeline;
+import com.loanemi.utils.TestLogBuffer;
 
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import io.qameta.allure.Allure;
 
 /**
  * CucumberHooks defines lifecycle operations for every Cucumber scenario.
@@ -31,6 +36,9 @@ public class CucumberHooks {
 
     private static final Logger logger = LogManager.getLogger("SetupLogger");
 
+    // Runs so far of each scenario on each browser: a retried scenario starts again with the same id
+    private static final Map<String, AtomicInteger> scenarioRuns = new ConcurrentHashMap<>();
+
     // Base application URL loaded before each test
     private final String baseUrl = ConfigReader.getProperty("baseUrl");
 
@@ -45,7 +53,7 @@ public class CucumberHooks {
 
     /**
      * Executes before every scenario
-     * Initializes ExtentReport, launches WebDriver based on mode and navigates to app URL
+     * Starts the scenario's ExtentReport test, launches WebDriver based on mode and navigates to app URL
      */
     @Before
     public void launchDriverAndInitReport(Scenario scenario) {
@@ -60,19 +68,44 @@ public class CucumberHooks {
         String mode = ConfigReader.getProperty("executionMode").trim().toLowerCase();
         logger.info("Cucumber: Launching test in '{}' mode with browser '{}'", mode, browser);
 
-        // Start new test in ExtentReports
-        ExtentReportUtil.initReport();
+        // Name this thread's Excel exports and log lines after the scenario and browser
+        ExcelShards.setContext(scenario.getName(), browser);
+        LogContext.start(scenario.getName(), browser, attempt(scenario, browser));
+
+        // Start this thread's test in the suite-wide ExtentReport
         ExtentReportUtil.createTest(scenario.getName());
 
         // Launch browser via DriverSetup and open base URL
         WebDriver driver = DriverSetup.getDriver(browser);
+        FlightRecorder.mark("scenario " + scenario.getName());
         driver.get(baseUrl);
         logger.info("Navigated to base URL: {}", baseUrl);
+
+        // Round trips are counted from here, after launch and navigation
+        RoundTripBudgets.start(scenario.getName(), scenario.getSourceTagNames());
+    }
+
+    // 1 for the first run of a scenario (or outline example) on this browser, then one more per retry
+    private static int attempt(Scenario scenario, String browser) {
+        return scenarioRuns.computeIfAbsent(browser + '|' + scenario.getId(), k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Executes after each scenario, before tearDown
+     * Checks the scenario's WebDriver round trips against its budget; with commandBudgetMode=FAIL
+     * an overrun fails the scenario
+     */
+    @After(order = 20000)
+    public void checkRoundTripBudget(Scenario scenario) {
+        String overrun = RoundTripBudgets.finish(ExtentReportUtil.getTest());
+        if (overrun != null && BudgetMode.configured() == BudgetMode.FAIL && !scenario.isFailed()) {
+            throw new AssertionError(overrun);
+        }
     }
 
     /**
      * Executes after each scenario
-     * Captures screenshot (if failed), closes browser, and flushes reports
+     * Captures screenshot (if failed), closes browser, and ends the scenario's report test
      */
     @After
     public void tearDown(Scenario scenario) {
@@ -80,24 +113,21 @@ public class CucumberHooks {
         String scenarioName = scenario.getName();
 
         if (scenario.isFailed()) {
-            logger.warn("Cucumber: Test failed - '{}' | Capturing screenshot", scenarioName);
+            logger.warn("Cucumber: Test failed - '{}'", scenarioName);
             
             // Log failure in ExtentReport
-            ExtentReportUtil.getTest().log(Status.FAIL, scenarioName + " failed");
-            ExtentReportUtil.getTest().log(Status.FAIL, "Failure details: " + scenario.getStatus());
-
-            // Attach screenshot to Allure Report
-            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            Allure.addAttachment("Screenshot on Failure", new ByteArrayInputStream(screenshot));
-
-            // Capture screenshot path for ExtentReports
-            String path = ScreenshotUtil.captureScreenshotWithPath(driver, scenarioName);
-            ExtentReportUtil.getTest().addScreenCaptureFromPath(path);
+            ExtentReportUtil.log(Status.FAIL, scenarioName + " failed");
+            ExtentReportUtil.log(Status.FAIL, "Failure details: " + scenario.getStatus());
+            FlightRecorder.dumpOnFailure(scenarioName, ExtentReportUtil.getTest());
         } else {
             logger.info("Cucumber: Test completed - '{}'", scenarioName);
-            ExtentReportUtil.getTest().log(Status.PASS, scenarioName + " passed");
+            ExtentReportUtil.log(Status.PASS, scenarioName + " passed");
+            FlightRecorder.discard();
         }
 
+        // One capture (per screenshotPolicy), attached to Extent and Allure in the background
+        ScreenshotPipeline.capture(driver, scenarioName, scenario.isFailed(), ExtentReportUtil.getTest());
+
         // Safely close WebDriver
         try {
             DriverSetup.quitDriver();
@@ -105,9 +135,12 @@ public class CucumberHooks {
             logger.warn("Cucumber: WebDriver quit failed — session may already be invalid. {}", e.getMessage());
         }
 
-        // Finalize report for this test
-        ExtentReportUtil.flushReport();
-        logger.info("Cucumber: Flushed ExtentReports for scenario '{}'", scenarioName);
+        // Debug detail is kept for failed scenarios only
+        TestLogBuffer.finish(scenario.isFailed(), ExtentReportUtil.getTest());
+
+        // Report is flushed periodically and at suite end, not per scenario
+        ExtentReportUtil.endTest();
+        LogContext.clear();
     }
 
     /**
@@ -0,0 +1,32 @@
+package com.loanemi.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.loanemi.utils.AllureReportOpener;
+import com.loanemi.utils.ScreenshotPipeline;
+import com.loanemi.utils.TestLogBuffer;
+
+/**
+ * AllureReportListener starts Allure report generation once the whole suite, TestNG and
+ * Cucumber tests alike, has finished. Pending screenshot and debug log attachments are written
+ * first so the report includes them; generation itself runs in the background (see AllureReportOpener).
+ */
+public class AllureReportListener implements ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(AllureReportListener.class);
+
+    // Upper bound on waiting for screenshot and debug log attachments at suite end
+    private static final long SCREENSHOT_DRAIN_MILLIS = 30_000;
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ScreenshotPipeline.drain(SCREENSHOT_DRAIN_MILLIS);
+        TestLogBuffer.awaitPending(SCREENSHOT_DRAIN_MILLIS);
+        logger.info("Log detail of tests: {}", TestLogBuffer.stats());
+        logger.info("Suite '{}' finished: starting Allure report generation", suite.getName());
+        AllureReportOpener.openAllureReport();
+    }
+}
@@ -0,0 +1,41 @@
+package com.loanemi.listeners;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import com.loanemi.timing.BudgetMode;
+import com.loanemi.timing.CommandBudget;
+import com.loanemi.timing.RoundTripBudgets;
+import com.loanemi.utils.ExtentReportUtil;
+
+/**
+ * CommandBudgetListener counts the WebDriver round trips of each TestNG test method (not its
+ * configuration methods) and, with commandBudgetMode=FAIL, fails a test that passed but went
+ * over its {@link CommandBudget}.
+ */
+public class CommandBudgetListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !RoundTripBudgets.isEnabled()) {
+            return;
+        }
+        CommandBudget budget = method.getTestMethod().getConstructorOrMethod().getMethod()
+                .getAnnotation(CommandBudget.class);
+        RoundTripBudgets.start(method.getTestMethod().getMethodName(), budget);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        String overrun = RoundTripBudgets.finish(ExtentReportUtil.getTest());
+        if (overrun != null && BudgetMode.configured() == BudgetMode.FAIL
+                && testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(overrun));
+        }
+    }
+}
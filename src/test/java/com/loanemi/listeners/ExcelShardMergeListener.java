@@ -0,0 +1,38 @@
+package com.loanemi.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.ExcelExportQueue;
+import com.loanemi.utils.ExcelShards;
+
+/**
+ * ExcelShardMergeListener finishes the suite's Excel output once the whole suite, TestNG and
+ * Cucumber tests alike, has finished: it waits for the write-behind export queue to drain,
+ * then merges the per-thread Excel shards into the configured workbook (excelPath).
+ * The merge does nothing unless excelShards is enabled in config.properties.
+ */
+public class ExcelShardMergeListener implements ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(ExcelShardMergeListener.class);
+
+    // Upper bound on waiting for queued exports at suite end
+    private static final long FLUSH_TIMEOUT_MILLIS =
+            Long.parseLong(ConfigReader.getProperty("excelFlushTimeoutMillis", "60000"));
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!ExcelExportQueue.shared().flush(FLUSH_TIMEOUT_MILLIS)) {
+            logger.error("Suite '{}' finished with Excel exports still pending", suite.getName());
+        }
+        if (!ExcelShards.isEnabled()) {
+            return;
+        }
+        String excelPath = ConfigReader.getProperty("excelPath");
+        logger.info("Suite '{}' finished: merging Excel shards into {}", suite.getName(), excelPath);
+        ExcelShards.mergeInto(excelPath);
+    }
+}
@@ -2,6 +2,7 @@ package com.loanemi.listeners;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 import org.testng.IAnnotationTransformer;
 import org.testng.annotations.ITestAnnotation;
@@ -10,6 +11,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.loanemi.rerun.RetryAnalyzer;
+import com.loanemi.utils.TestCaseSource;
 
 /**
  * RetryListener is a TestNG listener class that dynamically applies retry logic
@@ -17,6 +19,9 @@ import com.loanemi.rerun.RetryAnalyzer;
  * 
  * It automatically binds the custom RetryAnalyzer to every @Test method so that 
  * failed tests will be rerun based on configured retry conditions.
+ *
+ * Methods that consume a shared {@link TestCaseSource} are left alone: the source is drained
+ * by the time a retry would run, so the retry would execute nothing and pass.
  */
 public class RetryListener implements IAnnotationTransformer {
 
@@ -34,7 +39,13 @@ public class RetryListener implements IAnnotationTransformer {
     @Override
     public void transform(ITestAnnotation annotation, Class testClass,
                           Constructor constructor, Method method) {
-        
+
+        if (method != null && Arrays.asList(method.getParameterTypes()).contains(TestCaseSource.class)) {
+            logger.debug("RetryAnalyzer not applied to streaming test method: {}.{}",
+                         method.getDeclaringClass().getSimpleName(), method.getName());
+            return;
+        }
+
         // Set RetryAnalyzer class to enable auto-rerun for failed tests
         annotation.setRetryAnalyzer(RetryAnalyzer.class);
 
@@ -0,0 +1,90 @@
+package com.loanemi.listeners;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import com.loanemi.rerun.RetryAnalyzer;
+import com.loanemi.timing.CommandLatency;
+import com.loanemi.timing.JfrEvents;
+import com.loanemi.timing.TimingEvents;
+
+/**
+ * TimingEventListener adds the suite and each TestNG test (every attempt, Cucumber's
+ * runScenario included) to the timing event stream. It starts the optional JFR recording when
+ * the suite starts, and at its end flushes the stream, exports the WebDriver command latency
+ * histograms and writes the recording.
+ */
+public class TimingEventListener implements ISuiteListener, ITestListener {
+
+    private static final String START = "timing.start";
+    private static final String ATTEMPT = "timing.attempt";
+
+    // Upper bound on waiting for timing events to be written at suite end
+    private static final long FLUSH_MILLIS = 10_000;
+
+    @Override
+    public void onStart(ISuite suite) {
+        JfrEvents.startRecording();
+        suite.setAttribute(START, TimingEvents.now());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Object start = suite.getAttribute(START);
+        if (start != null) {
+            boolean failed = suite.getResults().values().stream()
+                    .anyMatch(result -> !result.getTestContext().getFailedTests().getAllResults().isEmpty());
+            TimingEvents.record(TimingEvents.SUITE, suite.getName(), null, null, null,
+                    (Long) start, failed ? TimingEvents.FAILED : TimingEvents.OK);
+        }
+        TimingEvents.flush(FLUSH_MILLIS);
+        CommandLatency.export();
+        JfrEvents.stopRecording();
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        result.setAttribute(START, TimingEvents.now());
+        result.setAttribute(ATTEMPT, String.valueOf(attempt(result))); // Before a retry bumps the count
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, TimingEvents.OK);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, TimingEvents.FAILED);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, "skipped"); // Includes attempts that are retried
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result, TimingEvents.FAILED);
+    }
+
+    private static void record(ITestResult result, String outcome) {
+        Object start = result.getAttribute(START);
+        if (start == null) {
+            return;
+        }
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        TimingEvents.record(TimingEvents.TEST,
+                result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName(),
+                browser, result.getMethod().getMethodName(), (String) result.getAttribute(ATTEMPT), (Long) start, outcome);
+    }
+
+    // 1 for the first run of a test, then one more per retry
+    private static int attempt(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof RetryAnalyzer ? ((RetryAnalyzer) analyzer).getRetryCount() + 1 : 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.loanemi.oracle;
+
+/**
+ * Immutable month-by-month amortization schedule produced by {@link LoanOracle#schedule}.
+ *
+ * Stored as a single flat double[] with three column blocks
+ * (principal part, interest part, closing balance) instead of one object per month,
+ * so thousands of cached schedules stay compact and GC-friendly.
+ */
+public final class AmortizationSchedule {
+
+    private final double principal;
+    private final double annualRatePercent;
+    private final int months;
+    private final EmiScheme scheme;
+    private final double emi;
+    private final double totalInterest;
+
+    // [0, months) principal part | [months, 2·months) interest part | [2·months, 3·months) balance
+    private final double[] cells;
+
+    AmortizationSchedule(double principal, double annualRatePercent, int months, EmiScheme scheme,
+                         double emi, double[] cells) {
+        this.principal = principal;
+        this.annualRatePercent = annualRatePercent;
+        this.months = months;
+        this.scheme = scheme;
+        this.emi = emi;
+        this.cells = cells;
+
+        double interest = 0;
+        for (int m = 0; m < months; m++) {
+            interest += cells[months + m];
+        }
+        this.totalInterest = interest;
+    }
+
+    public double getPrincipal() { return principal; }
+    public double getAnnualRatePercent() { return annualRatePercent; }
+    public int getMonths() { return months; }
+    public EmiScheme getScheme() { return scheme; }
+    public double getEmi() { return emi; }
+    public double getTotalInterest() { return totalInterest; }
+
+    /** Principal repaid by instalment {@code month} (0-based). */
+    public double principalPart(int month) {
+        return cells[checkMonth(month)];
+    }
+
+    /** Interest paid by instalment {@code month} (0-based). */
+    public double interestPart(int month) {
+        return cells[months + checkMonth(month)];
+    }
+
+    /** Outstanding balance after instalment {@code month} (0-based). */
+    public double balance(int month) {
+        return cells[2 * months + checkMonth(month)];
+    }
+
+    /**
+     * Number of doubles held by this schedule; used by caches to bound memory.
+     */
+    public int cellCount() {
+        return cells.length;
+    }
+
+    private int checkMonth(int month) {
+        if (month < 0 || month >= months) {
+            throw new IndexOutOfBoundsException("Month " + month + " outside schedule of " + months + " months");
+        }
+        return month;
+    }
+
+    @Override
+    public String toString() {
+        return "AmortizationSchedule{principal=" + principal + ", rate=" + annualRatePercent + "%, months=" + months
+                + ", scheme=" + scheme + ", emi=" + emi + ", totalInterest=" + totalInterest + "}";
+    }
+}
@@ -0,0 +1,11 @@
+package com.loanemi.oracle;
+
+/**
+ * EMI repayment schemes offered by the calculators on emicalculator.net.
+ * ARREARS: first instalment is paid one month after disbursal (standard annuity).
+ * ADVANCE: first instalment is paid on the day of disbursal (annuity due).
+ */
+public enum EmiScheme {
+    ARREARS,
+    ADVANCE
+}
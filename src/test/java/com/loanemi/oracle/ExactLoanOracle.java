@@ -0,0 +1,115 @@
+package com.loanemi.oracle;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * Exact counterpart of {@link LoanOracle} using BigDecimal arithmetic.
+ *
+ * Intermediate values are carried at DECIMAL128 precision (34 digits), so results are free
+ * of the binary drift that Math.pow and Math.round(x * 100.0) / 100.0 can accumulate over long
+ * schedules. Results are rounded once, at display scale, with the rounding the site uses
+ * (configurable via oracleExactScale / oracleExactRounding, default 2 decimals HALF_UP).
+ *
+ * Much slower than the double path; intended for borderline comparisons and error sampling.
+ */
+public final class ExactLoanOracle {
+
+    private static final MathContext MC = MathContext.DECIMAL128;
+
+    private static final BigDecimal TWELVE_HUNDRED = BigDecimal.valueOf(1200);
+
+    // Display rounding applied to every returned amount
+    private static final int SCALE = Integer.parseInt(ConfigReader.getProperty("oracleExactScale", "2"));
+    private static final RoundingMode ROUNDING = RoundingMode.valueOf(
+            ConfigReader.getProperty("oracleExactRounding", "HALF_UP").toUpperCase());
+
+    private ExactLoanOracle() {
+    }
+
+    /**
+     * Exact monthly instalment, rounded to display scale.
+     *
+     * @param principal         Loan amount (₹)
+     * @param annualRatePercent Nominal annual interest rate in percent
+     * @param months            Tenure in months
+     * @param scheme            EMI in arrears or in advance
+     * @return EMI rounded with the site's rounding
+     */
+    public static BigDecimal emi(BigDecimal principal, BigDecimal annualRatePercent, int months, EmiScheme scheme) {
+        return display(rawEmi(principal, annualRatePercent, months, scheme));
+    }
+
+    /**
+     * Convenience overload taking the same doubles as {@link LoanOracle#emi}.
+     * Inputs are converted through their decimal representation (e.g. 9.5 → "9.5").
+     */
+    public static BigDecimal emi(double principal, double annualRatePercent, int months, EmiScheme scheme) {
+        return emi(BigDecimal.valueOf(principal), BigDecimal.valueOf(annualRatePercent), months, scheme);
+    }
+
+    /**
+     * Exact total interest over the tenure, rounded to display scale.
+     */
+    public static BigDecimal totalInterest(BigDecimal principal, BigDecimal annualRatePercent, int months,
+                                           EmiScheme scheme) {
+        BigDecimal emi = rawEmi(principal, annualRatePercent, months, scheme);
+        return display(emi.multiply(BigDecimal.valueOf(months), MC).subtract(principal, MC));
+    }
+
+    /**
+     * Convenience overload taking doubles.
+     */
+    public static BigDecimal totalInterest(double principal, double annualRatePercent, int months, EmiScheme scheme) {
+        return totalInterest(BigDecimal.valueOf(principal), BigDecimal.valueOf(annualRatePercent), months, scheme);
+    }
+
+    /**
+     * Exact month-by-month schedule. Each month's interest is computed at full precision
+     * and rounded to display scale, as the site does when rendering its amortization table.
+     * The result is returned in the same compact form as the fast oracle so both can be compared.
+     */
+    public static AmortizationSchedule schedule(double principal, double annualRatePercent, int months,
+                                                EmiScheme scheme) {
+        BigDecimal p = BigDecimal.valueOf(principal);
+        BigDecimal emi = rawEmi(p, BigDecimal.valueOf(annualRatePercent), months, scheme);
+        BigDecimal i = BigDecimal.valueOf(annualRatePercent).divide(TWELVE_HUNDRED, MC);
+        double[] cells = new double[3 * months];
+
+        BigDecimal balance = p;
+        for (int m = 0; m < months; m++) {
+            boolean paidAtDisbursal = scheme == EmiScheme.ADVANCE && m == 0;
+            BigDecimal interest = paidAtDisbursal ? BigDecimal.ZERO : balance.multiply(i, MC);
+            BigDecimal principalPart = m == months - 1 ? balance : emi.subtract(interest, MC);
+            balance = balance.subtract(principalPart, MC);
+
+            cells[m] = display(principalPart).doubleValue();
+            cells[months + m] = display(interest).doubleValue();
+            cells[2 * months + m] = display(balance).doubleValue();
+        }
+        return new AmortizationSchedule(principal, annualRatePercent, months, scheme,
+                display(emi).doubleValue(), cells);
+    }
+
+    private static BigDecimal rawEmi(BigDecimal principal, BigDecimal annualRatePercent, int months, EmiScheme scheme) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("Tenure must be at least one month: " + months);
+        }
+        BigDecimal i = annualRatePercent.divide(TWELVE_HUNDRED, MC);
+        if (i.signum() == 0) {
+            return principal.divide(BigDecimal.valueOf(months), MC);
+        }
+        BigDecimal onePlusI = BigDecimal.ONE.add(i, MC);
+        BigDecimal growth = onePlusI.pow(months, MC);
+        BigDecimal emi = principal.multiply(i, MC).multiply(growth, MC)
+                .divide(growth.subtract(BigDecimal.ONE, MC), MC);
+        return scheme == EmiScheme.ADVANCE ? emi.divide(onePlusI, MC) : emi;
+    }
+
+    private static BigDecimal display(BigDecimal value) {
+        return value.setScale(SCALE, ROUNDING);
+    }
+}
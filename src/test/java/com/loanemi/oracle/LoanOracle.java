@@ -0,0 +1,237 @@
+package com.loanemi.oracle;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reference ("oracle") implementation of the loan math used by emicalculator.net.
+ * Computes EMI, total interest, total payment and APR for both EMI schemes,
+ * so page objects can validate the calculator summary against independent values.
+ *
+ * APR is the annual rate at which the present value of all instalments equals the
+ * amount actually received (principal minus processing fees). It is found with a
+ * safeguarded Newton iteration warm-started from the nominal rate, which converges
+ * in a handful of steps because the annuity factor is smooth, convex and decreasing.
+ *
+ * The scalar methods work on primitives only and allocate nothing on the hot path,
+ * so they can be used for bulk checks as well as single UI validations.
+ * Full schedules are returned as compact {@link AmortizationSchedule} instances;
+ * use {@link OracleCache} to avoid recomputing them for repeated inputs.
+ */
+public final class LoanOracle {
+
+    private static final Logger logger = LogManager.getLogger(LoanOracle.class);
+
+    // Convergence threshold on the monthly rate (≈ 1e-10 % APR)
+    private static final double RATE_EPSILON = 1e-14;
+
+    // Upper bound on root-finder iterations before giving up
+    private static final int MAX_ITERATIONS = 100;
+
+    private LoanOracle() {
+    }
+
+    /**
+     * Converts an annual percentage rate to the monthly periodic rate.
+     *
+     * @param annualRatePercent Annual rate in percent (e.g. 10.75)
+     * @return Monthly rate as a fraction (e.g. 0.0089583)
+     */
+    public static double monthlyRate(double annualRatePercent) {
+        return annualRatePercent / 12 / 100;
+    }
+
+    /**
+     * Computes the monthly instalment for the given loan.
+     *
+     * @param principal         Loan amount (₹)
+     * @param annualRatePercent Nominal annual interest rate in percent
+     * @param months            Tenure in months
+     * @param scheme            EMI in arrears or in advance
+     * @return Unrounded EMI (₹)
+     */
+    public static double emi(double principal, double annualRatePercent, int months, EmiScheme scheme) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("Tenure must be at least one month: " + months);
+        }
+        double i = monthlyRate(annualRatePercent);
+        if (i == 0) {
+            return principal / months;
+        }
+        double growth = Math.pow(1 + i, months);
+        double emi = principal * i * growth / (growth - 1);
+
+        // Annuity due: every instalment is paid one period earlier
+        return scheme == EmiScheme.ADVANCE ? emi / (1 + i) : emi;
+    }
+
+    /**
+     * Total interest paid over the tenure.
+     */
+    public static double totalInterest(double principal, double annualRatePercent, int months, EmiScheme scheme) {
+        return emi(principal, annualRatePercent, months, scheme) * months - principal;
+    }
+
+    /**
+     * Total of all payments: principal + interest + processing fees.
+     */
+    public static double totalPayment(double principal, double annualRatePercent, int months,
+                                      double fees, EmiScheme scheme) {
+        return emi(principal, annualRatePercent, months, scheme) * months + fees;
+    }
+
+    /**
+     * Computes the APR of the loan, taking processing fees into account.
+     * Without fees the APR equals the nominal rate.
+     *
+     * @param principal         Loan amount (₹)
+     * @param annualRatePercent Nominal annual interest rate in percent
+     * @param months            Tenure in months
+     * @param fees              Processing fees and charges (₹)
+     * @param scheme            EMI in arrears or in advance
+     * @return APR in percent
+     */
+    public static double apr(double principal, double annualRatePercent, int months, double fees, EmiScheme scheme) {
+        if (fees <= 0) {
+            return annualRatePercent;
+        }
+        if (fees >= principal) {
+            throw new IllegalArgumentException("Fees (" + fees + ") must be lower than the loan amount (" + principal + ")");
+        }
+        double emi = emi(principal, annualRatePercent, months, scheme);
+        double netDisbursed = principal - fees;
+        double nominal = monthlyRate(annualRatePercent);
+        return solveMonthlyRate(emi, months, netDisbursed, nominal, scheme) * 12 * 100;
+    }
+
+    /**
+     * Computes the full cost summary shown on the Loan Calculator.
+     */
+    public static LoanSummary summarize(double principal, double annualRatePercent, int months,
+                                        double fees, EmiScheme scheme) {
+        double emi = emi(principal, annualRatePercent, months, scheme);
+        double totalInterest = emi * months - principal;
+        double totalPayment = principal + totalInterest + fees;
+        double apr = apr(principal, annualRatePercent, months, fees, scheme);
+        return new LoanSummary(emi, totalInterest, totalPayment, apr);
+    }
+
+    /**
+     * Builds the cost summary from an already computed schedule, avoiding a second EMI computation.
+     */
+    public static LoanSummary summarize(AmortizationSchedule schedule, double fees) {
+        double totalInterest = schedule.getTotalInterest();
+        double totalPayment = schedule.getPrincipal() + totalInterest + fees;
+        double apr = apr(schedule.getPrincipal(), schedule.getAnnualRatePercent(), schedule.getMonths(),
+                fees, schedule.getScheme());
+        return new LoanSummary(schedule.getEmi(), totalInterest, totalPayment, apr);
+    }
+
+    /**
+     * Computes the month-by-month amortization schedule.
+     * In ADVANCE mode the first instalment is paid at disbursal and carries no interest.
+     * The final instalment absorbs floating-point residue so the balance closes at exactly zero.
+     *
+     * @param principal         Loan amount (₹)
+     * @param annualRatePercent Nominal annual interest rate in percent
+     * @param months            Tenure in months
+     * @param scheme            EMI in arrears or in advance
+     * @return Immutable schedule backed by a flat primitive array
+     */
+    public static AmortizationSchedule schedule(double principal, double annualRatePercent, int months, EmiScheme scheme) {
+        double emi = emi(principal, annualRatePercent, months, scheme);
+        double i = monthlyRate(annualRatePercent);
+        double[] cells = new double[3 * months];
+
+        double balance = principal;
+        for (int m = 0; m < months; m++) {
+            boolean paidAtDisbursal = scheme == EmiScheme.ADVANCE && m == 0;
+            double interest = paidAtDisbursal ? 0 : balance * i;
+            double principalPart = m == months - 1 ? balance : emi - interest;
+            balance -= principalPart;
+
+            cells[m] = principalPart;
+            cells[months + m] = interest;
+            cells[2 * months + m] = balance;
+        }
+        return new AmortizationSchedule(principal, annualRatePercent, months, scheme, emi, cells);
+    }
+
+    /**
+     * Bulk APR computation over parallel primitive arrays, writing results into {@code aprOut}.
+     * Each case is warm-started from its own nominal rate; no objects are allocated.
+     */
+    public static void aprBulk(double[] principal, double[] annualRatePercent, int[] months, double[] fees,
+                               EmiScheme scheme, double[] aprOut) {
+        int n = principal.length;
+        if (annualRatePercent.length != n || months.length != n || fees.length != n || aprOut.length < n) {
+            throw new IllegalArgumentException("Bulk APR input arrays must have matching lengths");
+        }
+        for (int k = 0; k < n; k++) {
+            aprOut[k] = apr(principal[k], annualRatePercent[k], months[k], fees[k], scheme);
+        }
+    }
+
+    /**
+     * Finds the monthly rate i for which emi × annuityFactor(i) = netDisbursed.
+     * Newton steps are kept inside a shrinking bracket; a step that would leave
+     * the bracket falls back to bisection, so convergence is guaranteed.
+     */
+    private static double solveMonthlyRate(double emi, int months, double netDisbursed,
+                                           double startRate, EmiScheme scheme) {
+        // f(i) = emi·a(i) − net is strictly decreasing in i; fees push the root above the nominal rate
+        double lo = Math.max(startRate, 0);
+        double hi = Math.max(2 * lo, 1e-4);
+        while (presentValue(emi, hi, months, scheme) > netDisbursed) {
+            lo = hi;
+            hi *= 2;
+        }
+
+        double i = startRate > 0 ? startRate : (lo + hi) / 2;
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            double f = presentValue(emi, i, months, scheme) - netDisbursed;
+            if (f > 0) {
+                lo = i;
+            } else {
+                hi = i;
+            }
+
+            double next = i - f / presentValueDerivative(emi, i, months, scheme);
+            if (!(next > lo && next < hi)) {
+                next = (lo + hi) / 2; // Bisection fallback keeps the iterate bracketed
+            }
+            if (Math.abs(next - i) < RATE_EPSILON) {
+                return next;
+            }
+            i = next;
+        }
+
+        logger.warn("APR solver did not converge after {} iterations (emi={}, months={}, net={})",
+                MAX_ITERATIONS, emi, months, netDisbursed);
+        return i;
+    }
+
+    /**
+     * Present value of the instalment stream at monthly rate i.
+     */
+    private static double presentValue(double emi, double i, int months, EmiScheme scheme) {
+        if (i == 0) {
+            return emi * months;
+        }
+        double annuity = (1 - Math.pow(1 + i, -months)) / i;
+        return scheme == EmiScheme.ADVANCE ? emi * annuity * (1 + i) : emi * annuity;
+    }
+
+    /**
+     * Derivative of {@link #presentValue} with respect to the monthly rate.
+     */
+    private static double presentValueDerivative(double emi, double i, int months, EmiScheme scheme) {
+        double discount = Math.pow(1 + i, -months);
+        double annuity = (1 - discount) / i;
+        double annuityDerivative = (months * discount / (1 + i) - annuity) / i;
+        if (scheme == EmiScheme.ADVANCE) {
+            return emi * (annuityDerivative * (1 + i) + annuity);
+        }
+        return emi * annuityDerivative;
+    }
+}
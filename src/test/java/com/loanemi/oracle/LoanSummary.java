@@ -0,0 +1,33 @@
+package com.loanemi.oracle;
+
+/**
+ * Immutable snapshot of the cost summary the Loan Calculator displays:
+ * EMI, total interest, total payment (principal + interest + fees) and APR.
+ */
+public final class LoanSummary {
+
+    private final double emi;
+    private final double totalInterest;
+    private final double totalPayment;
+    private final double apr;
+
+    public LoanSummary(double emi, double totalInterest, double totalPayment, double apr) {
+        this.emi = emi;
+        this.totalInterest = totalInterest;
+        this.totalPayment = totalPayment;
+        this.apr = apr;
+    }
+
+    public double getEmi() { return emi; }
+    public double getTotalInterest() { return totalInterest; }
+    public double getTotalPayment() { return totalPayment; }
+
+    /** Annual percentage rate, in percent (e.g. 11.27 for 11.27%). */
+    public double getApr() { return apr; }
+
+    @Override
+    public String toString() {
+        return "LoanSummary{emi=" + emi + ", totalInterest=" + totalInterest
+                + ", totalPayment=" + totalPayment + ", apr=" + apr + "}";
+    }
+}
@@ -0,0 +1,322 @@
+package com.loanemi.oracle;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * Bounded, concurrent memo cache for amortization schedules computed by {@link LoanOracle}.
+ *
+ * The same (amount, rate, tenure, scheme) tuples recur across Cucumber features, retries and
+ * browsers, so schedules are computed once and shared. Keys are never boxed: each entry's
+ * inputs are stored as raw bits in parallel primitive arrays (principal bits, rate bits,
+ * tenure/scheme packed into an int), and lookups probe an open-addressed int index.
+ *
+ * The cache is split into lock-striped segments. Each segment is bounded both by entry count
+ * and by the total number of schedule cells it holds, and evicts with the CLOCK algorithm,
+ * an approximation of LRU that needs only one "referenced" bit per entry.
+ *
+ * Schedules are computed outside the segment lock, so two threads missing on the same key at
+ * the same time may both compute it; the first one to insert wins. Hit, miss and eviction
+ * counts are kept in LongAdders for cheap concurrent updates.
+ */
+public final class OracleCache {
+
+    private static final Logger logger = LogManager.getLogger(OracleCache.class);
+
+    private static final int SEGMENT_COUNT = 16;
+
+    // Shared instance sized from config.properties (oracleCacheMaxEntries / oracleCacheMaxCells)
+    private static final OracleCache shared = new OracleCache(
+            Integer.parseInt(ConfigReader.getProperty("oracleCacheMaxEntries", "4096")),
+            Long.parseLong(ConfigReader.getProperty("oracleCacheMaxCells", "4000000")));
+
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries Maximum number of schedules held
+     * @param maxCells   Maximum number of schedule doubles held (3 per month per schedule)
+     */
+    public OracleCache(int maxEntries, long maxCells) {
+        if (maxEntries < SEGMENT_COUNT || maxCells <= 0) {
+            throw new IllegalArgumentException("Oracle cache needs at least " + SEGMENT_COUNT
+                    + " entries and a positive cell budget: " + maxEntries + ", " + maxCells);
+        }
+        segments = new Segment[SEGMENT_COUNT];
+        for (int s = 0; s < SEGMENT_COUNT; s++) {
+            segments[s] = new Segment(maxEntries / SEGMENT_COUNT, maxCells / SEGMENT_COUNT);
+        }
+        logger.info("Oracle cache created: {} entries, {} cells across {} segments", maxEntries, maxCells, SEGMENT_COUNT);
+    }
+
+    /**
+     * Process-wide cache shared by all page objects and test threads.
+     */
+    public static OracleCache shared() {
+        return shared;
+    }
+
+    /**
+     * Returns the cached schedule for the inputs, computing and caching it on a miss.
+     */
+    public AmortizationSchedule schedule(double principal, double annualRatePercent, int months, EmiScheme scheme) {
+        long principalBits = Double.doubleToLongBits(principal);
+        long rateBits = Double.doubleToLongBits(annualRatePercent);
+        int tenureScheme = (months << 1) | scheme.ordinal();
+        int hash = hash(principalBits, rateBits, tenureScheme);
+        Segment segment = segments[(hash >>> 28) & (SEGMENT_COUNT - 1)];
+
+        AmortizationSchedule cached = segment.get(principalBits, rateBits, tenureScheme, hash);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        AmortizationSchedule computed = LoanOracle.schedule(principal, annualRatePercent, months, scheme);
+        return segment.putIfAbsent(principalBits, rateBits, tenureScheme, hash, computed, evictions);
+    }
+
+    public long hitCount() { return hits.sum(); }
+    public long missCount() { return misses.sum(); }
+    public long evictionCount() { return evictions.sum(); }
+
+    /**
+     * Fraction of lookups served from cache, or 0 before the first lookup.
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Number of schedules currently cached.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all entries; statistics are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OracleCache{size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f%%}",
+                size(), hitCount(), missCount(), evictionCount(), hitRate() * 100);
+    }
+
+    private static int hash(long principalBits, long rateBits, int tenureScheme) {
+        long h = principalBits * 0x9E3779B97F4A7C15L;
+        h ^= rateBits * 0xC2B2AE3D27D4EB4FL;
+        h ^= tenureScheme * 0x165667B19E3779F9L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    /**
+     * One lock stripe: dense entry slots plus an open-addressed index (linear probing).
+     * index[] holds slot + 1, with 0 meaning empty.
+     */
+    private static final class Segment {
+
+        private final int maxEntries;
+        private final long maxCells;
+        private final int mask;
+
+        // Dense entry storage, all primitive except the cached value
+        private final long[] principalBits;
+        private final long[] rateBits;
+        private final int[] tenureScheme;
+        private final int[] hashes;
+        private final AmortizationSchedule[] values;
+        private final boolean[] referenced;
+
+        private final int[] index;
+
+        private int size;
+        private long cells;
+        private int clockHand;
+
+        Segment(int maxEntries, long maxCells) {
+            this.maxEntries = maxEntries;
+            this.maxCells = maxCells;
+            this.principalBits = new long[maxEntries];
+            this.rateBits = new long[maxEntries];
+            this.tenureScheme = new int[maxEntries];
+            this.hashes = new int[maxEntries];
+            this.values = new AmortizationSchedule[maxEntries];
+            this.referenced = new boolean[maxEntries];
+
+            // Keep load factor ≤ 0.5 for short probe sequences
+            int tableSize = Integer.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1;
+            this.index = new int[tableSize];
+            this.mask = tableSize - 1;
+        }
+
+        synchronized AmortizationSchedule get(long pBits, long rBits, int ts, int hash) {
+            int slot = find(pBits, rBits, ts, hash);
+            if (slot < 0) {
+                return null;
+            }
+            referenced[slot] = true;
+            return values[slot];
+        }
+
+        synchronized AmortizationSchedule putIfAbsent(long pBits, long rBits, int ts, int hash,
+                                                      AmortizationSchedule value, LongAdder evictions) {
+            int existing = find(pBits, rBits, ts, hash);
+            if (existing >= 0) {
+                referenced[existing] = true;
+                return values[existing];
+            }
+
+            int valueCells = value.cellCount();
+            if (valueCells > maxCells) {
+                return value; // Larger than the whole segment budget: serve uncached
+            }
+
+            while (size > 0 && (size >= maxEntries || cells + valueCells > maxCells)) {
+                evict();
+                evictions.increment();
+            }
+
+            int slot = size++;
+            principalBits[slot] = pBits;
+            rateBits[slot] = rBits;
+            tenureScheme[slot] = ts;
+            hashes[slot] = hash;
+            values[slot] = value;
+            referenced[slot] = false;
+            cells += valueCells;
+            insertIndex(slot, hash);
+            return value;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(index, 0);
+            Arrays.fill(values, null);
+            size = 0;
+            cells = 0;
+            clockHand = 0;
+        }
+
+        private int find(long pBits, long rBits, int ts, int hash) {
+            int pos = hash & mask;
+            while (true) {
+                int entry = index[pos];
+                if (entry == 0) {
+                    return -1;
+                }
+                int slot = entry - 1;
+                if (hashes[slot] == hash && tenureScheme[slot] == ts
+                        && principalBits[slot] == pBits && rateBits[slot] == rBits) {
+                    return slot;
+                }
+                pos = (pos + 1) & mask;
+            }
+        }
+
+        private void insertIndex(int slot, int hash) {
+            int pos = hash & mask;
+            while (index[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            index[pos] = slot + 1;
+        }
+
+        /**
+         * CLOCK eviction: sweep slots, clearing reference bits, and evict the first unreferenced one.
+         * The last dense slot is moved into the freed position to keep storage compact.
+         */
+        private void evict() {
+            while (true) {
+                if (clockHand >= size) {
+                    clockHand = 0;
+                }
+                if (referenced[clockHand]) {
+                    referenced[clockHand] = false;
+                    clockHand++;
+                    continue;
+                }
+                removeSlot(clockHand);
+                return;
+            }
+        }
+
+        private void removeSlot(int slot) {
+            cells -= values[slot].cellCount();
+            removeIndex(slot);
+
+            int last = size - 1;
+            if (slot != last) {
+                // Re-point the index entry of the last slot to its new position
+                int pos = indexPosition(last);
+                principalBits[slot] = principalBits[last];
+                rateBits[slot] = rateBits[last];
+                tenureScheme[slot] = tenureScheme[last];
+                hashes[slot] = hashes[last];
+                values[slot] = values[last];
+                referenced[slot] = referenced[last];
+                index[pos] = slot + 1;
+            }
+            values[last] = null;
+            size--;
+        }
+
+        private int indexPosition(int slot) {
+            int pos = hashes[slot] & mask;
+            while (index[pos] != slot + 1) {
+                pos = (pos + 1) & mask;
+            }
+            return pos;
+        }
+
+        /**
+         * Backward-shift deletion keeps linear-probe chains intact without tombstones.
+         */
+        private void removeIndex(int slot) {
+            int hole = indexPosition(slot);
+            index[hole] = 0;
+            int pos = hole;
+            while (true) {
+                pos = (pos + 1) & mask;
+                int entry = index[pos];
+                if (entry == 0) {
+                    return;
+                }
+                int home = hashes[entry - 1] & mask;
+                boolean homeBetweenHoleAndPos = hole <= pos
+                        ? home > hole && home <= pos
+                        : home > hole || home <= pos;
+                if (!homeBetweenHoleAndPos) {
+                    index[hole] = entry;
+                    index[pos] = 0;
+                    hole = pos;
+                }
+            }
+        }
+    }
+}
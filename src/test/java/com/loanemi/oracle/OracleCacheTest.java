@@ -0,0 +1,157 @@
+package com.loanemi.oracle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link OracleCache}: memoization, both eviction bounds, CLOCK second chances
+ * and concurrent use. No browser needed; run with the unit suite (see README).
+ */
+public class OracleCacheTest {
+
+    // 16 segments: the smallest cache holds one entry per segment
+    private static final int SEGMENTS = 16;
+
+    @Test
+    public void repeatedInputsReturnTheCachedSchedule() {
+        OracleCache cache = new OracleCache(64, 1_000_000);
+
+        AmortizationSchedule first = cache.schedule(500000, 9.5, 60, EmiScheme.ARREARS);
+        AmortizationSchedule second = cache.schedule(500000, 9.5, 60, EmiScheme.ARREARS);
+        AmortizationSchedule advance = cache.schedule(500000, 9.5, 60, EmiScheme.ADVANCE);
+
+        Assert.assertSame(second, first);
+        Assert.assertNotSame(advance, first, "The scheme is part of the key");
+        Assert.assertEquals(cache.hitCount(), 1);
+        Assert.assertEquals(cache.missCount(), 2);
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(first.getEmi(), LoanOracle.emi(500000, 9.5, 60, EmiScheme.ARREARS));
+    }
+
+    @Test
+    public void entryBoundEvictsAndStaysCorrect() {
+        OracleCache cache = new OracleCache(SEGMENTS, 1_000_000);
+
+        for (int i = 0; i < 1000; i++) {
+            AmortizationSchedule schedule = cache.schedule(100000 + i, 8.0, 12, EmiScheme.ARREARS);
+            Assert.assertEquals(schedule.getPrincipal(), 100000.0 + i);
+        }
+
+        Assert.assertTrue(cache.size() <= SEGMENTS, "size " + cache.size());
+        Assert.assertEquals(cache.missCount(), 1000);
+        Assert.assertEquals(cache.evictionCount(), 1000 - cache.size());
+    }
+
+    @Test
+    public void cellBoundEvictsAndOversizedSchedulesAreNotCached() {
+        // Each segment holds 360 cells: one 120-month schedule (3 cells per month)
+        OracleCache cache = new OracleCache(SEGMENTS * 8, SEGMENTS * 360L);
+
+        for (int i = 0; i < 200; i++) {
+            cache.schedule(200000 + i, 10.0, 120, EmiScheme.ARREARS);
+        }
+        Assert.assertTrue(cache.size() <= SEGMENTS, "size " + cache.size());
+        Assert.assertEquals(cache.evictionCount(), 200 - cache.size());
+
+        cache.clear();
+        AmortizationSchedule oversized = cache.schedule(300000, 10.0, 240, EmiScheme.ARREARS);
+        Assert.assertEquals(oversized.getMonths(), 240);
+        Assert.assertEquals(cache.size(), 0, "A schedule larger than its segment is served uncached");
+    }
+
+    @Test
+    public void referencedEntrySurvivesEviction() {
+        OracleCache cache = new OracleCache(SEGMENTS * 4, 1_000_000);
+        AmortizationSchedule hot = cache.schedule(750000, 11.0, 36, EmiScheme.ARREARS);
+
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertSame(cache.schedule(750000, 11.0, 36, EmiScheme.ARREARS), hot); // Sets its reference bit
+            cache.schedule(400000 + i, 7.5, 24, EmiScheme.ARREARS);
+        }
+
+        Assert.assertTrue(cache.evictionCount() > 0);
+        Assert.assertEquals(cache.hitCount(), 5000);
+    }
+
+    @Test
+    public void concurrentLookupsUnderEvictionReturnCorrectSchedules() throws Exception {
+        OracleCache cache = new OracleCache(64, 1_000_000);
+        int threads = 8;
+        int lookups = 20_000;
+        int keys = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < lookups; i++) {
+                        int key = (i * 31 + seed * 7) % keys;
+                        double principal = 100000 + key * 1000;
+                        int months = 12 + key % 48;
+                        EmiScheme scheme = key % 2 == 0 ? EmiScheme.ARREARS : EmiScheme.ADVANCE;
+                        AmortizationSchedule schedule = cache.schedule(principal, 9.0, months, scheme);
+                        Assert.assertEquals(schedule.getPrincipal(), principal);
+                        Assert.assertEquals(schedule.getMonths(), months);
+                        Assert.assertEquals(schedule.getScheme(), scheme);
+                        Assert.assertEquals(schedule.getEmi(), LoanOracle.emi(principal, 9.0, months, scheme));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS); // Rethrows a failed assertion
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assert.assertEquals(cache.hitCount() + cache.missCount(), (long) threads * lookups);
+        Assert.assertTrue(cache.size() <= 64, "size " + cache.size());
+        Assert.assertTrue(cache.evictionCount() > 0);
+    }
+
+    @Test
+    public void concurrentLookupsWithoutEvictionShareOneSchedulePerKey() throws Exception {
+        OracleCache cache = new OracleCache(1024, 10_000_000);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int key = 0; key < 100; key++) {
+                        cache.schedule(100000 + key, 12.0, 60, EmiScheme.ARREARS);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assert.assertEquals(cache.size(), 100);
+        Assert.assertEquals(cache.evictionCount(), 0);
+        for (int key = 0; key < 100; key++) {
+            AmortizationSchedule schedule = cache.schedule(100000 + key, 12.0, 60, EmiScheme.ARREARS);
+            Assert.assertSame(cache.schedule(100000 + key, 12.0, 60, EmiScheme.ARREARS), schedule);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.loanemi.oracle;
+
+import java.util.Random;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * Measures how far the fast double oracle drifts from the exact BigDecimal oracle.
+ *
+ * Draws random loans across the ranges the calculators accept, computes EMI, total interest
+ * and the full schedule both ways, and reports the largest errors found together with the
+ * inputs that produced them. The worst relative error is used by {@link OracleMode#AUTO}
+ * to decide when a fast result is too close to a tolerance edge to be trusted.
+ */
+public final class OracleErrorSampler {
+
+    private static final Logger logger = LogManager.getLogger(OracleErrorSampler.class);
+
+    private OracleErrorSampler() {
+    }
+
+    /**
+     * Result of a sampling run. All errors are absolute differences in rupees,
+     * except {@link #getMaxRelativeError()} which is relative to the loan principal.
+     */
+    public static final class ErrorReport {
+
+        private final int samples;
+        private final double maxEmiError;
+        private final double maxInterestError;
+        private final double maxBalanceError;
+        private final double maxRelativeError;
+        private final String worstCase;
+
+        ErrorReport(int samples, double maxEmiError, double maxInterestError, double maxBalanceError,
+                    double maxRelativeError, String worstCase) {
+            this.samples = samples;
+            this.maxEmiError = maxEmiError;
+            this.maxInterestError = maxInterestError;
+            this.maxBalanceError = maxBalanceError;
+            this.maxRelativeError = maxRelativeError;
+            this.worstCase = worstCase;
+        }
+
+        public int getSamples() { return samples; }
+        public double getMaxEmiError() { return maxEmiError; }
+        public double getMaxInterestError() { return maxInterestError; }
+        public double getMaxBalanceError() { return maxBalanceError; }
+        public double getMaxRelativeError() { return maxRelativeError; }
+        public String getWorstCase() { return worstCase; }
+
+        @Override
+        public String toString() {
+            return String.format("ErrorReport{samples=%d, maxEmiError=₹%.6f, maxInterestError=₹%.6f, "
+                    + "maxBalanceError=₹%.6f, maxRelativeError=%.3e, worstCase=%s}",
+                    samples, maxEmiError, maxInterestError, maxBalanceError, maxRelativeError, worstCase);
+        }
+    }
+
+    // Lazily computed bound shared by all AUTO-mode comparisons
+    private static final class SharedReport {
+        static final ErrorReport INSTANCE = sample(
+                Integer.parseInt(ConfigReader.getProperty("oracleSampleSize", "200")), 20240601L);
+    }
+
+    /**
+     * Returns the process-wide error report, sampling once on first use.
+     */
+    public static ErrorReport sharedReport() {
+        return SharedReport.INSTANCE;
+    }
+
+    /**
+     * Samples random loans and compares the fast and exact oracles.
+     * Display rounding (2 decimals) is applied to both sides, so the report shows
+     * the error a UI comparison would actually see.
+     *
+     * @param samples Number of random loans to compare
+     * @param seed    Random seed, for reproducible reports
+     * @return Largest errors observed
+     */
+    public static ErrorReport sample(int samples, long seed) {
+        Random random = new Random(seed);
+        double maxEmi = 0;
+        double maxInterest = 0;
+        double maxBalance = 0;
+        double maxRelative = 0;
+        String worst = "none";
+
+        long start = System.nanoTime();
+        for (int s = 0; s < samples; s++) {
+            double principal = 1000 * (1 + random.nextInt(200_000));      // ₹1,000 .. ₹20 crore
+            double rate = Math.round((1 + random.nextDouble() * 29) * 100) / 100.0; // 1% .. 30%, 2 decimals
+            int months = 1 + random.nextInt(360);                          // up to 30 years
+            EmiScheme scheme = random.nextBoolean() ? EmiScheme.ARREARS : EmiScheme.ADVANCE;
+
+            double fastEmi = round2(LoanOracle.emi(principal, rate, months, scheme));
+            double exactEmi = ExactLoanOracle.emi(principal, rate, months, scheme).doubleValue();
+            double fastInterest = round2(LoanOracle.totalInterest(principal, rate, months, scheme));
+            double exactInterest = ExactLoanOracle.totalInterest(principal, rate, months, scheme).doubleValue();
+
+            AmortizationSchedule fast = LoanOracle.schedule(principal, rate, months, scheme);
+            AmortizationSchedule exact = ExactLoanOracle.schedule(principal, rate, months, scheme);
+            double balanceError = 0;
+            for (int m = 0; m < months; m++) {
+                balanceError = Math.max(balanceError, Math.abs(round2(fast.balance(m)) - exact.balance(m)));
+            }
+
+            double emiError = Math.abs(fastEmi - exactEmi);
+            double interestError = Math.abs(fastInterest - exactInterest);
+            double relative = Math.max(emiError, Math.max(interestError, balanceError)) / principal;
+
+            maxEmi = Math.max(maxEmi, emiError);
+            maxInterest = Math.max(maxInterest, interestError);
+            maxBalance = Math.max(maxBalance, balanceError);
+            if (relative > maxRelative) {
+                maxRelative = relative;
+                worst = "principal=" + principal + ", rate=" + rate + "%, months=" + months + ", scheme=" + scheme;
+            }
+        }
+
+        ErrorReport report = new ErrorReport(samples, maxEmi, maxInterest, maxBalance, maxRelative, worst);
+        logger.info("Oracle error sampling finished in {} ms: {}", (System.nanoTime() - start) / 1_000_000, report);
+        return report;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
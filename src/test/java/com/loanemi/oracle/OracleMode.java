@@ -0,0 +1,57 @@
+package com.loanemi.oracle;
+
+import com.loanemi.tolerance.TolerancePolicy;
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * Selects which oracle page objects use for expected values (config key: oracleMode).
+ *
+ * FAST:  double arithmetic only — cheapest, for bulk runs.
+ * EXACT: BigDecimal arithmetic only — slowest, matches the site's rounding exactly.
+ * AUTO:  FAST first; a comparison whose deviation lies within the sampled error bound of
+ *        the tolerance edge is re-evaluated with the EXACT oracle (default).
+ */
+public enum OracleMode {
+    FAST,
+    EXACT,
+    AUTO;
+
+    // One paisa (₹0.01): rounding to the paisa moves expected and actual by up to half a
+    // paisa each, so their deviation can be off by a whole paisa
+    private static final double ROUNDING_MARGIN = 0.01;
+
+    // Safety factor applied to the worst relative error observed by the sampler
+    private static final double SAFETY_FACTOR = 10;
+
+    private static final OracleMode configured =
+            OracleMode.valueOf(ConfigReader.getProperty("oracleMode", "AUTO").toUpperCase());
+
+    /**
+     * Mode configured for this run.
+     */
+    public static OracleMode configured() {
+        return configured;
+    }
+
+    /**
+     * Whether the fast expected value is too close to the tolerance edge to be trusted.
+     *
+     * @param policy   Tolerance policy used for the comparison
+     * @param expected Expected value from the fast oracle
+     * @param actual   Actual value read from the UI
+     * @param scale    Magnitude the error bound is relative to (usually the loan principal)
+     * @return true when this mode calls for an exact recheck
+     */
+    public boolean needsExactRecheck(TolerancePolicy policy, double expected, double actual, double scale) {
+        if (this != AUTO) {
+            return false;
+        }
+        if (policy.getKind() != TolerancePolicy.Kind.ABSOLUTE && policy.getKind() != TolerancePolicy.Kind.ROUNDED) {
+            // Relative and ULP policies are unit-less: recheck anything that did not pass outright
+            return policy.evaluate(expected, actual) != TolerancePolicy.Outcome.PASS;
+        }
+        double margin = ROUNDING_MARGIN
+                + SAFETY_FACTOR * OracleErrorSampler.sharedReport().getMaxRelativeError() * Math.abs(scale);
+        return Math.abs(policy.deviation(expected, actual) - policy.getTolerance()) <= margin;
+    }
+}
@@ -3,6 +3,8 @@ package com.loanemi.pages;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
@@ -10,13 +12,21 @@ import org.testng.Assert;
 
 import com.aventstack.extentreports.Status;
 import com.loanemi.utils.ConfigReader;
-import com.loanemi.utils.ExcelUtils;
+import com.loanemi.utils.ExcelExportQueue;
+import com.loanemi.utils.ExcelShards;
 import com.loanemi.utils.ExtentReportUtil;
+import com.loanemi.utils.IndianNumberParser;
 import com.loanemi.utils.JavaScriptUtil;
-import com.loanemi.entity.JsonData;
-import com.loanemi.utils.JsonUtil;
+import com.loanemi.entity.TestCase;
+import com.loanemi.schedule.ScheduleFiles;
+import com.loanemi.schedule.ScheduleTable;
+import com.loanemi.timing.TimingEvents;
+import com.loanemi.tolerance.TolerancePolicies;
+import com.loanemi.tolerance.TolerancePolicy;
 import com.loanemi.utils.WaitUtil;
+import com.loanemi.utils.TestDataRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -31,13 +41,20 @@ public class HomeLoanPage {
 
     // Config-driven test data mapping
     private String testData = ConfigReader.getProperty("testCase2");
-    private String jsonFilePath = ConfigReader.getProperty("jsonFilePath");
-    JsonData testCase = JsonUtil.getTestCase(jsonFilePath, testData);
+    private final TestCase testCase = TestDataRepository.shared().get(testData);
 
     private final String excelPath = ConfigReader.getProperty("excelPath");
     private final String LoanSheet = ConfigReader.getProperty("LoanSheet");
     private final String YearlyDataSheet = ConfigReader.getProperty("YearlyDataSheet");
 
+    // Comparison rules for the monthly summary, resolved once per page object
+    private final TolerancePolicy emiTolerance = TolerancePolicies.get("homeLoan", "emi");
+    private final TolerancePolicy extraTolerance = TolerancePolicies.get("homeLoan", "extra");
+    private final TolerancePolicy taxTolerance = TolerancePolicies.get("homeLoan", "tax");
+    private final TolerancePolicy insuranceTolerance = TolerancePolicies.get("homeLoan", "insurance");
+    private final TolerancePolicy maintenanceTolerance = TolerancePolicies.get("homeLoan", "maintenance");
+    private final TolerancePolicy totalTolerance = TolerancePolicies.get("homeLoan", "total");
+
     /**
      * Constructor: initializes page elements
      */
@@ -128,58 +145,58 @@ public class HomeLoanPage {
 
         try {
             // Assuming page content is stable once loaded — no extra waits needed unless dynamic
-            JavaScriptUtil.setInputValue(driver, homeValueInput, testCase.getHomeValue());
-            logger.debug("Home Value: ₹{}", testCase.getHomeValue());
+            JavaScriptUtil.setInputValue(driver, homeValueInput, TestCase.toInput(testCase.getHomeValue()));
+            logger.debug("Home Value: ₹{}", box(testCase.getHomeValue()));
 
-            JavaScriptUtil.setInputValue(driver, downPaymentInput, testCase.getDownPayment());
-            logger.debug("Down Payment (%): {}", testCase.getDownPayment());
+            JavaScriptUtil.setInputValue(driver, downPaymentInput, TestCase.toInput(testCase.getDownPayment()));
+            logger.debug("Down Payment (%): {}", box(testCase.getDownPayment()));
 
-            JavaScriptUtil.setInputValue(driver, loanInsuranceInput, testCase.getInsurance());
-            logger.debug("Loan Insurance Amount: ₹{}", testCase.getInsurance());
+            JavaScriptUtil.setInputValue(driver, loanInsuranceInput, TestCase.toInput(testCase.getInsurance()));
+            logger.debug("Loan Insurance Amount: ₹{}", box(testCase.getInsurance()));
 
-            JavaScriptUtil.setInputValue(driver, loanAmountInput, testCase.getAmount());
-            logger.debug("Loan Amount: ₹{}", testCase.getAmount());
+            JavaScriptUtil.setInputValue(driver, loanAmountInput, TestCase.toInput(testCase.getAmount()));
+            logger.debug("Loan Amount: ₹{}", box(testCase.getAmount()));
 
-            JavaScriptUtil.setInputValue(driver, interestRateInput, testCase.getRate());
-            logger.debug("Interest Rate: {}%", testCase.getRate());
+            JavaScriptUtil.setInputValue(driver, interestRateInput, TestCase.toInput(testCase.getRate()));
+            logger.debug("Interest Rate: {}%", box(testCase.getRate()));
 
-            JavaScriptUtil.setInputValue(driver, loanTenureInput, testCase.getTenure());
-            logger.debug("Loan Tenure: {} years", testCase.getTenure());
+            JavaScriptUtil.setInputValue(driver, loanTenureInput, TestCase.toInput(testCase.getTenure()));
+            logger.debug("Loan Tenure: {} years", box(testCase.getTenure()));
 
-            JavaScriptUtil.setInputValue(driver, loanFeesInput, testCase.getFees());
-            logger.debug("Loan Fees (%): {}", testCase.getFees());
+            JavaScriptUtil.setInputValue(driver, loanFeesInput, TestCase.toInput(testCase.getFees()));
+            logger.debug("Loan Fees (%): {}", box(testCase.getFees()));
 
-            JavaScriptUtil.setInputValue(driver, oneTimeExpensesInput, testCase.getOneTimeExpense());
-            logger.debug("One-Time Expenses: ₹{}", testCase.getOneTimeExpense());
+            JavaScriptUtil.setInputValue(driver, oneTimeExpensesInput, TestCase.toInput(testCase.getOneTimeExpense()));
+            logger.debug("One-Time Expenses: ₹{}", box(testCase.getOneTimeExpense()));
 
-            JavaScriptUtil.setInputValue(driver, propertyTaxesInput, testCase.getTax());
-            logger.debug("Property Taxes (%): {}", testCase.getTax());
+            JavaScriptUtil.setInputValue(driver, propertyTaxesInput, TestCase.toInput(testCase.getTax()));
+            logger.debug("Property Taxes (%): {}", box(testCase.getTax()));
 
-            JavaScriptUtil.setInputValue(driver, homeInsuranceInput, testCase.getInsurancePerYear());
-            logger.debug("Home Insurance (annual %): {}", testCase.getInsurancePerYear());
+            JavaScriptUtil.setInputValue(driver, homeInsuranceInput, TestCase.toInput(testCase.getInsurancePerYear()));
+            logger.debug("Home Insurance (annual %): {}", box(testCase.getInsurancePerYear()));
 
-            JavaScriptUtil.setInputValue(driver, maintenanceExpensesInput, testCase.getMaintenance());
-            logger.debug("Maintenance Expenses: ₹{}", testCase.getMaintenance());
+            JavaScriptUtil.setInputValue(driver, maintenanceExpensesInput, TestCase.toInput(testCase.getMaintenance()));
+            logger.debug("Maintenance Expenses: ₹{}", box(testCase.getMaintenance()));
 
             // Expand prepayment section — wait is required here to ensure DOM toggle
             WaitUtil.waitForClickability(driver, addPrepaymentsButton).click();
             logger.info("Clicked on 'Add Prepayments'");
 
-            JavaScriptUtil.setInputValue(driver, extraMonthlyInput, testCase.getMonthly());
-            logger.debug("Extra Monthly Payment: ₹{}", testCase.getMonthly());
+            JavaScriptUtil.setInputValue(driver, extraMonthlyInput, TestCase.toInput(testCase.getMonthly()));
+            logger.debug("Extra Monthly Payment: ₹{}", box(testCase.getMonthly()));
 
-            JavaScriptUtil.setInputValue(driver, extraYearlyInput, testCase.getYearly());
-            logger.debug("Extra Yearly Payment: ₹{}", testCase.getYearly());
+            JavaScriptUtil.setInputValue(driver, extraYearlyInput, TestCase.toInput(testCase.getYearly()));
+            logger.debug("Extra Yearly Payment: ₹{}", box(testCase.getYearly()));
 
-            JavaScriptUtil.setInputValue(driver, extraQuarterlyInput, testCase.getQuarterly());
-            logger.debug("Extra Quarterly Payment: ₹{}", testCase.getQuarterly());
+            JavaScriptUtil.setInputValue(driver, extraQuarterlyInput, TestCase.toInput(testCase.getQuarterly()));
+            logger.debug("Extra Quarterly Payment: ₹{}", box(testCase.getQuarterly()));
 
-            JavaScriptUtil.setInputValue(driver, extraOneTimeInput, testCase.getOneTimeOnly());
-            logger.debug("Extra One-Time Payment: ₹{}", testCase.getOneTimeOnly());
+            JavaScriptUtil.setInputValue(driver, extraOneTimeInput, TestCase.toInput(testCase.getOneTimeOnly()));
+            logger.debug("Extra One-Time Payment: ₹{}", box(testCase.getOneTimeOnly()));
 
         } catch (Exception e) {
             logger.error("Exception while filling Home Loan form", e);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Exception during form fill: " + e.getMessage());
+            ExtentReportUtil.log(Status.FAIL, "Exception during form fill: " + e.getMessage());
             Assert.fail("Form fill failed: " + e.getMessage());
         }
     }
@@ -190,6 +207,13 @@ public class HomeLoanPage {
      * and exports data to Excel.
      */
     public void calculateAndExtractHomeLoanEMI() {
+        try (TimingEvents.Span span = TimingEvents.page("HomeLoanPage.calculateAndExtractHomeLoanEMI")) {
+            doCalculateAndExtractHomeLoanEMI();
+            span.ok();
+        }
+    }
+
+    private void doCalculateAndExtractHomeLoanEMI() {
         logger.info("Navigating to Home Loan EMI Calculator");
         try {
             // Open calculator tab — needed for dynamic tab content injection
@@ -211,12 +235,12 @@ public class HomeLoanPage {
 
             logger.info("Validating monthly summary");
             validateMonthlySummary(
-                Double.parseDouble(testCase.getExpectedEmi()),
-                Double.parseDouble(testCase.getExpectedExtra()),
-                Double.parseDouble(testCase.getExpectedTax()),
-                Double.parseDouble(testCase.getExpectedInsurance()),
-                Double.parseDouble(testCase.getExpectedMaintenance()),
-                Double.parseDouble(testCase.getExpectedTotal())
+                testCase.getExpectedEmi(),
+                testCase.getExpectedExtra(),
+                testCase.getExpectedTax(),
+                testCase.getExpectedInsurance(),
+                testCase.getExpectedMaintenance(),
+                testCase.getExpectedTotal()
             );
 
             logger.info("Extracting yearly & monthly EMI schedule to Excel");
@@ -224,7 +248,7 @@ public class HomeLoanPage {
 
         } catch (Exception e) {
             logger.error("Exception during Home Loan EMI flow", e);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Failure during Home Loan EMI execution: " + e.getMessage());
+            ExtentReportUtil.log(Status.FAIL, "Failure during Home Loan EMI execution: " + e.getMessage());
             Assert.fail("Exception in Home Loan EMI flow: " + e.getMessage());
         }
     }
@@ -235,16 +259,13 @@ public class HomeLoanPage {
      * and writes them into a structured Excel sheet for reporting purposes.
      */
     private void extractSummaryToExcel() {
-        int row = 0;
         logger.info("Extracting EMI summary to sheet '{}'", LoanSheet);
 
         try {
-            // Clear the target sheet before writing fresh data
-            ExcelUtils.clearSheet(excelPath, LoanSheet);
-
-            // Add section header and spacing
-            ExcelUtils.setCellData(excelPath, LoanSheet, row++, 0, "Home loan details");
-            row++;
+            // Section header and spacing, then each label/value pair as one row
+            List<String[]> rows = new ArrayList<>();
+            rows.add(new String[] {"Home loan details"});
+            rows.add(new String[0]);
 
             // Prepare field names and corresponding values from the UI
             String[][] data = {
@@ -261,15 +282,14 @@ public class HomeLoanPage {
                 {"Taxes, Insurance & Maintenance", totalTaxesInsuranceMaintenance.getText()},
                 {"Total of All Payments", totalOfAllPayments.getText()}
             };
-
-            // Write each data row into Excel with logging
             for (String[] entry : data) {
-                ExcelUtils.setCellData(excelPath, LoanSheet, row++, 0, entry[0]); // Label
-                ExcelUtils.setCellData(excelPath, LoanSheet, row - 1, 1, entry[1]); // Value
+                rows.add(entry);
                 logger.debug("{}: {}", entry[0], entry[1]);
             }
 
-            logger.info("Summary data successfully written to Excel");
+            // Target and sheet are per scenario/browser when sharded; the file is written by the export queue
+            ExcelExportQueue.shared().submit(ExcelShards.targetPath(excelPath), ExcelShards.sheetFor(LoanSheet), rows);
+            logger.info("Summary data queued for Excel export");
 
         } catch (Exception e) {
             logger.error("Error while writing summary to Excel", e);
@@ -280,7 +300,8 @@ public class HomeLoanPage {
     /**
      * Validates the monthly summary values displayed on the Home Loan EMI Calculator.
      * It compares actual UI values against expected values from test data and logs results.
-     * Tolerates slight rounding variations (±₹1) due to calculation or rendering differences.
+     * Tolerates slight rounding variations using the configured homeLoan tolerance policies
+     * (by default: round to the nearest rupee, then allow ±₹1).
      *
      * @param expectedEMI           Expected monthly EMI
      * @param expectedExtra         Expected extra payment
@@ -298,51 +319,43 @@ public class HomeLoanPage {
         JavascriptExecutor js = (JavascriptExecutor) driver;
 
         // Extract and parse actual values from page (numbers sanitized)
-        double actualEMI = Double.parseDouble(principalAndInterest.getText().replaceAll("[^\\d.]", ""));
-        double actualExtra = Double.parseDouble(extraPayment.getText().replaceAll("[^\\d.]", ""));
-        double actualTax = Double.parseDouble(propertyTaxes.getText().replaceAll("[^\\d.]", ""));
-        double actualInsurance = Double.parseDouble(homeInsurance.getText().replaceAll("[^\\d.]", ""));
-        double actualMaintenance = Double.parseDouble(maintenanceExpenses.getText().replaceAll("[^\\d.]", ""));
-        double actualTotal = Double.parseDouble(totalMonthlyPayment.getText().replaceAll("[^\\d.]", ""));
-
-        // Round expected values to nearest rupee (optional: for easier numeric comparison)
-        expectedEMI = Math.round(expectedEMI);
-        expectedExtra = Math.round(expectedExtra);
-        expectedTax = Math.round(expectedTax);
-        expectedInsurance = Math.round(expectedInsurance);
-        expectedMaintenance = Math.round(expectedMaintenance);
-        expectedTotal = Math.round(expectedTotal);
+        double actualEMI = IndianNumberParser.parse(principalAndInterest.getText());
+        double actualExtra = IndianNumberParser.parse(extraPayment.getText());
+        double actualTax = IndianNumberParser.parse(propertyTaxes.getText());
+        double actualInsurance = IndianNumberParser.parse(homeInsurance.getText());
+        double actualMaintenance = IndianNumberParser.parse(maintenanceExpenses.getText());
+        double actualTotal = IndianNumberParser.parse(totalMonthlyPayment.getText());
 
         // Log comparison values for traceability
         logger.debug("Expected vs Actual breakdown:");
-        logger.debug("EMI - Expected: ₹{}, Actual: ₹{}", expectedEMI, actualEMI);
-        logger.debug("Extra - Expected: ₹{}, Actual: ₹{}", expectedExtra, actualExtra);
-        logger.debug("Tax - Expected: ₹{}, Actual: ₹{}", expectedTax, actualTax);
-        logger.debug("Insurance - Expected: ₹{}, Actual: ₹{}", expectedInsurance, actualInsurance);
-        logger.debug("Maintenance - Expected: ₹{}, Actual: ₹{}", expectedMaintenance, actualMaintenance);
-        logger.debug("Total Payment - Expected: ₹{}, Actual: ₹{}", expectedTotal, actualTotal);
-
-        // Perform fuzzy match within ±₹1 tolerance
-        boolean allMatch = Math.abs(expectedEMI - actualEMI) <= 1 &&
-                           Math.abs(expectedExtra - actualExtra) <= 1 &&
-                           Math.abs(expectedTax - actualTax) <= 1 &&
-                           Math.abs(expectedInsurance - actualInsurance) <= 1 &&
-                           Math.abs(expectedMaintenance - actualMaintenance) <= 1 &&
-                           Math.abs(expectedTotal - actualTotal) <= 1;
+        logger.debug("EMI - Expected: ₹{}, Actual: ₹{}", box(expectedEMI), box(actualEMI));
+        logger.debug("Extra - Expected: ₹{}, Actual: ₹{}", box(expectedExtra), box(actualExtra));
+        logger.debug("Tax - Expected: ₹{}, Actual: ₹{}", box(expectedTax), box(actualTax));
+        logger.debug("Insurance - Expected: ₹{}, Actual: ₹{}", box(expectedInsurance), box(actualInsurance));
+        logger.debug("Maintenance - Expected: ₹{}, Actual: ₹{}", box(expectedMaintenance), box(actualMaintenance));
+        logger.debug("Total Payment - Expected: ₹{}, Actual: ₹{}", box(expectedTotal), box(actualTotal));
+
+        // Perform fuzzy match using each field's tolerance policy
+        boolean allMatch = emiTolerance.matches(expectedEMI, actualEMI) &&
+                           extraTolerance.matches(expectedExtra, actualExtra) &&
+                           taxTolerance.matches(expectedTax, actualTax) &&
+                           insuranceTolerance.matches(expectedInsurance, actualInsurance) &&
+                           maintenanceTolerance.matches(expectedMaintenance, actualMaintenance) &&
+                           totalTolerance.matches(expectedTotal, actualTotal);
 
         if (allMatch) {
             // If everything matches, log pass status
-            ExtentReportUtil.getTest().log(Status.PASS, "Monthly summary values validated successfully.");
+            ExtentReportUtil.log(Status.PASS, "Monthly summary values validated successfully.");
             logger.info("Monthly summary validation passed");
         } else {
             // Else log mismatches for each category
-            ExtentReportUtil.getTest().log(Status.FAIL, "Monthly summary mismatch.");
-            ExtentReportUtil.getTest().log(Status.FAIL, "Expected EMI: ₹" + expectedEMI + ", Actual: ₹" + actualEMI);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Expected Extra: ₹" + expectedExtra + ", Actual: ₹" + actualExtra);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Expected Tax: ₹" + expectedTax + ", Actual: ₹" + actualTax);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Expected Insurance: ₹" + expectedInsurance + ", Actual: ₹" + actualInsurance);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Expected Maintenance: ₹" + expectedMaintenance + ", Actual: ₹" + actualMaintenance);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Expected Total: ₹" + expectedTotal + ", Actual: ₹" + actualTotal);
+            ExtentReportUtil.log(Status.FAIL, "Monthly summary mismatch.");
+            ExtentReportUtil.log(Status.FAIL, "Expected EMI: ₹" + expectedEMI + ", Actual: ₹" + actualEMI);
+            ExtentReportUtil.log(Status.FAIL, "Expected Extra: ₹" + expectedExtra + ", Actual: ₹" + actualExtra);
+            ExtentReportUtil.log(Status.FAIL, "Expected Tax: ₹" + expectedTax + ", Actual: ₹" + actualTax);
+            ExtentReportUtil.log(Status.FAIL, "Expected Insurance: ₹" + expectedInsurance + ", Actual: ₹" + actualInsurance);
+            ExtentReportUtil.log(Status.FAIL, "Expected Maintenance: ₹" + expectedMaintenance + ", Actual: ₹" + actualMaintenance);
+            ExtentReportUtil.log(Status.FAIL, "Expected Total: ₹" + expectedTotal + ", Actual: ₹" + actualTotal);
 
             logger.error("Monthly summary mismatch detected");
 
@@ -354,40 +367,48 @@ public class HomeLoanPage {
     }
     
 
+    // Trimmed text of each table cell, in column order
+    private static String[] cellTexts(List<WebElement> cols) {
+        String[] texts = new String[cols.size()];
+        for (int col = 0; col < texts.length; col++) {
+            texts[col] = cols.get(col).getText().trim();
+        }
+        return texts;
+    }
+
+    // Parsing problems are logged only: the Excel export above already has the raw table
+    private static void exportSchedule(List<String[]> tableRows, String name) {
+        if (!ScheduleFiles.isExportEnabled()) {
+            return;
+        }
+        try {
+            ScheduleFiles.export(ScheduleTable.ofExtractedRows(tableRows), "homeLoan-" + name);
+        } catch (NumberFormatException e) {
+            logger.warn("Extracted schedule not exported, unparseable value: {}", e.getMessage());
+        }
+    }
+
     /**
      * Exports yearly and monthly EMI breakdown tables to Excel.
      * Dynamically expands year blocks and captures nested monthly data.
      */
     private void extractYearlyAndMonthlyTableToExcel() {
-        int excelRow = 0;
-
         logger.info("Starting extraction of yearly & monthly EMI data to Excel");
         try {
-            ExcelUtils.clearSheet(excelPath, YearlyDataSheet);
-            logger.debug("Cleared sheet: {}", YearlyDataSheet);
-
-            ExcelUtils.setCellData(excelPath, YearlyDataSheet, excelRow++, 0, "Home Loan Payment Schedule (Yearly + Monthly)");
-            excelRow++;
-
             String[] headers = {
                 "Year", "Principal (A)", "Interest (B)", "Taxes, Home Insurance & Maintenance (C)",
                 "Total Payment (A + B + C)", "Balance", "Loan Paid To Date"
             };
 
-            // Write table headers
-            for (int col = 0; col < headers.length; col++) {
-                ExcelUtils.setCellData(excelPath, YearlyDataSheet, excelRow, col, headers[col]);
-            }
-            excelRow++;
+            // Read the whole table from the page first, then hand it to the export queue in one batch
+            List<String[]> tableRows = new ArrayList<>();
 
             // Iterate through yearly rows and nested monthly rows
             for (WebElement yearRow : yearlyRows) {
                 List<WebElement> yearCols = yearRow.findElements(By.tagName("td"));
-                for (int col = 0; col < yearCols.size(); col++) {
-                    ExcelUtils.setCellData(excelPath, YearlyDataSheet, excelRow, col, yearCols.get(col).getText().trim());
-                }
-                excelRow++;
-                logger.debug("Yearly row added: {}", yearCols.get(0).getText().trim());
+                String[] yearCells = cellTexts(yearCols);
+                tableRows.add(yearCells);
+                logger.debug("Yearly row added: {}", yearCells[0]);
 
                 // Expand monthly details (simulate dropdown click)
                 String yearId = yearCols.get(0).getAttribute("id");
@@ -399,21 +420,29 @@ public class HomeLoanPage {
                 List<WebElement> monthlyRows = monthlyContainer.findElements(By.xpath(".//table/tbody/tr"));
 
                 for (WebElement monthRow : monthlyRows) {
-                    List<WebElement> monthCols = monthRow.findElements(By.tagName("td"));
-                    for (int col = 0; col < monthCols.size(); col++) {
-                        ExcelUtils.setCellData(excelPath, YearlyDataSheet, excelRow, col, monthCols.get(col).getText().trim());
-                    }
-                    excelRow++;
+                    tableRows.add(cellTexts(monthRow.findElements(By.tagName("td"))));
                 }
 
                 logger.debug("Monthly rows for year '{}' exported", yearId);
             }
 
-            logger.info("Yearly and monthly EMI data saved to: {}", excelPath);
+            // Title, blank spacer row, headers, then the table — written and saved in one pass by the export queue
+            List<String[]> rows = new ArrayList<>(tableRows.size() + 3);
+            rows.add(new String[] {"Home Loan Payment Schedule (Yearly + Monthly)"});
+            rows.add(new String[0]);
+            rows.add(headers);
+            rows.addAll(tableRows);
+            String sheet = ExcelShards.sheetFor(YearlyDataSheet); // Per scenario/browser when sharded
+            ExcelExportQueue.shared().submit(ExcelShards.targetPath(excelPath), sheet, rows);
+
+            // Same schedule as CSV / columnar binary for analytics, when configured
+            exportSchedule(tableRows, sheet);
+
+            logger.info("Yearly and monthly EMI data queued for export to: {}", excelPath);
 
         } catch (Exception e) {
             logger.error("Exception during EMI table extraction", e);
-            ExtentReportUtil.getTest().log(Status.FAIL, "Failed to extract EMI table: " + e.getMessage());
+            ExtentReportUtil.log(Status.FAIL, "Failed to extract EMI table: " + e.getMessage());
             Assert.fail("EMI table export failed: " + e.getMessage());
         }
     }
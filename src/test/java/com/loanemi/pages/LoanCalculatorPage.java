@@ -8,14 +8,29 @@ import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
-import com.loanemi.entity.JsonData;
+import com.loanemi.entity.TestCase;
+import com.loanemi.golden.GoldenResults;
+import com.loanemi.oracle.AmortizationSchedule;
+import com.loanemi.oracle.EmiScheme;
+import com.loanemi.oracle.LoanOracle;
+import com.loanemi.oracle.LoanSummary;
+import com.loanemi.oracle.OracleCache;
+import com.loanemi.schedule.ScheduleFiles;
+import com.loanemi.schedule.ScheduleTable;
+import com.loanemi.timing.TimingEvents;
+import com.loanemi.tolerance.TolerancePolicies;
+import com.loanemi.tolerance.TolerancePolicy;
 import com.loanemi.utils.ConfigReader;
-import com.loanemi.utils.JsonUtil;
+import com.loanemi.utils.IndianNumberParser;
+import com.loanemi.utils.JavaScriptUtil;
 import com.loanemi.utils.WaitUtil;
+import com.loanemi.utils.TestDataRepository;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
 /**
  * Page Object Model for Loan Calculator tab.
  * Covers EMI, Loan Amount, Tenure, and Interest Rate calculators with slider and form field validations.
@@ -27,8 +42,17 @@ public class LoanCalculatorPage {
 
     // Load test data from JSON using property key
     private String testData = ConfigReader.getProperty("testCase3To10");
-    private String jsonFilePath = ConfigReader.getProperty("jsonFilePath");
-    JsonData testCase = JsonUtil.getTestCase(jsonFilePath, testData);
+    private final TestCase testCase = TestDataRepository.shared().get(testData);
+
+    // Comparison rules resolved once per page object (see tolerance.* in config.properties)
+    private final TolerancePolicy emiTolerance = TolerancePolicies.get("loanCalculator", "emi");
+    private final TolerancePolicy loanAmountTolerance = TolerancePolicies.get("loanCalculator", "loanAmount");
+    private final TolerancePolicy tenureTolerance = TolerancePolicies.get("loanCalculator", "tenure");
+    private final TolerancePolicy interestRateTolerance = TolerancePolicies.get("loanCalculator", "interestRate");
+    private final TolerancePolicy aprTolerance = TolerancePolicies.get("loanCalculator", "apr");
+    private final TolerancePolicy totalInterestTolerance = TolerancePolicies.get("loanCalculator", "totalInterest");
+    private final TolerancePolicy totalPaymentTolerance = TolerancePolicies.get("loanCalculator", "totalPayment");
+    private final TolerancePolicy sliderTolerance = TolerancePolicies.get("loanCalculator", "slider");
 
     /**
      * Constructor initializes PageFactory elements and logs instantiation
@@ -116,6 +140,10 @@ public class LoanCalculatorPage {
     @FindBy(xpath = "//input[@id='loanmonths']/parent::label")
     private WebElement tenureMonthsRadio;
 
+    // Years radio input itself, whose checked state gives the tenure unit
+    @FindBy(id = "loanyears")
+    private WebElement tenureYearsInput;
+
     // ========== EMI Scheme Toggle ==========
     // EMI payment in advance option
     @FindBy(xpath = "//input[@id='emiadvance']/parent::label")
@@ -160,6 +188,13 @@ public class LoanCalculatorPage {
      * Triggers tab display and prepares the page for validation interactions.
      */
     public void navigateToLoanCalculator() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.navigateToLoanCalculator")) {
+            doNavigateToLoanCalculator();
+            span.ok();
+        }
+    }
+
+    private void doNavigateToLoanCalculator() {
         logger.info("Navigating to Loan Calculator tab");
         WaitUtil.waitForClickability(driver, loanCalculatorMenu).click(); // Open calculator dropdown
         logger.debug("Clicked on Loan Calculator menu");
@@ -173,6 +208,13 @@ public class LoanCalculatorPage {
      * Also selects EMI scheme toggle and logs expected vs actual comparison.
      */
     public void validateEMICalculatorUI() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.validateEMICalculatorUI")) {
+            doValidateEMICalculatorUI();
+            span.ok();
+        }
+    }
+
+    private void doValidateEMICalculatorUI() {
         logger.info("Validating EMI Calculator UI");
         WaitUtil.waitForClickability(driver, emiCalculatorTab).click(); // Activate EMI tab
         logger.debug("Clicked on EMI Calculator tab");
@@ -187,10 +229,87 @@ public class LoanCalculatorPage {
         WaitUtil.waitForClickability(driver, emiArrearsRadio).click(); // Select 'EMI in Arrears'
         logger.debug("Selected 'EMI in Arrears' option");
 
-        logger.info("Validating loan summary for EMI Calculator, expected EMI: ₹{}", testCase.getExpectedEmi());
-        validateLoanSummary("EMI Calculator", Double.parseDouble(testCase.getExpectedEmi())); // Custom summary check
+        logger.info("Validating loan summary for EMI Calculator, expected EMI: ₹{}", box(testCase.getExpectedEmi()));
+        validateLoanSummary("EMI Calculator", testCase.getExpectedEmi()); // Custom summary check
+
+        if (logger.isDebugEnabled()) { // getText() is a browser round trip
+            logger.debug("Loan EMI fetched: {}", loanEmiSummary.getText());
+        }
+
+        validateCostSummary(EmiScheme.ARREARS); // APR, total interest and total payment against oracle
+    }
+
+    /**
+     * Validates APR, total interest and total payment shown in the loan summary
+     * against values computed by {@link LoanOracle} from the inputs currently on the page
+     * (amount, rate, tenure and fees are read back from their fields, since the EMI calculator
+     * is validated with whatever the page holds; the tenure is in years or months as toggled).
+     * Tolerances come from the loanCalculator apr/totalInterest/totalPayment policies.
+     *
+     * @param scheme EMI scheme currently selected on the page
+     */
+    private void validateCostSummary(EmiScheme scheme) {
+        try {
+            String[] inputs = JavaScriptUtil.getInputValues(driver, loanAmountInput, interestRateInput,
+                    loanTenureInput, loanFeesInput);
+            double amount = IndianNumberParser.parse(inputs[0]);
+            double rate = IndianNumberParser.parse(inputs[1]);
+            double tenure = IndianNumberParser.parse(inputs[2]);
+            int months = TestCase.toWhole(tenureYearsInput.isSelected() ? tenure * 12 : tenure, "tenure in months");
+            double fees = IndianNumberParser.parse(inputs[3]);
+            logger.debug("Inputs on page — Amount: ₹{}, Rate: {}%, Tenure: {} month(s), Fees: ₹{}",
+                    box(amount), box(rate), box(months), box(fees));
+
+            // Closed form: the totals need no month-by-month schedule
+            LoanSummary expected = LoanOracle.summarize(amount, rate, months, fees, scheme);
+            logger.debug("Oracle summary for {} scheme: {}", scheme, expected);
+
+            if (ScheduleFiles.isExportEnabled()) {
+                // Schedules are memoized across page objects, retries and browsers
+                AmortizationSchedule schedule = OracleCache.shared().schedule(amount, rate, months, scheme);
+                ScheduleFiles.export(ScheduleTable.ofOracle(schedule), "oracle-" + TestCase.toInput(amount) + "-"
+                        + TestCase.toInput(rate) + "-" + months + "-" + scheme);
+                logger.debug("Oracle schedule exported ({})", OracleCache.shared());
+            }
+
+            double actualApr = IndianNumberParser.parse(loanAprSummary.getText());
+            double actualInterest = IndianNumberParser.parse(totalInterestSummary.getText());
+            double actualPayment = IndianNumberParser.parse(totalPaymentSummary.getText());
+
+            logger.debug("APR - Expected: {}%, Actual: {}%", box(expected.getApr()), box(actualApr));
+            logger.debug("Total Interest - Expected: ₹{}, Actual: ₹{}", box(expected.getTotalInterest()),
+                    box(actualInterest));
+            logger.debug("Total Payment - Expected: ₹{}, Actual: ₹{}", box(expected.getTotalPayment()),
+                    box(actualPayment));
+
+            // Compare with what the site returned for these inputs in earlier runs
+            GoldenResults.check(driver, "loanCalculator-" + scheme.name(), new double[] { amount, rate, months, fees },
+                    new String[] { "apr", "totalInterest", "totalPayment" }, actualApr, actualInterest, actualPayment);
+
+            boolean allMatch = aprTolerance.matches(expected.getApr(), actualApr) &&
+                               totalInterestTolerance.matches(expected.getTotalInterest(), actualInterest) &&
+                               totalPaymentTolerance.matches(expected.getTotalPayment(), actualPayment);
+
+            if (allMatch) {
+                logger.info("Cost summary validated: APR {}%, Interest ₹{}, Total ₹{}",
+                        box(actualApr), box(actualInterest), box(actualPayment));
+            } else {
+                logger.warn("Cost summary mismatch: expected {}, actual APR {}%, Interest ₹{}, Total ₹{}",
+                            expected, box(actualApr), box(actualInterest), box(actualPayment));
+
+                ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'start'});", emiArrearsRadio);
+                Assert.fail("Loan cost summary validation failed. Expected APR " + expected.getApr()
+                        + "%, Interest ₹" + expected.getTotalInterest() + ", Total ₹" + expected.getTotalPayment()
+                        + " | Actual APR " + actualApr + "%, Interest ₹" + actualInterest + ", Total ₹" + actualPayment);
+            }
+
+        } catch (IllegalArgumentException e) {
+            // Unparsable fields, a fractional tenure in months, or fees the oracle cannot price
+            logger.error("Exception during cost summary validation: {}", e.getMessage());
 
-        logger.debug("Loan EMI fetched: {}", loanEmiSummary.getText());
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'start'});", emiArrearsRadio);
+            Assert.fail("Could not validate cost summary: " + e.getMessage());
+        }
     }
 
     /**
@@ -198,6 +317,13 @@ public class LoanCalculatorPage {
      * It checks field visibility and loan summary output against expectations.
      */
     public void validateLoanAmountCalculatorUI() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.validateLoanAmountCalculatorUI")) {
+            doValidateLoanAmountCalculatorUI();
+            span.ok();
+        }
+    }
+
+    private void doValidateLoanAmountCalculatorUI() {
         logger.info("Validating Loan Amount Calculator UI");
         WaitUtil.waitForClickability(driver, loanAmountCalculatorTab).click();
         logger.debug("Clicked on Loan Amount Calculator tab");
@@ -212,10 +338,12 @@ public class LoanCalculatorPage {
         WaitUtil.waitForClickability(driver, emiArrearsRadio).click();
         logger.debug("Selected 'EMI in Arrears' option");
 
-        logger.info("Validating loan summary for Loan Amount Calculator, expected amount: ₹{}", testCase.getExpectedAmount());
-        validateLoanSummary("Loan Amount Calculator", Double.parseDouble(testCase.getExpectedAmount()));
+        logger.info("Validating loan summary for Loan Amount Calculator, expected amount: ₹{}", box(testCase.getExpectedAmount()));
+        validateLoanSummary("Loan Amount Calculator", testCase.getExpectedAmount());
 
-        logger.debug("Principal Loan Amount fetched: {}", principalLoanAmountSummary.getText());
+        if (logger.isDebugEnabled()) { // getText() is a browser round trip
+            logger.debug("Principal Loan Amount fetched: {}", principalLoanAmountSummary.getText());
+        }
     }
 
     /**
@@ -223,6 +351,13 @@ public class LoanCalculatorPage {
      * Confirms summary values match expectations from test data.
      */
     public void validateLoanTenureCalculatorUI() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.validateLoanTenureCalculatorUI")) {
+            doValidateLoanTenureCalculatorUI();
+            span.ok();
+        }
+    }
+
+    private void doValidateLoanTenureCalculatorUI() {
         logger.info("Validating Loan Tenure Calculator UI");
         WaitUtil.waitForClickability(driver, loanTenureCalculatorTab).click();
         logger.debug("Clicked on Loan Tenure Calculator tab");
@@ -237,10 +372,12 @@ public class LoanCalculatorPage {
         WaitUtil.waitForClickability(driver, emiArrearsRadio).click();
         logger.debug("Selected 'EMI in Arrears' option");
 
-        logger.info("Validating loan summary for Loan Tenure Calculator, expected tenure: {} months", testCase.getExpectedTenure());
-        validateLoanSummary("Loan Tenure Calculator", Double.parseDouble(testCase.getExpectedTenure()));
+        logger.info("Validating loan summary for Loan Tenure Calculator, expected tenure: {} months", box(testCase.getExpectedTenure()));
+        validateLoanSummary("Loan Tenure Calculator", testCase.getExpectedTenure());
 
-        logger.debug("Loan Tenure fetched: {}", loanTenureSummary.getText());
+        if (logger.isDebugEnabled()) { // getText() is a browser round trip
+            logger.debug("Loan Tenure fetched: {}", loanTenureSummary.getText());
+        }
     }
 
     /**
@@ -248,6 +385,13 @@ public class LoanCalculatorPage {
      * Checks computed interest output against expected value from test data.
      */
     public void validateInterestRateCalculatorUI() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.validateInterestRateCalculatorUI")) {
+            doValidateInterestRateCalculatorUI();
+            span.ok();
+        }
+    }
+
+    private void doValidateInterestRateCalculatorUI() {
         logger.info("Validating Interest Rate Calculator UI");
         WaitUtil.waitForClickability(driver, interestRateCalculatorTab).click();
         logger.debug("Clicked on Interest Rate Calculator tab");
@@ -262,10 +406,12 @@ public class LoanCalculatorPage {
         WaitUtil.waitForClickability(driver, emiArrearsRadio).click();
         logger.debug("Selected 'EMI in Arrears' option");
 
-        logger.info("Validating loan summary for Interest Rate Calculator, expected rate: {}%", testCase.getExpectedRate());
-        validateLoanSummary("Interest Rate Calculator", Double.parseDouble(testCase.getExpectedRate()));
+        logger.info("Validating loan summary for Interest Rate Calculator, expected rate: {}%", box(testCase.getExpectedRate()));
+        validateLoanSummary("Interest Rate Calculator", testCase.getExpectedRate());
 
-        logger.debug("Loan Interest Rate fetched: {}", interestRateSummary.getText());
+        if (logger.isDebugEnabled()) { // getText() is a browser round trip
+            logger.debug("Loan Interest Rate fetched: {}", interestRateSummary.getText());
+        }
     }
 
 
@@ -274,6 +420,13 @@ public class LoanCalculatorPage {
      * Includes loan amount, interest rate, tenure, and fees.
      */
     public void emiFieldValidation() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.emiFieldValidation")) {
+            doEmiFieldValidation();
+            span.ok();
+        }
+    }
+
+    private void doEmiFieldValidation() {
         logger.info("Validating field and slider mappings for EMI Calculator");
         // WaitUtil.waitForClickability(driver, emiCalculatorTab).click();
         // Directly invokes UI validation without extra wait since tab is pre-clicked elsewhere
@@ -289,6 +442,13 @@ public class LoanCalculatorPage {
      * Activates tab, then validates interest, tenure, fees, and EMI input.
      */
     public void loanAmountFieldValidation() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.loanAmountFieldValidation")) {
+            doLoanAmountFieldValidation();
+            span.ok();
+        }
+    }
+
+    private void doLoanAmountFieldValidation() {
         logger.info("Validating field and slider mappings for Loan Amount Calculator");
 
         // Required only for activating the tab once before validating
@@ -307,6 +467,13 @@ public class LoanCalculatorPage {
      * Covers amount, interest, fees, and EMI components.
      */
     public void loanTenureFieldValidation() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.loanTenureFieldValidation")) {
+            doLoanTenureFieldValidation();
+            span.ok();
+        }
+    }
+
+    private void doLoanTenureFieldValidation() {
         logger.info("Validating field and slider mappings for Loan Tenure Calculator");
 
         // Tab activation is required before accessing input fields
@@ -325,6 +492,13 @@ public class LoanCalculatorPage {
      * Covers loan amount, tenure, fees, and EMI fields.
      */
     public void interestRateFieldValidation() {
+        try (TimingEvents.Span span = TimingEvents.page("LoanCalculatorPage.interestRateFieldValidation")) {
+            doInterestRateFieldValidation();
+            span.ok();
+        }
+    }
+
+    private void doInterestRateFieldValidation() {
         logger.info("Validating field and slider mappings for Interest Rate Calculator");
 
         // Needed to load dynamic content of Interest Rate tab
@@ -366,28 +540,28 @@ public class LoanCalculatorPage {
         try {
             // Input field population using JavaScript injection for clean, fast entry
             if (amountInput != null) {
-                js.executeScript("arguments[0].value='" + testCase.getAmount() + "';", amountInput);
-                logger.debug("Set Loan Amount input: ₹{}", testCase.getAmount());
+                js.executeScript("arguments[0].value='" + TestCase.toInput(testCase.getAmount()) + "';", amountInput);
+                logger.debug("Set Loan Amount input: ₹{}", box(testCase.getAmount()));
             }
 
             if (interestInput != null) {
-                js.executeScript("arguments[0].value='" + testCase.getRate() + "';", interestInput);
-                logger.debug("Set Interest Rate input: {}%", testCase.getRate());
+                js.executeScript("arguments[0].value='" + TestCase.toInput(testCase.getRate()) + "';", interestInput);
+                logger.debug("Set Interest Rate input: {}%", box(testCase.getRate()));
             }
 
             if (tenureInput != null) {
-                js.executeScript("arguments[0].value='" + testCase.getTenure() + "';", tenureInput);
-                logger.debug("Set Tenure input: {} year(s)", testCase.getTenure());
+                js.executeScript("arguments[0].value='" + TestCase.toInput(testCase.getTenure()) + "';", tenureInput);
+                logger.debug("Set Tenure input: {} year(s)", box(testCase.getTenure()));
             }
 
             if (feesInput != null) {
-                js.executeScript("arguments[0].value='" + testCase.getFees() + "';", feesInput);
-                logger.debug("Set Fees input: ₹{}", testCase.getFees());
+                js.executeScript("arguments[0].value='" + TestCase.toInput(testCase.getFees()) + "';", feesInput);
+                logger.debug("Set Fees input: ₹{}", box(testCase.getFees()));
             }
 
             if (emiInput != null && emiInput.isDisplayed()) {
-                js.executeScript("arguments[0].value='" + testCase.getEmi() + "';", emiInput);
-                logger.debug("Set EMI input: ₹{}", testCase.getEmi());
+                js.executeScript("arguments[0].value='" + TestCase.toInput(testCase.getEmi()) + "';", emiInput);
+                logger.debug("Set EMI input: ₹{}", box(testCase.getEmi()));
             }
 
         } catch (Exception e) {
@@ -399,27 +573,27 @@ public class LoanCalculatorPage {
         // Slider validations for mapped inputs
         if (amountSlider != null) {
             logger.debug("Validating Amount slider position");
-            validateSliderPosition(amountInput, amountSlider, Double.parseDouble(testCase.getMaxAmount()), testCase.getAmountName());
+            validateSliderPosition(amountInput, amountSlider, testCase.getMaxAmount(), testCase.getAmountName());
         }
 
         if (interestSlider != null) {
             logger.debug("Validating Interest slider position");
-            validateSliderPosition(interestInput, interestSlider, Double.parseDouble(testCase.getMaxRate()), testCase.getRateName());
+            validateSliderPosition(interestInput, interestSlider, testCase.getMaxRate(), testCase.getRateName());
         }
 
         if (tenureSlider != null) {
             logger.debug("Validating Tenure slider position");
-            validateSliderPosition(tenureInput, tenureSlider, Double.parseDouble(testCase.getMaxTenure()), testCase.getTenureName());
+            validateSliderPosition(tenureInput, tenureSlider, testCase.getMaxTenure(), testCase.getTenureName());
         }
 
         if (feesSlider != null) {
             logger.debug("Validating Fees slider position");
-            validateSliderPosition(feesInput, feesSlider, Double.parseDouble(testCase.getMaxFees()), testCase.getFeesName());
+            validateSliderPosition(feesInput, feesSlider, testCase.getMaxFees(), testCase.getFeesName());
         }
 
         if (emiSlider != null) {
             logger.debug("Validating EMI slider position");
-            validateSliderPosition(emiInput, emiSlider, Double.parseDouble(testCase.getMaxEmi()), testCase.getEmiName());
+            validateSliderPosition(emiInput, emiSlider, testCase.getMaxEmi(), testCase.getEmiName());
         }
 
         // Tenure radio button toggle validation (if applicable)
@@ -464,7 +638,8 @@ public class LoanCalculatorPage {
      * Validates whether a slider's handle aligns with the expected percentage position
      * based on the entered input value relative to the slider’s maximum supported value.
      *
-     * If the deviation exceeds a defined threshold (10%), it fails the assertion.
+     * Deviations beyond the slider tolerance are logged as warnings; deviations reaching
+     * the policy's fail threshold (10% by default) fail the assertion.
      *
      * @param inputField Field whose value drives slider position
      * @param slider The corresponding slider WebElement
@@ -479,9 +654,8 @@ public class LoanCalculatorPage {
             // Scroll the slider into view to ensure visibility during test run
             js.executeScript("arguments[0].scrollIntoView(true);", slider);
 
-            // Extract numeric value from input field, remove any formatting
-            String rawValue = inputField.getAttribute("value").replaceAll("[^0-9.]", "").replace(",", "");
-            double enteredValue = Double.parseDouble(rawValue);
+            // Extract numeric value from input field, accepting Indian digit grouping
+            double enteredValue = IndianNumberParser.parse(inputField.getAttribute("value"));
 
             // Calculate expected slider position percentage based on value
             double expectedPercent = (enteredValue / maxValue) * 100;
@@ -493,16 +667,16 @@ public class LoanCalculatorPage {
 
             // Log expected and actual slider percentages
             logger.debug("{} slider → Entered: {}, Max: {}, Expected Position: ~{}%, Actual Position: {}%",
-                         fieldName, enteredValue, maxValue, expectedPercent, actualPercent);
+                         fieldName, box(enteredValue), box(maxValue), box(expectedPercent), box(actualPercent));
 
             // Acceptable tolerance for minor differences due to rendering
-            double tolerance = 1.0;
+            TolerancePolicy.Outcome outcome = sliderTolerance.evaluate(expectedPercent, actualPercent);
 
-            if (Math.abs(expectedPercent - actualPercent) <= tolerance) {
-                logger.info("{} slider positioned correctly at ~{}%", fieldName, actualPercent);
+            if (outcome == TolerancePolicy.Outcome.PASS) {
+                logger.info("{} slider positioned correctly at ~{}%", fieldName, box(actualPercent));
             } else {
-                logger.warn("{} slider mismatch: expected ~{}% but found {}%", fieldName, expectedPercent, actualPercent);
-                if (Math.abs(expectedPercent - actualPercent) >= 10) {
+                logger.warn("{} slider mismatch: expected ~{}% but found {}%", fieldName, box(expectedPercent), box(actualPercent));
+                if (outcome == TolerancePolicy.Outcome.FAIL) {
                     logger.error("{} slider exceeds tolerance. Triggering failure.", fieldName);
                     Assert.fail(fieldName + " slider mismatch: expected ~" + expectedPercent + "% but found " + actualPercent + "%");
                 }
@@ -532,25 +706,29 @@ public class LoanCalculatorPage {
 
             double actualValue = 0;
             String label = calculatorType;
+            TolerancePolicy tolerance = emiTolerance;
 
-            // Retrieve actual value based on calculator type
+            // Retrieve actual value and its tolerance based on calculator type
             if (calculatorType.contains("EMI")) {
-                actualValue = Double.parseDouble(loanEmiSummary.getText().replaceAll("[^\\d.]", ""));
+                actualValue = IndianNumberParser.parse(loanEmiSummary.getText());
             } else if (calculatorType.contains("Loan Amount")) {
-                actualValue = Double.parseDouble(principalLoanAmountSummary.getText().replaceAll("[^\\d.]", ""));
+                actualValue = IndianNumberParser.parse(principalLoanAmountSummary.getText());
+                tolerance = loanAmountTolerance;
             } else if (calculatorType.contains("Loan Tenure")) {
-                actualValue = Double.parseDouble(loanTenureSummary.getText().replaceAll("[^\\d.]", ""));
+                actualValue = IndianNumberParser.parse(loanTenureSummary.getText());
+                tolerance = tenureTolerance;
             } else if (calculatorType.contains("Interest Rate")) {
-                actualValue = Double.parseDouble(interestRateSummary.getText().replaceAll("[^\\d.]", ""));
+                actualValue = IndianNumberParser.parse(interestRateSummary.getText());
+                tolerance = interestRateTolerance;
             }
 
-            logger.debug("Expected {} value: {}, Actual value: {}", label, expectedValue, actualValue);
+            logger.debug("Expected {} value: {}, Actual value: {}", label, box(expectedValue), box(actualValue));
 
-            // Validate within ±1 tolerance to accommodate minor rounding differences
-            if (Math.abs(expectedValue - actualValue) <= 1) {
-                logger.info("{} validated successfully: Expected ≈ {}, Actual = {}", label, expectedValue, actualValue);
+            // Validate within the configured tolerance to accommodate minor rounding differences
+            if (tolerance.matches(expectedValue, actualValue)) {
+                logger.info("{} validated successfully: Expected ≈ {}, Actual = {}", label, box(expectedValue), box(actualValue));
             } else {
-                logger.warn("{} mismatch: Expected = {}, Actual = {}", label, expectedValue, actualValue);
+                logger.warn("{} mismatch: Expected = {}, Actual = {}", label, box(expectedValue), box(actualValue));
 
                 // Scroll error context into view and trigger failure
                 ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'start'});", emiArrearsRadio);
@@ -19,6 +19,13 @@ public class RetryAnalyzer implements IRetryAnalyzer {
     // Maximum number of retry attempts allowed
     private final int maxRetryCount = 3;
 
+    /**
+     * Number of retries already granted (0 during the first attempt).
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
     /**
      * Invoked by TestNG when a test fails.
      * If retryCount < maxRetryCount, it logs the retry and returns true to trigger another execution.
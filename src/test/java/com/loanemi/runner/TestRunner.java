@@ -8,7 +8,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.loanemi.hooks.CucumberHooks;
-import com.loanemi.utils.AllureReportOpener;
+import com.loanemi.utils.ExtentReportUtil;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
@@ -33,7 +33,8 @@ import io.cucumber.testng.CucumberOptions;
         "pretty",
         "html:target/cucumber-reports/html-report.html",
         "json:target/cucumber-reports/report.json",
-        "junit:target/cucumber-reports/report.xml"
+        "junit:target/cucumber-reports/report.xml",
+        "com.loanemi.timing.CucumberTimingPlugin"
     },
 
     // Cleans up output and removes ANSI coloring
@@ -58,12 +59,11 @@ public class TestRunner extends AbstractTestNGCucumberTests {
     
     /**
      * Executes once after the entire Cucumber suite finishes.
-     * Triggers Allure report generation and opens it automatically.
+     * Writes the ExtentReport; the Allure report is generated by AllureReportListener.
      */
     @AfterSuite
     public void afterSuite() {
-        logger.info("Cucumber Test Suite completed. Preparing to launch Allure report...");
-        AllureReportOpener.openAllureReport();
-        logger.info("Allure report launcher invoked.");
+        ExtentReportUtil.flushReport(); // Final write of the suite-wide report
+        logger.info("Cucumber Test Suite completed.");
     }
 }
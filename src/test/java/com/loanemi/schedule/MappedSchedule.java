@@ -0,0 +1,164 @@
+package com.loanemi.schedule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.loanemi.schedule.ScheduleTable.ColumnType;
+
+/**
+ * Read-only, zero-copy view of a columnar schedule file written by
+ * {@link ScheduleFiles#writeColumnar}.
+ *
+ * The file is memory-mapped and only its small header is parsed; column values are read
+ * straight from the mapping through {@link IntBuffer}/{@link DoubleBuffer} views, so opening
+ * a past run costs the same whatever its size and pages are loaded only when touched.
+ * The mapping stays valid after the file channel is closed and is released by the GC.
+ * Instances are immutable; the buffers returned by the column accessors are independent
+ * views and may be used from any thread.
+ */
+public final class MappedSchedule {
+
+    private final Path file;
+    private final MappedByteBuffer mapping;
+    private final int rows;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final int[] offsets;
+
+    private MappedSchedule(Path file, MappedByteBuffer mapping, int rows, String[] names,
+                           ColumnType[] types, int[] offsets) {
+        this.file = file;
+        this.mapping = mapping;
+        this.rows = rows;
+        this.names = names;
+        this.types = types;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Maps a columnar schedule file.
+     *
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if it is not a columnar schedule file
+     */
+    public static MappedSchedule open(Path file) {
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapping.order(ByteOrder.LITTLE_ENDIAN); // Set once; only absolute reads and views after this
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map schedule file " + file, e);
+        }
+        ByteBuffer header = mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        if (header.remaining() < ScheduleFiles.FIXED_HEADER_BYTES || header.getInt() != ScheduleFiles.MAGIC) {
+            throw new IllegalArgumentException("Not a columnar schedule file: " + file);
+        }
+        int version = header.getShort();
+        if (version != ScheduleFiles.VERSION) {
+            throw new IllegalArgumentException("Unsupported schedule file version " + version + ": " + file);
+        }
+        int columns = header.getShort();
+        int rows = header.getInt();
+
+        String[] names = new String[columns];
+        ColumnType[] types = new ColumnType[columns];
+        for (int c = 0; c < columns; c++) {
+            types[c] = ColumnType.of((char) header.get());
+            byte[] name = new byte[header.getShort()];
+            header.get(name);
+            names[c] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        int[] offsets = new int[columns];
+        int offset = ScheduleFiles.align(header.position());
+        for (int c = 0; c < columns; c++) {
+            offsets[c] = offset;
+            offset = ScheduleFiles.align(offset + rows * types[c].width());
+        }
+        if (offset > mapping.capacity()) {
+            throw new IllegalArgumentException("Truncated schedule file (" + mapping.capacity()
+                    + " bytes, expected " + offset + "): " + file);
+        }
+        return new MappedSchedule(file, mapping, rows, names, types, offsets);
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    public String columnName(int column) {
+        return names[column];
+    }
+
+    public ColumnType columnType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Index of the named column, or -1.
+     */
+    public int columnIndex(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * View of an INT32 column, positioned at row 0.
+     */
+    public IntBuffer intColumn(int column) {
+        return slice(column, ColumnType.INT32).asIntBuffer();
+    }
+
+    /**
+     * View of a FLOAT64 column, positioned at row 0.
+     */
+    public DoubleBuffer doubleColumn(int column) {
+        return slice(column, ColumnType.FLOAT64).asDoubleBuffer();
+    }
+
+    /**
+     * Value of any column as a double (INT32 values are widened), read directly from the mapping.
+     */
+    public double getDouble(int column, int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside schedule of " + rows + " rows");
+        }
+        int position = offsets[column] + row * types[column].width();
+        return types[column] == ColumnType.INT32
+                ? mapping.getInt(position)
+                : mapping.getDouble(position);
+    }
+
+    private ByteBuffer slice(int column, ColumnType expected) {
+        if (types[column] != expected) {
+            throw new IllegalArgumentException("Column '" + names[column] + "' is " + types[column]);
+        }
+        ByteBuffer view = mapping.duplicate();
+        view.position(offsets[column]).limit(offsets[column] + rows * expected.width());
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedSchedule{file=" + file + ", rows=" + rows + ", columns=" + Arrays.toString(names) + "}";
+    }
+}
@@ -0,0 +1,224 @@
+package com.loanemi.schedule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.loanemi.schedule.ScheduleTable.ColumnType;
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * Writes {@link ScheduleTable}s as CSV or as a compact columnar binary file, and exports
+ * extracted and oracle schedules in the formats configured for the run.
+ *
+ * Columnar layout (little-endian), read back by {@link MappedSchedule}:
+ * <pre>
+ * int    magic "LSCH"      short version    short column count    int row count
+ * per column:  byte type ('I' int32 | 'D' float64)   short name length   UTF-8 name
+ * padding to 8 bytes, then each column's values back to back, each block padded to 8 bytes
+ * </pre>
+ * Both writers go through a temporary sibling that is moved into place, like Excel commits,
+ * so a reader never sees a half-written file.
+ *
+ * Config keys: scheduleExportFormats (comma-separated CSV, COLUMNAR; empty disables the
+ * export), scheduleExportDir.
+ */
+public final class ScheduleFiles {
+
+    private static final Logger logger = LogManager.getLogger("ScheduleLogger");
+
+    static final int MAGIC = 0x4C534348; // "LSCH"
+    static final int VERSION = 1;
+    static final int FIXED_HEADER_BYTES = 12;
+
+    public static final String CSV_EXTENSION = ".csv";
+    public static final String COLUMNAR_EXTENSION = ".lsch";
+
+    /**
+     * Formats schedules can be exported in.
+     */
+    public enum Format { CSV, COLUMNAR }
+
+    private static final Set<Format> formats = parseFormats(ConfigReader.getProperty("scheduleExportFormats", ""));
+    private static final String exportDir = ConfigReader.getProperty("scheduleExportDir", "target/schedules");
+
+    private ScheduleFiles() {
+    }
+
+    private static Set<Format> parseFormats(String value) {
+        Set<Format> parsed = EnumSet.noneOf(Format.class);
+        for (String format : value.split(",")) {
+            if (!format.isBlank()) {
+                parsed.add(Format.valueOf(format.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * True if at least one export format is configured.
+     */
+    public static boolean isExportEnabled() {
+        return !formats.isEmpty();
+    }
+
+    /**
+     * Writes the table in every configured format to scheduleExportDir, as
+     * {@code <baseName>.csv} and/or {@code <baseName>.lsch}. Failures are logged, not thrown:
+     * exports must not fail the test that produced them.
+     *
+     * @param baseName File name without extension (unsafe characters are replaced)
+     */
+    public static void export(ScheduleTable table, String baseName) {
+        if (formats.isEmpty()) {
+            return;
+        }
+        String safeName = baseName.replaceAll("[^A-Za-z0-9._-]", "_");
+        long start = System.nanoTime();
+        try {
+            Path dir = Paths.get(exportDir);
+            Files.createDirectories(dir);
+            if (formats.contains(Format.CSV)) {
+                writeCsv(table, dir.resolve(safeName + CSV_EXTENSION));
+            }
+            if (formats.contains(Format.COLUMNAR)) {
+                writeColumnar(table, dir.resolve(safeName + COLUMNAR_EXTENSION));
+            }
+            logger.info("Schedule '{}' exported as {} ({} rows) in {} µs",
+                    safeName, formats, table.rowCount(), (System.nanoTime() - start) / 1_000);
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Could not export schedule '{}' to {}", safeName, exportDir, e);
+        }
+    }
+
+    /**
+     * Writes the table as CSV with a header row. Doubles are written in their shortest exact
+     * form, so parsing the file gives back the same values.
+     */
+    public static void writeCsv(ScheduleTable table, Path file) throws IOException {
+        Path temp = tempSibling(file);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16)) {
+            int columns = table.columnCount();
+            for (int c = 0; c < columns; c++) {
+                if (c > 0) {
+                    out.write(',');
+                }
+                out.write(table.columnName(c));
+            }
+            out.write('\n');
+
+            for (int r = 0; r < table.rowCount(); r++) {
+                for (int c = 0; c < columns; c++) {
+                    if (c > 0) {
+                        out.write(',');
+                    }
+                    if (table.columnType(c) == ColumnType.INT32) {
+                        out.write(Integer.toString(table.getInt(c, r)));
+                    } else {
+                        out.write(formatDouble(table.getDouble(c, r)));
+                    }
+                }
+                out.write('\n');
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        moveIntoPlace(temp, file);
+    }
+
+    /**
+     * Writes the table in the columnar binary format with a single gathering channel write:
+     * each column is copied once from its primitive array into a buffer, with no per-value
+     * formatting.
+     */
+    public static void writeColumnar(ScheduleTable table, Path file) throws IOException {
+        int columns = table.columnCount();
+        int rows = table.rowCount();
+
+        byte[][] names = new byte[columns][];
+        int headerBytes = FIXED_HEADER_BYTES;
+        for (int c = 0; c < columns; c++) {
+            names[c] = table.columnName(c).getBytes(StandardCharsets.UTF_8);
+            headerBytes += 1 + 2 + names[c].length;
+        }
+
+        ByteBuffer[] buffers = new ByteBuffer[columns + 1];
+        long total = 0;
+        ByteBuffer header = ByteBuffer.allocate(align(headerBytes)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort((short) VERSION).putShort((short) columns).putInt(rows);
+        for (int c = 0; c < columns; c++) {
+            header.put((byte) table.columnType(c).code()).putShort((short) names[c].length).put(names[c]);
+        }
+        header.position(0); // Padding is already zero
+        buffers[0] = header;
+        total += header.capacity();
+
+        for (int c = 0; c < columns; c++) {
+            ColumnType type = table.columnType(c);
+            ByteBuffer block = ByteBuffer.allocate(align(rows * type.width())).order(ByteOrder.LITTLE_ENDIAN);
+            if (type == ColumnType.INT32) {
+                block.asIntBuffer().put(table.intColumn(c), 0, rows);
+            } else {
+                block.asDoubleBuffer().put(table.doubleColumn(c), 0, rows);
+            }
+            buffers[c + 1] = block;
+            total += block.capacity();
+        }
+
+        Path temp = tempSibling(file);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            for (long written = 0; written < total; ) {
+                written += channel.write(buffers);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        moveIntoPlace(temp, file);
+    }
+
+    // Offset rounded up to the next multiple of 8, so every column starts aligned for its type
+    static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+
+    private static String formatDouble(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static Path tempSibling(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        return Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    }
+
+    private static void moveIntoPlace(Path temp, Path file) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.loanemi.schedule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.loanemi.oracle.AmortizationSchedule;
+import com.loanemi.utils.IndianNumberParser;
+
+/**
+ * Immutable schedule held column by column, each column a primitive array of fixed width
+ * (int32 or float64). This is the in-memory side of the CSV and columnar formats written by
+ * {@link ScheduleFiles}; {@link MappedSchedule} is the matching on-disk reader.
+ *
+ * Build one from an oracle schedule with {@link #ofOracle} or from the yearly/monthly table
+ * scraped from the Home Loan page with {@link #ofExtractedRows}.
+ */
+public final class ScheduleTable {
+
+    /**
+     * Fixed-width column types. The code is stored in the columnar file header.
+     */
+    public enum ColumnType {
+        INT32(4, 'I'),
+        FLOAT64(8, 'D');
+
+        private final int width;
+        private final char code;
+
+        ColumnType(int width, char code) {
+            this.width = width;
+            this.code = code;
+        }
+
+        /** Bytes per value. */
+        public int width() {
+            return width;
+        }
+
+        char code() {
+            return code;
+        }
+
+        static ColumnType of(char code) {
+            for (ColumnType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column type code: " + code);
+        }
+    }
+
+    // Column layout of the Home Loan page's yearly/monthly table (after the period label)
+    private static final String[] EXTRACTED_VALUE_COLUMNS = {
+        "principal", "interest", "taxesInsuranceMaintenance", "totalPayment", "balance", "loanPaidToDatePercent"
+    };
+
+    private static final String[] MONTHS = {
+        "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"
+    };
+
+    private final int rows;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final Object[] columns; // int[] or double[], one per column
+
+    private ScheduleTable(int rows, String[] names, ColumnType[] types, Object[] columns) {
+        this.rows = rows;
+        this.names = names;
+        this.types = types;
+        this.columns = columns;
+    }
+
+    /**
+     * Oracle schedule as columns: month (1-based), principal, interest and balance.
+     */
+    public static ScheduleTable ofOracle(AmortizationSchedule schedule) {
+        int months = schedule.getMonths();
+        int[] month = new int[months];
+        double[] principal = new double[months];
+        double[] interest = new double[months];
+        double[] balance = new double[months];
+        for (int m = 0; m < months; m++) {
+            month[m] = m + 1;
+            principal[m] = schedule.principalPart(m);
+            interest[m] = schedule.interestPart(m);
+            balance[m] = schedule.balance(m);
+        }
+        return new ScheduleTable(months,
+                new String[] { "month", "principal", "interest", "balance" },
+                new ColumnType[] { ColumnType.INT32, ColumnType.FLOAT64, ColumnType.FLOAT64, ColumnType.FLOAT64 },
+                new Object[] { month, principal, interest, balance });
+    }
+
+    /**
+     * Parses the yearly/monthly rows scraped from the Home Loan page. Each row starts with a
+     * period label, either a year ("2025") or a month of the preceding year ("Jan"), followed
+     * by the amounts. Year rows get month 0.
+     *
+     * @param tableRows Cell texts, one array per table row
+     * @throws NumberFormatException if a label or amount cannot be parsed
+     */
+    public static ScheduleTable ofExtractedRows(List<String[]> tableRows) {
+        int n = tableRows.size();
+        int[] year = new int[n];
+        int[] month = new int[n];
+        double[][] values = new double[EXTRACTED_VALUE_COLUMNS.length][n];
+
+        int currentYear = 0;
+        for (int r = 0; r < n; r++) {
+            String[] cells = tableRows.get(r);
+            if (cells.length < EXTRACTED_VALUE_COLUMNS.length + 1) {
+                throw new NumberFormatException("Schedule row " + r + " has " + cells.length + " cell(s): "
+                        + Arrays.toString(cells));
+            }
+            String label = cells[0].trim();
+            int monthIndex = monthOf(label);
+            if (monthIndex == 0) {
+                currentYear = (int) IndianNumberParser.parse(label);
+            }
+            year[r] = currentYear;
+            month[r] = monthIndex;
+            for (int c = 0; c < EXTRACTED_VALUE_COLUMNS.length; c++) {
+                values[c][r] = IndianNumberParser.parse(cells[c + 1]);
+            }
+        }
+
+        String[] names = new String[EXTRACTED_VALUE_COLUMNS.length + 2];
+        ColumnType[] types = new ColumnType[names.length];
+        Object[] columns = new Object[names.length];
+        names[0] = "year";
+        names[1] = "month";
+        types[0] = ColumnType.INT32;
+        types[1] = ColumnType.INT32;
+        columns[0] = year;
+        columns[1] = month;
+        for (int c = 0; c < EXTRACTED_VALUE_COLUMNS.length; c++) {
+            names[c + 2] = EXTRACTED_VALUE_COLUMNS[c];
+            types[c + 2] = ColumnType.FLOAT64;
+            columns[c + 2] = values[c];
+        }
+        return new ScheduleTable(n, names, types, columns);
+    }
+
+    // 1-12 for a month label ("Jan", "January"), 0 otherwise
+    private static int monthOf(String label) {
+        if (label.length() < 3 || !Character.isLetter(label.charAt(0))) {
+            return 0;
+        }
+        String prefix = label.substring(0, 3).toLowerCase(Locale.ROOT);
+        for (int m = 0; m < MONTHS.length; m++) {
+            if (MONTHS[m].equals(prefix)) {
+                return m + 1;
+            }
+        }
+        throw new NumberFormatException("Unknown schedule period label: " + label);
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    public String columnName(int column) {
+        return names[column];
+    }
+
+    public ColumnType columnType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Index of the named column, or -1.
+     */
+    public int columnIndex(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Value of an INT32 column.
+     */
+    public int getInt(int column, int row) {
+        if (types[column] != ColumnType.INT32) {
+            throw new IllegalArgumentException("Column '" + names[column] + "' is " + types[column]);
+        }
+        return ((int[]) columns[column])[row];
+    }
+
+    /**
+     * Value of any column as a double (INT32 values are widened).
+     */
+    public double getDouble(int column, int row) {
+        return types[column] == ColumnType.INT32
+                ? ((int[]) columns[column])[row]
+                : ((double[]) columns[column])[row];
+    }
+
+    // Backing arrays for the writers; not copied
+    int[] intColumn(int column) {
+        return (int[]) columns[column];
+    }
+
+    double[] doubleColumn(int column) {
+        return (double[]) columns[column];
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleTable{rows=" + rows + ", columns=" + Arrays.toString(names) + "}";
+    }
+}
@@ -0,0 +1,61 @@
+package com.loanemi.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.DataProvider;
+
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.TestCaseSource;
+
+/**
+ * Parallel TestNG data providers for large regression datasets (JSONL or CSV).
+ *
+ * TestNG drains a data provider's iterator before it starts parallel invocations, so handing
+ * out one row per invocation would hold the whole dataset (and a result per row) in memory.
+ * Instead each provider yields a fixed number of worker slots that share one streaming
+ * {@link TestCaseSource}; every invocation pulls test cases from the source until it runs
+ * dry. Memory stays flat regardless of dataset size and the number of concurrent browser
+ * sessions is bounded by the worker count.
+ *
+ * Config keys:
+ *   regressionDataPath - dataset to stream; providers yield nothing when empty
+ *   regressionWorkers  - worker slots (keep ≤ data-provider-thread-count in testng.xml)
+ */
+public class LoanDataProviders {
+
+    private static final Logger logger = LogManager.getLogger("ExecutionLogger");
+
+    /**
+     * Car loan regression dataset: one slot per worker, each as (source, workerIndex).
+     */
+    @DataProvider(name = "carLoanRegression", parallel = true)
+    public static Iterator<Object[]> carLoanRegression() {
+        return workerSlots(ConfigReader.getProperty("regressionDataPath", ""));
+    }
+
+    private static Iterator<Object[]> workerSlots(String dataPath) {
+        if (dataPath.isEmpty()) {
+            logger.info("No regression dataset configured (regressionDataPath); skipping data-driven run");
+            return Collections.emptyIterator();
+        }
+
+        int workers = Integer.parseInt(ConfigReader.getProperty("regressionWorkers", "4"));
+        if (workers < 1) {
+            throw new IllegalArgumentException("regressionWorkers must be at least 1: " + workers);
+        }
+
+        TestCaseSource source = TestCaseSource.open(dataPath);
+        List<Object[]> slots = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            slots.add(new Object[] { source, worker });
+        }
+
+        logger.info("Streaming regression dataset '{}' to {} worker(s)", source.name(), workers);
+        return slots.iterator();
+    }
+}
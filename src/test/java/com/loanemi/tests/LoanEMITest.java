@@ -1,31 +1,39 @@
 package com.loanemi.tests;
 
-import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
 
 import com.aventstack.extentreports.Status;
 import com.loanemi.base.DriverSetup;
+import com.loanemi.entity.TestCase;
 import com.loanemi.pages.CarLoanPage;
 import com.loanemi.pages.CreditCardEMICalculatorPage;
 import com.loanemi.pages.HomeLoanPage;
 import com.loanemi.pages.LoanCalculatorPage;
-import com.loanemi.utils.AllureReportOpener;
+import com.loanemi.rerun.RetryAnalyzer;
+import com.loanemi.timing.CommandBudget;
 import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.ExcelShards;
 import com.loanemi.utils.ExtentReportUtil;
-import com.loanemi.utils.ScreenshotUtil;
-
-import io.qameta.allure.Allure;
+import com.loanemi.utils.FlightRecorder;
+import com.loanemi.utils.LogContext;
+import com.loanemi.utils.ScreenshotPipeline;
+import com.loanemi.utils.TestCaseSource;
+import com.loanemi.utils.TestLogBuffer;
 
 /**
  * TestNG-based automation suite for EMI calculations.
@@ -36,7 +44,11 @@ public class LoanEMITest {
 
     private static final Logger logger = LogManager.getLogger("ExecutionLogger");
 
+    // Failed test case IDs listed in a regression worker's failure message
+    private static final int MAX_LISTED_FAILURES = 20;
+
     private String baseUrl = ConfigReader.getProperty("baseUrl");
+    private String browser;
     private WebDriver driver;
 
     /**
@@ -49,19 +61,37 @@ public class LoanEMITest {
         logger.info("TestNG: Initializing driver for browser: {}", browser);
         ExtentReportUtil.initReport();
 
+        this.browser = browser;
         driver = DriverSetup.getDriver(browser);
         driver.get(baseUrl);
 
         logger.info("Navigated to base URL: {}", baseUrl);
     }
 
+    /**
+     * Names this thread's Excel exports and log lines after the test method, browser and
+     * attempt, and marks the test's start in the flight recording.
+     */
+    @BeforeMethod
+    public void setExportContext(Method method, ITestResult result) {
+        ExcelShards.setContext(method.getName(), browser);
+        LogContext.start(method.getName(), browser, attempt(result));
+        FlightRecorder.mark("test " + method.getName());
+    }
+
+    // 1 for the first run of a test (or data set), then one more per retry
+    private static int attempt(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof RetryAnalyzer ? ((RetryAnalyzer) analyzer).getRetryCount() + 1 : 1;
+    }
+
     // ================= Car Loan EMI Calculation =================
 
     @Test(priority = 1)
     public void testCarLoanEMICalculation() {
         logger.info("TestNG: Running Car Loan EMI calculation test");
-        ExtentReportUtil.createTest("Car Loan EMI Calculation")
-            .log(Status.INFO, "Calculating EMI for ₹15L, 9.5%, 1 year");
+        ExtentReportUtil.createTest("Car Loan EMI Calculation");
+        ExtentReportUtil.log(Status.INFO, "Calculating EMI for ₹15L, 9.5%, 1 year");
 
         new CarLoanPage(driver).calculateCarLoan(); // Full flow including validation
     }
@@ -69,10 +99,12 @@ public class LoanEMITest {
     // ================= Home Loan EMI Flow =================
 
     @Test(priority = 2)
+    // Grows with the tenure in TC02: one row read per year and per month of the schedule
+    @CommandBudget(commands = 450, scripts = 20)
     public void testHomeLoanEMIDataExtraction() {
         logger.info("TestNG: Running Home Loan EMI data extraction test");
-        ExtentReportUtil.createTest("Home Loan EMI Data Extraction")
-            .log(Status.INFO, "Filling Home Loan form and extracting EMI summary + amortization table");
+        ExtentReportUtil.createTest("Home Loan EMI Data Extraction");
+        ExtentReportUtil.log(Status.INFO, "Filling Home Loan form and extracting EMI summary + amortization table");
 
         new HomeLoanPage(driver).calculateAndExtractHomeLoanEMI(); // Includes Excel export
     }
@@ -80,10 +112,11 @@ public class LoanEMITest {
     // ================= EMI Calculator =================
 
     @Test(priority = 3)
+    @CommandBudget(commands = 90, scripts = 14)
     public void testOnlyEMICalculatorFields() {
         logger.info("TestNG: Validating EMI calculator fields and sliders only");
-        ExtentReportUtil.createTest("EMI Calculator Field Validation Only")
-            .log(Status.INFO, "Validating only EMI calculator fields and sliders");
+        ExtentReportUtil.createTest("EMI Calculator Field Validation Only");
+        ExtentReportUtil.log(Status.INFO, "Validating only EMI calculator fields and sliders");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -91,10 +124,11 @@ public class LoanEMITest {
     }
 
     @Test(priority = 4)
+    @CommandBudget(commands = 60, scripts = 4)
     public void testEMICalculatorUIValidation() {
         logger.info("TestNG: Validating EMI calculator summary");
-        ExtentReportUtil.createTest("EMI Calculator UI Validation")
-            .log(Status.INFO, "Validating EMI calculator fields and summary");
+        ExtentReportUtil.createTest("EMI Calculator UI Validation");
+        ExtentReportUtil.log(Status.INFO, "Validating EMI calculator fields and summary");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -104,10 +138,11 @@ public class LoanEMITest {
     // ================= Loan Amount Calculator =================
 
     @Test(priority = 5)
+    @CommandBudget(commands = 100, scripts = 14)
     public void testOnlyLoanAmountCalculatorFields() {
         logger.info("TestNG: Validating Loan Amount calculator fields and sliders only");
-        ExtentReportUtil.createTest("Loan Amount Calculator Field Validation Only")
-            .log(Status.INFO, "Validating only Loan Amount calculator fields and sliders");
+        ExtentReportUtil.createTest("Loan Amount Calculator Field Validation Only");
+        ExtentReportUtil.log(Status.INFO, "Validating only Loan Amount calculator fields and sliders");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -115,10 +150,11 @@ public class LoanEMITest {
     }
 
     @Test(priority = 6)
+    @CommandBudget(commands = 40, scripts = 2)
     public void testLoanAmountCalculatorUIValidation() {
         logger.info("TestNG: Validating Loan Amount calculator summary");
-        ExtentReportUtil.createTest("Loan Amount Calculator UI Validation")
-            .log(Status.INFO, "Validating Loan Amount calculator fields and summary");
+        ExtentReportUtil.createTest("Loan Amount Calculator UI Validation");
+        ExtentReportUtil.log(Status.INFO, "Validating Loan Amount calculator fields and summary");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -128,10 +164,11 @@ public class LoanEMITest {
     // ================= Loan Tenure Calculator =================
 
     @Test(priority = 7)
+    @CommandBudget(commands = 90, scripts = 12)
     public void testOnlyLoanTenureCalculatorFields() {
         logger.info("TestNG: Validating Loan Tenure calculator fields and sliders only");
-        ExtentReportUtil.createTest("Loan Tenure Calculator Field Validation Only")
-            .log(Status.INFO, "Validating only Loan Tenure calculator fields and sliders");
+        ExtentReportUtil.createTest("Loan Tenure Calculator Field Validation Only");
+        ExtentReportUtil.log(Status.INFO, "Validating only Loan Tenure calculator fields and sliders");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -139,10 +176,11 @@ public class LoanEMITest {
     }
 
     @Test(priority = 8)
+    @CommandBudget(commands = 40, scripts = 2)
     public void testLoanTenureCalculatorUIValidation() {
         logger.info("TestNG: Validating Loan Tenure calculator summary");
-        ExtentReportUtil.createTest("Loan Tenure Calculator UI Validation")
-            .log(Status.INFO, "Validating Loan Tenure calculator fields and summary");
+        ExtentReportUtil.createTest("Loan Tenure Calculator UI Validation");
+        ExtentReportUtil.log(Status.INFO, "Validating Loan Tenure calculator fields and summary");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -152,10 +190,11 @@ public class LoanEMITest {
     // ================= Interest Rate Calculator =================
 
     @Test(priority = 9)
+    @CommandBudget(commands = 100, scripts = 14)
     public void testOnlyInterestRateCalculatorFields() {
         logger.info("TestNG: Validating Interest Rate calculator fields and sliders only");
-        ExtentReportUtil.createTest("Interest Rate Calculator Field Validation Only")
-            .log(Status.INFO, "Validating only Interest Rate calculator fields and sliders");
+        ExtentReportUtil.createTest("Interest Rate Calculator Field Validation Only");
+        ExtentReportUtil.log(Status.INFO, "Validating only Interest Rate calculator fields and sliders");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -163,10 +202,11 @@ public class LoanEMITest {
     }
 
     @Test(priority = 10)
+    @CommandBudget(commands = 40, scripts = 2)
     public void testInterestRateCalculatorUIValidation() {
         logger.info("TestNG: Validating Interest Rate calculator summary");
-        ExtentReportUtil.createTest("Interest Rate Calculator UI Validation")
-            .log(Status.INFO, "Validating Interest Rate calculator fields and summary");
+        ExtentReportUtil.createTest("Interest Rate Calculator UI Validation");
+        ExtentReportUtil.log(Status.INFO, "Validating Interest Rate calculator fields and summary");
 
         LoanCalculatorPage page = new LoanCalculatorPage(driver);
         page.navigateToLoanCalculator();
@@ -178,22 +218,77 @@ public class LoanEMITest {
     @Test(priority = 11)
     public void testCreditCardEMICalculatorCalculation() {
         logger.info("TestNG: Running Credit Card EMI calculation test");
-        ExtentReportUtil.createTest("Credit Card EMI Calculation")
-            .log(Status.INFO, "Calculating EMI for credit card transaction");
+        ExtentReportUtil.createTest("Credit Card EMI Calculation");
+        ExtentReportUtil.log(Status.INFO, "Calculating EMI for credit card transaction");
 
         CreditCardEMICalculatorPage creditPage = new CreditCardEMICalculatorPage(driver);
         creditPage.navigateToCreditCardEMICalculator();
 
         String emi = creditPage.calculateAndFetchEMI();
         System.out.println("EMI displayed: " + emi);
-        ExtentReportUtil.getTest().log(Status.PASS, "EMI displayed as: " + emi);
+        ExtentReportUtil.log(Status.PASS, "EMI displayed as: " + emi);
+    }
+
+    // ================= Data-Driven Regression =================
+
+    /**
+     * Streams car loan test cases from the configured regression dataset.
+     * Each invocation is one worker with its own browser session; workers share the source
+     * and keep pulling test cases until it is exhausted, so one mismatch does not stop the run.
+     * Workers are never retried (see RetryListener): a retry would find the source drained.
+     * Failed cases are captured from the worker's session, which is gone by @AfterMethod.
+     */
+    @Test(priority = 12, dataProvider = "carLoanRegression", dataProviderClass = LoanDataProviders.class)
+    public void testCarLoanRegression(TestCaseSource source, int worker) {
+        logger.info("TestNG: Regression worker {} streaming '{}'", worker, source.name());
+        ExtentReportUtil.createTest("Car Loan Regression — worker " + worker);
+        ExtentReportUtil.log(Status.INFO, "Streaming car loan test cases from " + source.name());
+
+        WebDriver workerDriver = DriverSetup.getDriver(browser); // Thread-local: one session per worker
+        List<String> failures = new ArrayList<>();
+        int executed = 0;
+        boolean completed = false;
+
+        try {
+            workerDriver.get(baseUrl);
+
+            TestCase testCase;
+            while ((testCase = source.poll()) != null) {
+                executed++;
+                try {
+                    new CarLoanPage(workerDriver, testCase).calculateCarLoan();
+                } catch (AssertionError e) {
+                    failures.add(testCase.getId());
+                    logger.error("TestNG: Regression case '{}' failed: {}", testCase.getId(), e.getMessage());
+                    ScreenshotPipeline.capture(workerDriver, "Car Loan Regression " + testCase.getId(), true,
+                        ExtentReportUtil.getTest());
+                }
+            }
+            completed = true;
+        } finally {
+            if (!completed) { // Unexpected error: capture the session before it is closed
+                ScreenshotPipeline.capture(workerDriver, "Car Loan Regression worker " + worker, true,
+                    ExtentReportUtil.getTest());
+            }
+            DriverSetup.quitDriver();
+        }
+
+        logger.info("TestNG: Regression worker {} finished — {} case(s), {} failure(s)", worker, executed, failures.size());
+        ExtentReportUtil.log(Status.INFO,
+            "Worker " + worker + " executed " + executed + " case(s), " + failures.size() + " failed");
+
+        if (!failures.isEmpty()) {
+            Assert.fail(failures.size() + " of " + executed + " regression case(s) failed: "
+                + failures.subList(0, Math.min(failures.size(), MAX_LISTED_FAILURES)));
+        }
     }
 
     // ================= Result Capture and Reporting =================
 
     /**
      * Captures result and logs to Extent and Allure depending on outcome.
-     * On failure, captures screenshot and attaches it to reports.
+     * On failure, captures screenshot and attaches it to reports, and writes the flight
+     * recording. Retried attempts are reported as skipped and keep their recording.
      */
     @AfterMethod
     public void captureResult(ITestResult result) {
@@ -201,38 +296,41 @@ public class LoanEMITest {
 
         if (result.getStatus() == ITestResult.SUCCESS) {
             logger.info("TestNG: Test '{}' passed", testName);
-            ExtentReportUtil.getTest().log(Status.PASS, testName + " passed");
+            ExtentReportUtil.log(Status.PASS, testName + " passed");
+            FlightRecorder.discard();
         } else if (result.getStatus() == ITestResult.FAILURE) {
             logger.error("TestNG: Test '{}' failed", testName);
-            ExtentReportUtil.getTest().log(Status.FAIL, testName + " failed");
-            ExtentReportUtil.getTest().log(Status.FAIL, result.getThrowable());
-
-            // Screenshot for Extent report
-            String path = ScreenshotUtil.captureScreenshotWithPath(driver, testName);
-            ExtentReportUtil.getTest().addScreenCaptureFromPath(path);
-
-            // Screenshot for Allure
-            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            Allure.addAttachment("Screenshot on Failure", new ByteArrayInputStream(screenshot));
+            ExtentReportUtil.log(Status.FAIL, testName + " failed");
+            ExtentReportUtil.log(Status.FAIL, result.getThrowable());
+            FlightRecorder.dumpOnFailure(testName, ExtentReportUtil.getTest());
         } else {
             logger.warn("TestNG: Test '{}' skipped", testName);
-            ExtentReportUtil.getTest().log(Status.SKIP, testName + " skipped");
+            ExtentReportUtil.log(Status.SKIP, testName + " skipped");
         }
+
+        // One capture (per screenshotPolicy), attached to Extent and Allure in the background;
+        // regression workers capture their own session before quitting it
+        if (result.getStatus() != ITestResult.SKIP && !result.getMethod().isDataDriven()) {
+            ScreenshotPipeline.capture(driver, testName, result.getStatus() == ITestResult.FAILURE,
+                ExtentReportUtil.getTest());
+        }
+        // Debug detail is kept for failed (and retried) attempts only
+        TestLogBuffer.finish(result.getStatus() != ITestResult.SUCCESS, ExtentReportUtil.getTest());
+        ExtentReportUtil.endTest();
+        LogContext.clear();
     }
 
     /**
-     * Cleans up WebDriver and flushes Extent + launches Allure report.
-     * Called once after all tests finish executing.
+     * Cleans up WebDriver and flushes Extent.
+     * Called once after all tests of the class finish executing; the Allure report is
+     * generated once per suite by AllureReportListener.
      */
     @AfterClass
     public void tearDown() {
         logger.info("TestNG: Quitting WebDriver and flushing ExtentReports");
         DriverSetup.quitDriver();
 
-        logger.info("TestNg Suite completed. Preparing to launch Allure report...");
-        AllureReportOpener.openAllureReport();
-        logger.info("Allure report launcher invoked.");
-
+        // Waits for pending screenshots, so the report includes them
         ExtentReportUtil.flushReport();
     }
 }
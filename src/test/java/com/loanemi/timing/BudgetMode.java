@@ -0,0 +1,27 @@
+package com.loanemi.timing;
+
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * What happens when a test makes more WebDriver round trips than its {@link CommandBudget}
+ * (config key: commandBudgetMode).
+ *
+ * OFF:  round trips are not counted.
+ * WARN: the overrun is logged and reported as a warning (default).
+ * FAIL: the test fails.
+ */
+public enum BudgetMode {
+    OFF,
+    WARN,
+    FAIL;
+
+    private static final BudgetMode configured =
+            BudgetMode.valueOf(ConfigReader.getProperty("commandBudgetMode", "WARN").trim().toUpperCase());
+
+    /**
+     * Mode configured for this run.
+     */
+    public static BudgetMode configured() {
+        return configured;
+    }
+}
@@ -0,0 +1,29 @@
+package com.loanemi.timing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most WebDriver round trips a TestNG test method may make, checked by
+ * {@link RoundTripBudgets} when the test ends. For Cucumber scenarios use the tag
+ * {@code @commandBudget=commands:40,scripts:10}; for either, a config entry
+ * {@code commandBudget.<test or scenario name>} overrides this.
+ *
+ * A negative value means no limit.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CommandBudget {
+
+    /**
+     * WebDriver commands of any kind (lookups, element calls, navigation, scripts...).
+     */
+    int commands() default -1;
+
+    /**
+     * executeScript and executeAsyncScript calls.
+     */
+    int scripts() default -1;
+}
@@ -0,0 +1,201 @@
+package com.loanemi.timing;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.By;
+
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.LogContext;
+
+/**
+ * Latency of WebDriver commands, per command and per locator, in {@link LatencyHistogram}s.
+ *
+ * Each command is counted three times over: for the whole run, for the page-object method it
+ * ran in (if any) and for the test or scenario and browser it ran in (if any). Commands are named after the
+ * interface method ("WebElement.getText", "JavascriptExecutor.executeScript"); element lookups
+ * are also counted per locator ("findElement By.id: loanamount").
+ *
+ * At the end of the suite {@link #export()} writes count, p50, p95, p99, max and total time for
+ * every command to a CSV file next to the timing events and logs the commands that took the
+ * most time overall. The execution mode (local or remote) is part of each row, so files of a
+ * local run and a Grid run can be compared.
+ *
+ * Config keys: commandLatencyEnabled, timingEventsDir, executionMode.
+ */
+public final class CommandLatency {
+
+    private static final Logger logger = LogManager.getLogger(CommandLatency.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigReader.getProperty("commandLatencyEnabled", "true"));
+    private static final String outputDir = ConfigReader.getProperty("timingEventsDir", "target/timing");
+
+    static final String RUN = "run";
+    static final String PAGE = "page";
+    static final String TEST = "test";
+
+    static final String COMMAND = "command";
+    static final String LOCATOR = "locator";
+
+    // Commands shown in the log at export
+    private static final int TOP = 10;
+
+    // scope kind -> scope name -> "command" or "locator" -> name -> histogram
+    private static final Map<String, Map<String, Map<String, Map<String, LatencyHistogram>>>> histograms =
+            new ConcurrentHashMap<>();
+
+    private CommandLatency() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one finished command, on the thread that ran it.
+     *
+     * @param name   Command name, e.g. "WebElement.click"
+     * @param method The interface method called
+     * @param args    Command arguments; a By argument makes it an element lookup
+     * @param nanos How long it took
+     */
+    static void record(String name, Method method, Object[] args, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        String locator = args != null && args.length == 1 && args[0] instanceof By
+                ? method.getName() + " " + args[0]
+                : null;
+        record(RUN, "", name, locator, nanos);
+        String page = TimingEvents.currentPage();
+        if (page != null) {
+            record(PAGE, page, name, locator, nanos);
+        }
+        String test = ThreadContext.get(LogContext.TEST);
+        if (test != null) {
+            String browser = ThreadContext.get(LogContext.BROWSER);
+            record(TEST, browser == null ? test : test + " (" + browser + ")", name, locator, nanos);
+        }
+    }
+
+    private static void record(String scopeKind, String scope, String name, String locator, long nanos) {
+        Map<String, Map<String, LatencyHistogram>> kinds = histograms
+                .computeIfAbsent(scopeKind, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(scope, k -> new ConcurrentHashMap<>());
+        histogram(kinds, COMMAND, name).recordNanos(nanos);
+        if (locator != null) {
+            histogram(kinds, LOCATOR, locator).recordNanos(nanos);
+        }
+    }
+
+    private static LatencyHistogram histogram(Map<String, Map<String, LatencyHistogram>> kinds, String kind, String name) {
+        return kinds.computeIfAbsent(kind, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Writes every histogram to command-latency-[time].csv in timingEventsDir and logs the
+     * commands that took the most time overall.
+     *
+     * @return The file written, or null when nothing was recorded
+     */
+    public static Path export() {
+        if (histograms.isEmpty()) {
+            return null;
+        }
+        String mode = ConfigReader.getProperty("executionMode", "local").trim().toLowerCase();
+        List<Row> rows = rows();
+
+        StringBuilder csv = new StringBuilder("mode,scopeKind,scope,kind,name,count,p50Ms,p95Ms,p99Ms,maxMs,totalMs\n");
+        for (Row row : rows) {
+            LatencyHistogram h = row.histogram;
+            csv.append(mode).append(',').append(row.scopeKind).append(',').append(csvText(row.scope))
+               .append(',').append(row.kind).append(',').append(csvText(row.name))
+               .append(',').append(h.count())
+               .append(',').append(millis(h.percentileMicros(50)))
+               .append(',').append(millis(h.percentileMicros(95)))
+               .append(',').append(millis(h.percentileMicros(99)))
+               .append(',').append(millis(h.maxMicros()))
+               .append(',').append(millis(h.totalMicros()))
+               .append('\n');
+        }
+        String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        Path file = Paths.get(outputDir, "command-latency-" + timeStamp + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Command latency could not be written to {}", file, e);
+            return null;
+        }
+
+        logger.info("Command latency ({} mode) written to {}; most time spent in:", mode, file);
+        rows.stream()
+            .filter(row -> RUN.equals(row.scopeKind) && COMMAND.equals(row.kind))
+            .limit(TOP)
+            .forEach(row -> logger.info("  {}: {} call(s), p50 {} ms, p95 {} ms, p99 {} ms, total {} ms",
+                    row.name, row.histogram.count(), millis(row.histogram.percentileMicros(50)),
+                    millis(row.histogram.percentileMicros(95)), millis(row.histogram.percentileMicros(99)),
+                    millis(row.histogram.totalMicros())));
+        return file;
+    }
+
+    // Run first, then pages, then tests; within each, by total time, largest first
+    private static List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        histograms.forEach((scopeKind, scopes) -> scopes.forEach((scope, kinds) -> kinds.forEach((kind, names) ->
+                names.forEach((name, histogram) -> rows.add(new Row(scopeKind, scope, kind, name, histogram))))));
+        rows.sort(Comparator.comparingInt((Row row) -> order(row.scopeKind))
+                .thenComparing(row -> row.scope)
+                .thenComparing(row -> row.kind)
+                .thenComparing(Comparator.comparingLong((Row row) -> row.histogram.totalMicros()).reversed()));
+        return rows;
+    }
+
+    private static int order(String scopeKind) {
+        return RUN.equals(scopeKind) ? 0 : PAGE.equals(scopeKind) ? 1 : 2;
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1_000.0);
+    }
+
+    private static String csvText(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static final class Row {
+        final String scopeKind;
+        final String scope;
+        final String kind;
+        final String name;
+        final LatencyHistogram histogram;
+
+        Row(String scopeKind, String scope, String kind, String name, LatencyHistogram histogram) {
+            this.scopeKind = scopeKind;
+            this.scope = scope;
+            this.kind = kind;
+            this.name = name;
+            this.histogram = histogram;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.loanemi.timing;
+
+import org.apache.logging.log4j.ThreadContext;
+
+import com.loanemi.utils.LogContext;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that adds each scenario and each Gherkin step to the timing event stream
+ * (see {@link TimingEvents}). Hooks are part of their scenario's time but are not recorded as
+ * steps.
+ *
+ * As a concurrent listener it is called on the thread running the scenario, so start times
+ * are kept per thread. Steps run inside the scenario's {@link LogContext}; the scenario itself
+ * starts before its Before hook sets that context and ends after its After hook clears it, so
+ * the context seen during its steps is kept for it.
+ *
+ * Registered in TestRunner: {@code plugin = "com.loanemi.timing.CucumberTimingPlugin"}.
+ */
+public class CucumberTimingPlugin implements ConcurrentEventListener {
+
+    private static final class Running {
+        long scenarioStart;
+        long stepStart;
+        String browser;
+        String test;
+        String attempt;
+    }
+
+    private final ThreadLocal<Running> running = ThreadLocal.withInitial(Running::new);
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!TimingEvents.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseStarted.class, this::scenarioStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::stepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::stepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::scenarioFinished);
+    }
+
+    private void scenarioStarted(TestCaseStarted event) {
+        Running scenario = running.get();
+        scenario.scenarioStart = TimingEvents.now();
+        scenario.browser = null;
+        scenario.test = null;
+        scenario.attempt = null;
+    }
+
+    private void stepStarted(TestStepStarted event) {
+        Running scenario = running.get();
+        scenario.stepStart = TimingEvents.now();
+        String test = ThreadContext.get(LogContext.TEST);
+        if (test != null) {
+            scenario.browser = ThreadContext.get(LogContext.BROWSER);
+            scenario.test = test;
+            scenario.attempt = ThreadContext.get(LogContext.ATTEMPT);
+        }
+    }
+
+    private void stepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            TimingEvents.record(TimingEvents.STEP, step.getStep().getKeyword() + step.getStep().getText(),
+                    running.get().stepStart, outcome(event.getResult().getStatus()));
+        }
+    }
+
+    private void scenarioFinished(TestCaseFinished event) {
+        Running scenario = running.get();
+        TimingEvents.record(TimingEvents.SCENARIO, event.getTestCase().getName(), scenario.browser,
+                scenario.test, scenario.attempt, scenario.scenarioStart, outcome(event.getResult().getStatus()));
+    }
+
+    private static String outcome(Status status) {
+        switch (status) {
+            case PASSED:
+                return TimingEvents.OK;
+            case FAILED:
+                return TimingEvents.FAILED;
+            default:
+                return status.name().toLowerCase(); // skipped, pending, undefined, ambiguous...
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.loanemi.timing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.LogContext;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the framework's own work, so a recording of a run shows
+ * browser sessions, WebDriver commands, page-object actions, Excel/JSON I/O and report flushes
+ * next to GC, allocation and thread activity in JDK Mission Control (category "Loan EMI").
+ *
+ * Each event carries its duration and the test and browser it ran for (from
+ * {@link LogContext}; empty for work outside a test, such as background report flushes).
+ * Events cost next to nothing while no recording is running: start one with
+ * -XX:StartFlightRecording, with jcmd JFR.start, or by setting jfrRecordingEnabled, which
+ * records the whole suite with the JDK's low-overhead "default" settings (jfrSettings) and
+ * writes it to jfrRecordingDir when the suite ends.
+ *
+ * Usage: {@code JfrEvents.DataIo io = JfrEvents.dataIo("excel-write", path); ...; io.end("ok");}
+ *
+ * Config keys: jfrRecordingEnabled, jfrRecordingDir, jfrSettings.
+ */
+public final class JfrEvents {
+
+    private static final Logger logger = LogManager.getLogger(JfrEvents.class);
+
+    private static final boolean recordingEnabled =
+            Boolean.parseBoolean(ConfigReader.getProperty("jfrRecordingEnabled", "false"));
+    private static final String recordingDir = ConfigReader.getProperty("jfrRecordingDir", "target/jfr");
+    private static final String settings = ConfigReader.getProperty("jfrSettings", "default");
+
+    private static Recording recording;
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Fields shared by every event: what it was, how it ended and the test it ran for.
+     */
+    @Category({ "Loan EMI" })
+    @StackTrace(false)
+    public abstract static class TestEvent extends Event {
+
+        @Label("Name")
+        String name;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Test")
+        String test;
+
+        @Label("Browser")
+        String browser;
+
+        /**
+         * Ends the event on the thread that ran it and commits it if a recording wants it.
+         */
+        public void end(String outcome) {
+            end();
+            if (shouldCommit()) {
+                this.outcome = outcome;
+                this.test = ThreadContext.get(LogContext.TEST);
+                if (browser == null) {
+                    browser = ThreadContext.get(LogContext.BROWSER);
+                }
+                commit();
+            }
+        }
+    }
+
+    @Name("com.loanemi.DriverSession")
+    @Label("Driver Session")
+    @Category({ "Loan EMI", "WebDriver" })
+    @Description("Launch of a browser session (local or Grid)")
+    public static final class DriverSession extends TestEvent {
+    }
+
+    @Name("com.loanemi.WebDriverCommand")
+    @Label("WebDriver Command")
+    @Category({ "Loan EMI", "WebDriver" })
+    @Description("One WebDriver call, e.g. WebElement.getText")
+    public static final class Command extends TestEvent {
+    }
+
+    @Name("com.loanemi.PageAction")
+    @Label("Page Action")
+    @Category({ "Loan EMI", "Page Objects" })
+    @Description("A public page-object method, e.g. CarLoanPage.calculateCarLoan")
+    public static final class PageAction extends TestEvent {
+    }
+
+    @Name("com.loanemi.DataIo")
+    @Label("Data I/O")
+    @Category({ "Loan EMI", "I/O" })
+    @Description("Reading or writing an Excel or JSON file")
+    public static final class DataIo extends TestEvent {
+
+        @Label("Path")
+        String path;
+    }
+
+    @Name("com.loanemi.ReportFlush")
+    @Label("Report Flush")
+    @Category({ "Loan EMI", "Reporting" })
+    @Description("Writing a report to disk")
+    public static final class ReportFlush extends TestEvent {
+    }
+
+    /**
+     * Starts timing a browser launch.
+     */
+    public static DriverSession driverSession(String browser, String mode) {
+        DriverSession event = new DriverSession();
+        event.name = mode;
+        event.browser = browser;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts timing a WebDriver command; its name is set when it ends.
+     */
+    static Command command() {
+        Command event = new Command();
+        event.begin();
+        return event;
+    }
+
+    static void endCommand(Command event, String name, String outcome) {
+        event.name = name;
+        event.end(outcome);
+    }
+
+    /**
+     * Starts timing a page-object method.
+     */
+    static PageAction pageAction(String name) {
+        PageAction event = new PageAction();
+        event.name = name;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts timing a file read or write.
+     *
+     * @param operation e.g. "excel-read", "excel-write", "json-read"
+     */
+    public static DataIo dataIo(String operation, String path) {
+        DataIo event = new DataIo();
+        event.name = operation;
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts timing a report flush.
+     *
+     * @param report e.g. "extent"
+     */
+    public static ReportFlush reportFlush(String report) {
+        ReportFlush event = new ReportFlush();
+        event.name = report;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts the suite recording when jfrRecordingEnabled is set; does nothing otherwise or if
+     * it is already running.
+     */
+    public static synchronized void startRecording() {
+        if (!recordingEnabled || recording != null) {
+            return;
+        }
+        try {
+            Recording started = new Recording(Configuration.getConfiguration(settings));
+            started.setName("Loan EMI suite");
+            for (Class<? extends Event> type : eventTypes()) {
+                started.enable(type); // Our events are recorded whatever the settings say
+            }
+            String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            Path file = Paths.get(recordingDir, "suite-" + timeStamp + ".jfr").toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            started.setDestination(file);
+            started.setDumpOnExit(true); // In case the suite never reaches its end
+            started.start();
+            recording = started;
+            logger.info("JFR recording started with '{}' settings, written to {} at suite end", settings, file);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            logger.warn("JFR recording not started: {}", e.toString());
+        }
+    }
+
+    /**
+     * Stops the suite recording, which writes it to its file.
+     */
+    public static synchronized void stopRecording() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            logger.info("JFR recording written to {}", recording.getDestination());
+        } catch (IllegalStateException e) {
+            logger.warn("JFR recording not written: {}", e.getMessage());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static List<Class<? extends Event>> eventTypes() {
+        return List.of(DriverSession.class, Command.class, PageAction.class, DataIo.class, ReportFlush.class);
+    }
+}
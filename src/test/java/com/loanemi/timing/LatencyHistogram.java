@@ -0,0 +1,104 @@
+package com.loanemi.timing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in microseconds, with HdrHistogram-style log-linear buckets:
+ * exact below 32 µs, then 16 buckets per power of two, so any percentile read back is within
+ * about 6% of the true value. Covers up to about 12 days per sample; longer samples land in
+ * the last bucket.
+ *
+ * Recording is one atomic increment plus two adders, so many threads can record into the same
+ * histogram without blocking each other; reading is not atomic with concurrent recording,
+ * which is fine for end-of-suite reports.
+ */
+public final class LatencyHistogram {
+
+    // Values below this are counted exactly, one bucket each
+    private static final int LINEAR = 32;
+    // Buckets per power of two above LINEAR (must be LINEAR / 2)
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BITS = 4;
+    // Highest power of two covered: 2^40 µs
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKETS = LINEAR + (MAX_EXPONENT - 5 + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one sample.
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucket(micros));
+        count.increment();
+        totalMicros.add(micros);
+        if (micros > maxMicros.get()) {
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long maxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * The value below which the given share of samples fall (upper edge of its bucket, capped at
+     * the largest sample).
+     *
+     * @param percentile 0 to 100, e.g. 95 or 99
+     * @return microseconds; 0 when empty
+     */
+    public long percentileMicros(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    static int bucket(long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros); // 5 or more
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 5) * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that falls into the bucket
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 5;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
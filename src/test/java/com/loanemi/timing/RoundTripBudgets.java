@@ -0,0 +1,175 @@
+package com.loanemi.timing;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.ExtentReportUtil;
+
+/**
+ * Counts the WebDriver round trips each test or scenario makes and checks them against its
+ * budget, so a change that adds lookups or per-cell calls shows up as a warning or a failure
+ * instead of as a slower nightly run.
+ *
+ * Every command through the driver counts, except calls that only return a local helper
+ * (manage(), navigate(), switchTo(), timeouts(), window()...); executeScript and
+ * executeAsyncScript also count as script calls. Counting is per thread, between
+ * {@link #start} and {@link #finish}, so work done by setup and teardown is not counted.
+ *
+ * The budget of a test is, first found: config {@code commandBudget.<test or scenario name>},
+ * its {@link CommandBudget} annotation or {@code @commandBudget=...} tag, then config
+ * {@code commandBudget.default}; each written as {@code commands:40,scripts:10} (either part
+ * may be left out). Tests without a budget are counted and logged only. What an overrun does
+ * is set by {@link BudgetMode}.
+ *
+ * Config keys: commandBudgetMode, commandBudget.default, commandBudget.[name].
+ */
+public final class RoundTripBudgets {
+
+    private static final Logger logger = LogManager.getLogger(RoundTripBudgets.class);
+
+    private static final String KEY_PREFIX = "commandBudget.";
+    private static final String TAG_PREFIX = "@commandBudget=";
+
+    // Methods answered by the client without a round trip
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final class Counter {
+        boolean active;
+        String name;
+        int commandBudget;
+        int scriptBudget;
+        int commands;
+        int scripts;
+    }
+
+    private static final ThreadLocal<Counter> counter = ThreadLocal.withInitial(Counter::new);
+
+    private RoundTripBudgets() {
+    }
+
+    public static boolean isEnabled() {
+        return BudgetMode.configured() != BudgetMode.OFF;
+    }
+
+    /**
+     * Starts counting a TestNG test on this thread.
+     *
+     * @param budget The test's annotation (may be null)
+     */
+    public static void start(String name, CommandBudget budget) {
+        start(name, budget == null ? null : new int[] { budget.commands(), budget.scripts() });
+    }
+
+    /**
+     * Starts counting a Cucumber scenario on this thread.
+     *
+     * @param tags The scenario's tags; a {@code @commandBudget=...} tag sets its budget
+     */
+    public static void start(String name, Iterable<String> tags) {
+        int[] budget = null;
+        for (String tag : tags) {
+            if (tag.startsWith(TAG_PREFIX)) {
+                budget = parse(tag.substring(TAG_PREFIX.length()), tag);
+            }
+        }
+        start(name, budget);
+    }
+
+    private static void start(String name, int[] declared) {
+        if (!isEnabled()) {
+            return;
+        }
+        int[] budget = declared;
+        String configured = ConfigReader.getProperty(KEY_PREFIX + name, "").trim();
+        if (!configured.isEmpty()) {
+            budget = parse(configured, KEY_PREFIX + name);
+        } else if (budget == null) {
+            String fallback = ConfigReader.getProperty(KEY_PREFIX + "default", "").trim();
+            budget = fallback.isEmpty() ? new int[] { -1, -1 } : parse(fallback, KEY_PREFIX + "default");
+        }
+        Counter c = counter.get();
+        c.active = true;
+        c.name = name;
+        c.commandBudget = budget[0];
+        c.scriptBudget = budget[1];
+        c.commands = 0;
+        c.scripts = 0;
+    }
+
+    /**
+     * Counts one command made on this thread.
+     */
+    static void count(Method method) {
+        Counter c = counter.get();
+        if (!c.active || LOCAL_CALLS.contains(method.getName())) {
+            return;
+        }
+        c.commands++;
+        if (method.getName().startsWith("executeScript") || method.getName().startsWith("executeAsyncScript")) {
+            c.scripts++;
+        }
+    }
+
+    /**
+     * Stops counting this thread's test and checks its budget. In WARN mode an overrun is
+     * logged and added to the Extent test as a warning.
+     *
+     * @param extentTest Extent node of the test (may be null)
+     * @return A description of the overrun, or null if the test kept to its budget (or none
+     *         was counted)
+     */
+    public static String finish(ExtentTest extentTest) {
+        Counter c = counter.get();
+        if (!c.active) {
+            return null;
+        }
+        c.active = false;
+        logger.info("'{}' made {} WebDriver round trip(s), {} of them script call(s)", c.name, c.commands, c.scripts);
+
+        StringBuilder overrun = new StringBuilder();
+        if (c.commandBudget >= 0 && c.commands > c.commandBudget) {
+            overrun.append(c.commands).append(" WebDriver commands (budget ").append(c.commandBudget).append(')');
+        }
+        if (c.scriptBudget >= 0 && c.scripts > c.scriptBudget) {
+            overrun.append(overrun.length() > 0 ? " and " : "")
+                   .append(c.scripts).append(" script calls (budget ").append(c.scriptBudget).append(')');
+        }
+        if (overrun.length() == 0) {
+            return null;
+        }
+        String message = "'" + c.name + "' exceeded its round-trip budget: " + overrun;
+        if (BudgetMode.configured() == BudgetMode.WARN) {
+            logger.warn(message);
+            ExtentReportUtil.update(extentTest, test -> test.warning(message));
+        }
+        return message;
+    }
+
+    // "commands:40,scripts:10" -> {40, 10}; a part left out is -1 (no limit)
+    private static int[] parse(String spec, String source) {
+        int[] budget = { -1, -1 };
+        for (String part : spec.split(",")) {
+            String[] keyValue = part.trim().split(":", 2);
+            try {
+                if (keyValue.length == 2 && keyValue[0].trim().equals("commands")) {
+                    budget[0] = Integer.parseInt(keyValue[1].trim());
+                } else if (keyValue.length == 2 && keyValue[0].trim().equals("scripts")) {
+                    budget[1] = Integer.parseInt(keyValue[1].trim());
+                } else {
+                    throw new IllegalArgumentException("Unknown part '" + part + "'");
+                }
+            } catch (IllegalArgumentException e) { // NumberFormatException included
+                throw new IllegalArgumentException("Invalid round-trip budget in " + source + ": '" + spec
+                        + "' (expected e.g. commands:40,scripts:10)", e);
+            }
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,433 @@
+package com.loanemi.timing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.loanemi.utils.ConfigReader;
+import com.loanemi.utils.LogContext;
+
+/**
+ * Machine-readable timing of a run: one JSON object per line (JSONL) for every suite, test,
+ * Cucumber scenario and step, page-object method and WebDriver command.
+ *
+ * Each event has a type, a name, the thread, browser, test and attempt it ran under (from
+ * {@link LogContext}), its start and end in nanoseconds since the start of the run (monotonic,
+ * from System.nanoTime) and an outcome. The first line ("run") gives the wall-clock time the
+ * run started, so times can be placed on a calendar.
+ *
+ * Recording an event only puts it on a bounded queue; a background thread formats and writes
+ * events in batches through a buffered writer, and flushes whenever the queue runs dry. If the
+ * queue is ever full the event is dropped rather than making the test wait; drops are counted
+ * and reported in the last line ("end").
+ *
+ * Config keys: timingEventsEnabled, timingEventsDir, timingQueueCapacity.
+ */
+public final class TimingEvents {
+
+    private static final Logger logger = LogManager.getLogger(TimingEvents.class);
+
+    public static final String SUITE = "suite";
+    public static final String TEST = "test";
+    public static final String SCENARIO = "scenario";
+    public static final String STEP = "step";
+    public static final String PAGE = "page";
+    public static final String COMMAND = "command";
+
+    public static final String OK = "ok";
+    public static final String FAILED = "failed";
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigReader.getProperty("timingEventsEnabled", "true"));
+    private static final String eventsDir = ConfigReader.getProperty("timingEventsDir", "target/timing");
+    private static final int queueCapacity =
+            Integer.parseInt(ConfigReader.getProperty("timingQueueCapacity", "65536"));
+
+    // Events written per batch, at most
+    private static final int BATCH = 1024;
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final long ORIGIN_EPOCH_MILLIS = System.currentTimeMillis();
+
+    private static final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    private static final AtomicLong recorded = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final LongAdder dropped = new LongAdder();
+
+    // "WebElement.click" etc., built once per method
+    private static final Map<Method, String> commandNames = new ConcurrentHashMap<>();
+
+    // Page-object method running on this thread, innermost first
+    private static final ThreadLocal<String> currentPage = new ThreadLocal<>();
+
+    private static volatile Path file;
+    private static volatile Writer writer;
+    // Set once the writer was started, or could not be
+    private static volatile boolean started;
+
+    private TimingEvents() {
+    }
+
+    /**
+     * One timed unit of work.
+     */
+    private static final class Event {
+        final String type;
+        final String name;
+        final String thread;
+        final String browser;
+        final String test;
+        final String attempt;
+        final long start;
+        final long end;
+        final String outcome;
+
+        Event(String type, String name, String thread, String browser, String test, String attempt,
+              long start, long end, String outcome) {
+            this.type = type;
+            this.name = name;
+            this.thread = thread;
+            this.browser = browser;
+            this.test = test;
+            this.attempt = attempt;
+            this.start = start;
+            this.end = end;
+            this.outcome = outcome;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start time for an event about to be timed (monotonic, nanoseconds).
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records an event that ran on the current thread, tagged with the thread's test context.
+     *
+     * @param startNanos Value of {@link #now()} when it started; it ends now
+     */
+    public static void record(String type, String name, long startNanos, String outcome) {
+        if (!enabled) {
+            return;
+        }
+        long end = System.nanoTime();
+        offer(new Event(type, name, Thread.currentThread().getName(), ThreadContext.get(LogContext.BROWSER),
+                ThreadContext.get(LogContext.TEST), ThreadContext.get(LogContext.ATTEMPT), startNanos, end, outcome));
+    }
+
+    /**
+     * Records an event with an explicit test context, for callers that run outside it
+     * (e.g. TestNG listeners).
+     */
+    public static void record(String type, String name, String browser, String test, String attempt,
+                              long startNanos, String outcome) {
+        if (!enabled) {
+            return;
+        }
+        long end = System.nanoTime();
+        offer(new Event(type, name, Thread.currentThread().getName(), browser, test, attempt, startNanos, end, outcome));
+    }
+
+    /**
+     * Starts timing a page-object method; the event is recorded when the span is closed. Use in
+     * try-with-resources and call {@link Span#ok()} as the last statement of the block, so a
+     * method that throws is recorded as failed:
+     *
+     * <pre>
+     * try (TimingEvents.Span span = TimingEvents.page("CarLoanPage.calculateCarLoan")) {
+     *     doCalculateCarLoan();
+     *     span.ok();
+     * }
+     * </pre>
+     *
+     * @param name e.g. "CarLoanPage.calculateCarLoan"
+     */
+    public static Span page(String name) {
+        return new Span(name);
+    }
+
+    /**
+     * A page-object method being timed, see {@link #page(String)}.
+     */
+    public static final class Span implements AutoCloseable {
+
+        private final String name;
+        private final String outer;
+        private final JfrEvents.PageAction action;
+        private final long start;
+        private String outcome = FAILED;
+
+        private Span(String name) {
+            this.name = name;
+            this.outer = currentPage.get();
+            currentPage.set(name);
+            this.action = JfrEvents.pageAction(name);
+            this.start = now();
+        }
+
+        /**
+         * Marks the method as completed normally.
+         */
+        public void ok() {
+            outcome = OK;
+        }
+
+        /**
+         * Marks the method as completed normally and passes its result through.
+         */
+        public <T> T ok(T result) {
+            outcome = OK;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            record(PAGE, name, start, outcome);
+            action.end(outcome);
+            currentPage.set(outer);
+        }
+    }
+
+    /**
+     * The page-object method running on this thread, or null outside one.
+     */
+    static String currentPage() {
+        return currentPage.get();
+    }
+
+    /**
+     * Wraps a driver so each WebDriver command it runs is recorded, as an event, in
+     * {@link CommandLatency}, against the test's {@link RoundTripBudgets} and as a JFR event
+     * ({@link JfrEvents}); returns it unchanged when the first three are disabled.
+     */
+    public static WebDriver attach(WebDriver driver) {
+        if (!enabled && !CommandLatency.isEnabled() && !RoundTripBudgets.isEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(new CommandListener()).decorate(driver);
+    }
+
+    private static void offer(Event event) {
+        if (!started) {
+            startWriter();
+        }
+        if (writer != null && queue.offer(event)) {
+            recorded.incrementAndGet();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Waits until every event recorded so far is written and flushed to the file.
+     *
+     * @return true if everything was written in time
+     */
+    public static boolean flush(long timeoutMillis) {
+        Writer out = writer;
+        if (out == null) {
+            return true;
+        }
+        long target = recorded.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (written.get() < target) {
+            if (System.currentTimeMillis() > deadline) {
+                logger.warn("Timing events: {} event(s) still unwritten after {} ms", target - written.get(), timeoutMillis);
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        try {
+            synchronized (out) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            logger.warn("Timing events could not be flushed: {}", e.getMessage());
+            return false;
+        }
+        logger.info("Timing events: {} written to {}, {} dropped", written.get(), file, dropped.sum());
+        return true;
+    }
+
+    private static void startWriter() {
+        synchronized (TimingEvents.class) {
+            if (started) {
+                return;
+            }
+            started = true;
+            String timeStamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(ORIGIN_EPOCH_MILLIS));
+            Path path = Paths.get(eventsDir, "events-" + timeStamp + ".jsonl");
+            Writer out;
+            try {
+                Files.createDirectories(path.getParent());
+                out = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                out.write("{\"type\":\"run\",\"startEpochMillis\":" + ORIGIN_EPOCH_MILLIS + "}\n");
+            } catch (IOException e) {
+                logger.error("Timing events disabled: cannot create {}", path, e);
+                return; // No writer: every event counts as dropped
+            }
+            file = path;
+            writer = out;
+            Thread thread = new Thread(() -> writeLoop(out), "timing-events-writer");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                flush(5_000);
+                try {
+                    synchronized (out) {
+                        out.write("{\"type\":\"end\",\"events\":" + written.get() + ",\"dropped\":" + dropped.sum() + "}\n");
+                        out.close();
+                    }
+                } catch (IOException e) {
+                    logger.warn("Timing events file not closed cleanly: {}", e.getMessage());
+                }
+            }, "timing-events-close"));
+            logger.info("Timing events are written to {}", path);
+        }
+    }
+
+    private static void writeLoop(Writer out) {
+        List<Event> batch = new ArrayList<>(BATCH);
+        StringBuilder text = new StringBuilder(BATCH * 200);
+        while (true) {
+            try {
+                Event first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH - 1);
+                for (Event event : batch) {
+                    appendJson(text, event);
+                }
+                synchronized (out) {
+                    out.append(text);
+                    if (queue.isEmpty()) {
+                        out.flush(); // Idle: make what we have visible
+                    }
+                }
+                written.addAndGet(batch.size());
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                logger.error("Timing events: write failed, {} event(s) lost", batch.size(), e);
+                written.addAndGet(batch.size());
+            } finally {
+                batch.clear();
+                text.setLength(0);
+            }
+        }
+    }
+
+    private static void appendJson(StringBuilder text, Event event) {
+        text.append("{\"type\":\"").append(event.type).append('"');
+        field(text, "name", event.name);
+        field(text, "thread", event.thread);
+        field(text, "browser", event.browser);
+        field(text, "test", event.test);
+        if (event.attempt != null) {
+            text.append(",\"attempt\":").append(event.attempt);
+        }
+        text.append(",\"startNs\":").append(event.start - ORIGIN)
+            .append(",\"endNs\":").append(event.end - ORIGIN);
+        field(text, "outcome", event.outcome);
+        text.append("}\n");
+    }
+
+    private static void field(StringBuilder text, String key, String value) {
+        if (value == null) {
+            return;
+        }
+        text.append(",\"").append(key).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': text.append("\\\""); break;
+                case '\\': text.append("\\\\"); break;
+                case '\n': text.append("\\n"); break;
+                case '\r': text.append("\\r"); break;
+                case '\t': text.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        text.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        text.append(c);
+                    }
+            }
+        }
+        text.append('"');
+    }
+
+    static String commandName(Method method) {
+        return commandNames.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+    }
+
+    /**
+     * Times every call made through the decorated driver. A driver is used by one thread at a
+     * time, so one start time per listener is enough.
+     */
+    private static final class CommandListener implements WebDriverListener {
+
+        private long start;
+        private JfrEvents.Command jfrCommand;
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            jfrCommand = JfrEvents.command();
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            finished(method, args, OK);
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            finished(method, args, FAILED);
+        }
+
+        private void finished(Method method, Object[] args, String outcome) {
+            String name = commandName(method);
+            CommandLatency.record(name, method, args, System.nanoTime() - start);
+            RoundTripBudgets.count(method);
+            JfrEvents.endCommand(jfrCommand, name, outcome);
+            record(COMMAND, name, start, outcome);
+        }
+    }
+}
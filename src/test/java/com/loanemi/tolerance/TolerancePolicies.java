@@ -0,0 +1,65 @@
+package com.loanemi.tolerance;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.loanemi.utils.ConfigReader;
+
+/**
+ * Registry of tolerance policies, configured per calculator and per field in config.properties.
+ *
+ * Lookup order for calculator "carLoan" and field "emi":
+ *   tolerance.carLoan.emi → tolerance.carLoan → tolerance.default → absolute:1
+ *
+ * Each spec is parsed once and cached, so page objects can resolve their policies
+ * in field initializers without re-reading configuration per comparison.
+ */
+public final class TolerancePolicies {
+
+    private static final Logger logger = LogManager.getLogger(TolerancePolicies.class);
+
+    private static final String PREFIX = "tolerance.";
+
+    // Built-in fallback matching the historical ±1 checks
+    private static final TolerancePolicy BUILT_IN_DEFAULT = TolerancePolicy.absolute(1);
+
+    // Resolved policies keyed by "calculator.field"
+    private static final ConcurrentMap<String, TolerancePolicy> cache = new ConcurrentHashMap<>();
+
+    private TolerancePolicies() {
+    }
+
+    /**
+     * Resolves the policy for a calculator field.
+     *
+     * @param calculator Calculator identifier (e.g. carLoan, homeLoan, loanCalculator, creditCard)
+     * @param field      Field identifier within the calculator (e.g. emi, apr, slider)
+     * @return Cached, immutable policy
+     */
+    public static TolerancePolicy get(String calculator, String field) {
+        return cache.computeIfAbsent(calculator + "." + field, key -> resolve(calculator, field));
+    }
+
+    private static TolerancePolicy resolve(String calculator, String field) {
+        String[] keys = {
+            PREFIX + calculator + "." + field,
+            PREFIX + calculator,
+            PREFIX + "default"
+        };
+
+        for (String key : keys) {
+            String spec = ConfigReader.getProperty(key, null);
+            if (spec != null) {
+                TolerancePolicy policy = TolerancePolicy.parse(spec);
+                logger.info("Tolerance for {}.{} resolved from '{}': {}", calculator, field, key, policy);
+                return policy;
+            }
+        }
+
+        logger.info("Tolerance for {}.{} not configured, using built-in {}", calculator, field, BUILT_IN_DEFAULT);
+        return BUILT_IN_DEFAULT;
+    }
+}
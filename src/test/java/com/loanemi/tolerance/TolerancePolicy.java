@@ -0,0 +1,247 @@
+package com.loanemi.tolerance;
+
+import java.math.RoundingMode;
+
+/**
+ * Immutable rule deciding whether an actual numeric value is close enough to an expected one.
+ * Supports absolute, relative, ULP-based and rounding-mode-aware comparisons, plus an
+ * optional "fail" threshold that turns small mismatches into warnings instead of failures.
+ *
+ * Policies are written as compact specs, e.g.:
+ *   absolute:1                     → |expected − actual| ≤ 1
+ *   absolute:1,fail:10             → pass ≤ 1, warn below 10, fail at 10 or more
+ *   relative:0.001                 → |expected − actual| ≤ 0.1% of the larger magnitude
+ *   ulp:4                          → at most 4 representable doubles apart
+ *   rounded:1,scale:0,mode:HALF_UP → round both to 0 decimals (HALF_UP), then absolute ≤ 1
+ */
+public final class TolerancePolicy {
+
+    /** Comparison strategy used by a policy. */
+    public enum Kind {
+        ABSOLUTE,
+        RELATIVE,
+        ULP,
+        ROUNDED
+    }
+
+    /** Result of evaluating a single comparison. */
+    public enum Outcome {
+        PASS,
+        WARN,
+        FAIL
+    }
+
+    private final Kind kind;
+    private final double tolerance;
+    private final double failThreshold;
+    private final int scale;
+    private final RoundingMode roundingMode;
+    private final double scaleFactor;
+    private final String spec;
+
+    private TolerancePolicy(Kind kind, double tolerance, double failThreshold, int scale,
+                            RoundingMode roundingMode, String spec) {
+        this.kind = kind;
+        this.tolerance = tolerance;
+        this.failThreshold = failThreshold;
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+        this.scaleFactor = Math.pow(10, scale);
+        this.spec = spec;
+    }
+
+    /**
+     * Creates a plain absolute-difference policy.
+     */
+    public static TolerancePolicy absolute(double tolerance) {
+        return new TolerancePolicy(Kind.ABSOLUTE, tolerance, Double.NaN, 0, RoundingMode.HALF_UP,
+                "absolute:" + tolerance);
+    }
+
+    /**
+     * Parses a policy spec such as "absolute:1,fail:10" or "rounded:1,scale:0,mode:HALF_UP".
+     *
+     * @param spec Comma-separated key:value pairs; the first pair names the kind and its tolerance
+     * @return Parsed policy
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static TolerancePolicy parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Tolerance spec must not be empty");
+        }
+
+        Kind kind = null;
+        double tolerance = Double.NaN;
+        double failThreshold = Double.NaN;
+        int scale = 0;
+        RoundingMode mode = RoundingMode.HALF_UP;
+
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Malformed tolerance spec '" + spec + "' at '" + part + "'");
+            }
+            String key = pair[0].trim().toLowerCase();
+            String value = pair[1].trim();
+            try {
+                switch (key) {
+                    case "absolute":
+                    case "relative":
+                    case "ulp":
+                    case "rounded":
+                        if (kind != null) {
+                            throw new IllegalArgumentException("Tolerance spec '" + spec + "' names more than one kind");
+                        }
+                        kind = Kind.valueOf(key.toUpperCase());
+                        tolerance = Double.parseDouble(value);
+                        break;
+                    case "fail":
+                        failThreshold = Double.parseDouble(value);
+                        break;
+                    case "scale":
+                        scale = Integer.parseInt(value);
+                        break;
+                    case "mode":
+                        mode = RoundingMode.valueOf(value.toUpperCase());
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown tolerance option '" + key + "' in spec '" + spec + "'");
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in tolerance spec '" + spec + "': " + value, e);
+            }
+        }
+
+        if (kind == null) {
+            throw new IllegalArgumentException("Tolerance spec '" + spec + "' does not name a kind");
+        }
+        if (tolerance < 0 || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be non-negative in spec '" + spec + "'");
+        }
+        if (mode == RoundingMode.UNNECESSARY) {
+            throw new IllegalArgumentException("Rounding mode UNNECESSARY is not supported in spec '" + spec + "'");
+        }
+        return new TolerancePolicy(kind, tolerance, failThreshold, scale, mode, spec.trim());
+    }
+
+    /**
+     * Evaluates a single comparison.
+     *
+     * @param expected Expected (oracle or test data) value
+     * @param actual   Actual value scraped from the UI
+     * @return PASS within tolerance, WARN beyond tolerance but below the fail threshold, else FAIL
+     */
+    public Outcome evaluate(double expected, double actual) {
+        double deviation = deviation(expected, actual);
+        if (deviation <= tolerance) {
+            return Outcome.PASS;
+        }
+        if (!Double.isNaN(failThreshold) && deviation < failThreshold) {
+            return Outcome.WARN;
+        }
+        return Outcome.FAIL;
+    }
+
+    /**
+     * Returns true only when the comparison passes outright.
+     */
+    public boolean matches(double expected, double actual) {
+        return evaluate(expected, actual) == Outcome.PASS;
+    }
+
+    /**
+     * Bulk check over parallel arrays, for oracle runs.
+     *
+     * @return Index of the first comparison that evaluates to FAIL, or -1 if none
+     */
+    public int firstFailure(double[] expected, double[] actual) {
+        if (expected.length != actual.length) {
+            throw new IllegalArgumentException("Expected and actual arrays differ in length: "
+                    + expected.length + " vs " + actual.length);
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (evaluate(expected[i], actual[i]) == Outcome.FAIL) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Deviation in the policy's own unit: absolute amount, relative fraction, or ULP count.
+     */
+    public double deviation(double expected, double actual) {
+        switch (kind) {
+            case RELATIVE: {
+                double magnitude = Math.max(Math.abs(expected), Math.abs(actual));
+                return magnitude == 0 ? 0 : Math.abs(expected - actual) / magnitude;
+            }
+            case ULP:
+                return ulpDistance(expected, actual);
+            case ROUNDED:
+                return Math.abs(round(expected) - round(actual));
+            case ABSOLUTE:
+            default:
+                return Math.abs(expected - actual);
+        }
+    }
+
+    /**
+     * Rounds a value to this policy's scale using its rounding mode, without BigDecimal.
+     */
+    double round(double value) {
+        // Snap away binary noise (e.g. 2.345 × 100 = 234.50000000000003) so ties are decided as in decimal
+        double scaled = Math.rint(value * scaleFactor * 1e6) / 1e6;
+        double rounded;
+        switch (roundingMode) {
+            case UP:
+                rounded = scaled >= 0 ? Math.ceil(scaled) : Math.floor(scaled);
+                break;
+            case DOWN:
+                rounded = scaled >= 0 ? Math.floor(scaled) : Math.ceil(scaled);
+                break;
+            case CEILING:
+                rounded = Math.ceil(scaled);
+                break;
+            case FLOOR:
+                rounded = Math.floor(scaled);
+                break;
+            case HALF_EVEN:
+                rounded = Math.rint(scaled);
+                break;
+            case HALF_DOWN:
+                rounded = Math.signum(scaled) * Math.ceil(Math.abs(scaled) - 0.5);
+                break;
+            case HALF_UP:
+            default:
+                rounded = Math.signum(scaled) * Math.floor(Math.abs(scaled) + 0.5);
+                break;
+        }
+        return rounded / scaleFactor;
+    }
+
+    private static double ulpDistance(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        long bitsA = orderedBits(a);
+        long bitsB = orderedBits(b);
+        return Math.abs((double) bitsA - (double) bitsB);
+    }
+
+    // Maps doubles onto a monotonically ordered long line so adjacent values differ by 1
+    private static long orderedBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? Long.MIN_VALUE - bits : bits;
+    }
+
+    public Kind getKind() { return kind; }
+    public double getTolerance() { return tolerance; }
+    public int getScale() { return scale; }
+    public RoundingMode getRoundingMode() { return roundingMode; }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
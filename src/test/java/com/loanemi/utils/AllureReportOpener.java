@@ -1,56 +1,123 @@
 package com.loanemi.utils;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * Utility class for generating and opening Allure reports automatically
- * after test suite execution. Assumes 'allure' CLI is available in system PATH.
+ * Generates the Allure report (and optionally opens it) in the background at the end of the
+ * suite, without making the test JVM wait for it.
+ *
+ * 'allure generate' is started as a separate process whose output goes to allureLogFile; the
+ * suite carries on (and may exit) while it runs, and the report is completed either way.
+ * A watcher thread logs how long generation took and, when allureAutoOpen is set, starts
+ * 'allure open' afterwards; that process serves the report until it is closed and is never
+ * waited for. With auto-open the watcher keeps the JVM alive until generation has finished,
+ * so the report can be opened; otherwise the JVM is free to exit at once.
+ *
+ * Config keys: allureExecutable (a path, or a command on PATH; allure.bat on Windows),
+ * allureResultsDir, allureReportDir, allureAutoOpen, allureLogFile.
  */
 public class AllureReportOpener {
 
     private static final Logger logger = LogManager.getLogger("SetupLogger");
- // allurePath=C:\\Users\\2407257\\Downloads\\allure-2.34.1\\bin\\allure.bat
-    private static final String allureExecutable = ConfigReader.getProperty("allurePath");
-    
-    
+
+    private static final String allureExecutable = ConfigReader.getProperty("allureExecutable", "allure").trim();
+    private static final String resultsDir = ConfigReader.getProperty("allureResultsDir", "target/allure-results");
+    private static final String reportDir = ConfigReader.getProperty("allureReportDir", "target/allure-report");
+    private static final boolean autoOpen = Boolean.parseBoolean(ConfigReader.getProperty("allureAutoOpen", "false"));
+    private static final String logFile = ConfigReader.getProperty("allureLogFile", "target/allure-generate.log");
+
+    // Set while a generation started by this JVM is still running
+    private static final AtomicBoolean generating = new AtomicBoolean();
+
     /**
-     * Generates Allure report from test result data and opens it in the default browser.
-     * Uses ProcessBuilder to execute 'allure generate' and 'allure open' commands.
-     * Logs status and handles exceptions gracefully.
+     * Starts generating the Allure report from allureResultsDir and returns immediately.
+     * Does nothing if there are no results or a generation from this JVM is still running.
      */
     public static void openAllureReport() {
+        long results = countResults();
+        if (results == 0) {
+            logger.info("Allure: no results in {}, report not generated", resultsDir);
+            return;
+        }
+        if (!generating.compareAndSet(false, true)) {
+            logger.warn("Allure: report generation already running, not started again");
+            return;
+        }
 
+        ProcessBuilder generate = new ProcessBuilder(
+                allureExecutable, "generate", resultsDir, "-o", reportDir, "--clean");
+        long start = System.nanoTime();
+        Process process;
         try {
-            // Step 1: Generate the Allure report from results directory
-            ProcessBuilder generate = new ProcessBuilder(
-            	allureExecutable, "generate", "target/allure-results", "-o", "target/allure-report", "--clean"
-            );
-            generate.inheritIO(); // Shares console output with parent process
-            logger.info("TestNG: Generating Allure report... {}", generate.command());
-
-            Process genProcess = generate.start(); // Launch report generation
-            genProcess.waitFor(); // Wait until report generation completes
-            logger.info("TestNG: Allure report generated successfully");
-
-            // Step 2: Open the generated report in default system browser
-            ProcessBuilder open = new ProcessBuilder(
-            	allureExecutable, "open", "target/allure-report"
-            );
-            open.inheritIO();
-            logger.info("TestNG: Opening Allure report... {}", open.command());
-
-            Process openProcess = open.start(); // Launch browser
-            openProcess.waitFor(); // Block until open process completes
-            logger.info("TestNG: Allure report opened successfully");
-
-        } catch (IOException | InterruptedException e) {
-            logger.error("TestNG: Failed to generate or open Allure report", e);
-
-            // Preserve interrupt flag for graceful shutdown behavior
+            process = start(generate);
+        } catch (IOException e) {
+            generating.set(false);
+            logger.error("Allure: could not start '{}' (set allureExecutable to the Allure command line): {}",
+                    allureExecutable, e.getMessage());
+            return;
+        }
+        logger.info("Allure: generating report from {} result file(s) in the background: {} (output: {})",
+                results, generate.command(), logFile);
+
+        Thread watcher = new Thread(() -> awaitGeneration(process, start), "allure-generate");
+        watcher.setDaemon(!autoOpen); // Only auto-open needs the JVM to outlive generation
+        watcher.start();
+    }
+
+    private static void awaitGeneration(Process process, long start) {
+        try {
+            int exitCode = process.waitFor();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (exitCode != 0) {
+                logger.error("Allure: report generation failed with exit code {} after {} ms, see {}",
+                        exitCode, millis, logFile);
+                return;
+            }
+            logger.info("Allure: report generated in {} ms at {}", millis, reportDir);
+            if (autoOpen) {
+                ProcessBuilder open = new ProcessBuilder(allureExecutable, "open", reportDir);
+                start(open);
+                logger.info("Allure: opening report: {}", open.command());
+            }
+        } catch (IOException e) {
+            logger.error("Allure: could not open report", e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+        } finally {
+            generating.set(false);
+        }
+    }
+
+    // Starts a process that runs independently of this JVM, its output appended to the log file
+    private static Process start(ProcessBuilder builder) throws IOException {
+        File log = new File(logFile);
+        if (log.getParentFile() != null) {
+            log.getParentFile().mkdirs();
+        }
+        return builder.redirectErrorStream(true)
+                .redirectOutput(Redirect.appendTo(log))
+                .start();
+    }
+
+    private static long countResults() {
+        Path dir = Paths.get(resultsDir);
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-result.json")).count();
+        } catch (IOException e) {
+            return 0;
         }
     }
 }
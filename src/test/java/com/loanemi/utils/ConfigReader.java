@@ -53,4 +53,24 @@ public class ConfigReader {
 
         return value;
     }
+
+    /**
+     * Fetches an optional configuration value, falling back to the given default
+     * without logging a warning when the key is absent.
+     *
+     * @param key          The property key to look up
+     * @param defaultValue Value returned when the key is not defined
+     * @return String value associated with the key, or defaultValue if not found
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+
+        if (value != null) {
+            logger.debug("ConfigReader: Retrieved value for key '{}': {}", key, value);
+            return value.trim();
+        }
+
+        logger.debug("ConfigReader: No value for optional key '{}', using default: {}", key, defaultValue);
+        return defaultValue;
+    }
 }
@@ -0,0 +1,41 @@
+package com.loanemi.utils;
+
+/**
+ * How {@link ExcelWorkbookSession} builds the workbook it writes (config key: excelExportMode).
+ *
+ * BATCHED:   full XSSF workbook in memory; any cell may be edited in any order.
+ * STREAMING: SXSSF workbook; only the last excelStreamWindow rows of each sheet are kept in
+ *            memory, older rows are flushed to (optionally gzip-compressed) temp files, so heap
+ *            use stays flat however many rows are exported. Rows must be written in ascending
+ *            order, and sheets already in the file can only be replaced (clearSheet), not edited.
+ */
+public enum ExcelExportMode {
+    BATCHED,
+    STREAMING;
+
+    private static final ExcelExportMode configured =
+            ExcelExportMode.valueOf(ConfigReader.getProperty("excelExportMode", "BATCHED").toUpperCase());
+
+    // Rows per sheet kept in memory in STREAMING mode
+    private static final int streamWindow =
+            Integer.parseInt(ConfigReader.getProperty("excelStreamWindow", "100"));
+
+    // Gzip SXSSF temp files: less disk, a little more CPU
+    private static final boolean compressTempFiles =
+            Boolean.parseBoolean(ConfigReader.getProperty("excelStreamCompressTemp", "true"));
+
+    /**
+     * Mode configured for this run.
+     */
+    public static ExcelExportMode configured() {
+        return configured;
+    }
+
+    public static int streamWindow() {
+        return streamWindow;
+    }
+
+    public static boolean compressTempFiles() {
+        return compressTempFiles;
+    }
+}
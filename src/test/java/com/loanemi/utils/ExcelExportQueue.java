@@ -0,0 +1,265 @@
+package com.loanemi.utils;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bounded write-behind queue for Excel exports.
+ *
+ * Page objects used to build and save workbooks on the test thread, leaving the browser idle
+ * while POI serialized the file. They now submit an immutable batch of rows and carry on;
+ * dedicated writer threads open an {@link ExcelWorkbookSession}, replace the target sheet with
+ * the batch and commit. The queue is bounded: when writers fall behind, {@link #submit} blocks
+ * (backpressure) instead of buffering without limit.
+ *
+ * {@link #flush(long)} waits until every submitted batch is on disk; it is called at suite end
+ * (and from a shutdown hook as a safety net). Queue depth, wait time and write latency are
+ * tracked and available from {@link #stats()}.
+ *
+ * Config keys: excelWriteBehind (false = write on the calling thread), excelQueueCapacity,
+ * excelWriterThreads.
+ */
+public final class ExcelExportQueue {
+
+    private static final Logger logger = LogManager.getLogger("ExcelLogger");
+
+    private static final ExcelExportQueue shared = new ExcelExportQueue(
+            Boolean.parseBoolean(ConfigReader.getProperty("excelWriteBehind", "true")),
+            Integer.parseInt(ConfigReader.getProperty("excelQueueCapacity", "64")),
+            Integer.parseInt(ConfigReader.getProperty("excelWriterThreads", "2")));
+
+    private final boolean async;
+    private final BlockingQueue<Batch> queue;
+
+    // Batches submitted but not yet written (queued or in progress)
+    private final AtomicLong pending = new AtomicLong();
+    private final Object drained = new Object();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    /**
+     * One sheet's worth of rows, replacing the sheet's previous content.
+     */
+    private static final class Batch {
+        final String filePath;
+        final String sheetName;
+        final List<String[]> rows;
+        final long submittedNanos = System.nanoTime();
+
+        Batch(String filePath, String sheetName, List<String[]> rows) {
+            this.filePath = filePath;
+            this.sheetName = sheetName;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param async    false to write synchronously on the submitting thread
+     * @param capacity Batches that can wait before submit blocks
+     * @param writers  Writer threads
+     */
+    public ExcelExportQueue(boolean async, int capacity, int writers) {
+        if (capacity < 1 || writers < 1) {
+            throw new IllegalArgumentException("Excel export queue needs a positive capacity and writer count: "
+                    + capacity + ", " + writers);
+        }
+        this.async = async;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        if (async) {
+            for (int w = 0; w < writers; w++) {
+                Thread writer = new Thread(this::writeLoop, "excel-writer-" + w);
+                writer.setDaemon(true);
+                writer.start();
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(TimeUnit.SECONDS.toMillis(30)),
+                    "excel-writer-flush"));
+            logger.info("Excel write-behind queue started: capacity {}, {} writer thread(s)", capacity, writers);
+        }
+    }
+
+    /**
+     * Process-wide queue configured from config.properties.
+     */
+    public static ExcelExportQueue shared() {
+        return shared;
+    }
+
+    /**
+     * Queues rows to replace the given sheet, starting at row 0. Empty arrays leave a blank row.
+     * The row arrays are handed over to the queue: do not modify them after submitting.
+     * Blocks while the queue is full.
+     *
+     * @param filePath  Workbook to write (shared workbook or this thread's shard)
+     * @param sheetName Sheet to replace
+     * @param rows      Rows to write, in order
+     */
+    public void submit(String filePath, String sheetName, List<String[]> rows) {
+        Batch batch = new Batch(filePath, sheetName, List.copyOf(rows));
+        submitted.increment();
+        pending.incrementAndGet();
+
+        if (!async) {
+            write(batch);
+            return;
+        }
+
+        if (!queue.offer(batch)) {
+            long start = System.nanoTime();
+            logger.debug("Excel export queue full, waiting for a writer");
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while queuing export of sheet '{}'; writing it synchronously", sheetName);
+                write(batch);
+                return;
+            } finally {
+                blockedNanos.add(System.nanoTime() - start);
+            }
+        }
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Waits until every batch submitted so far has been written (or has failed).
+     *
+     * @param timeoutMillis Maximum time to wait
+     * @return true if the queue drained in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (drained) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.error("Excel export flush timed out with {} batch(es) pending", pending.get());
+                    return false;
+                }
+                try {
+                    drained.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        if (submitted.sum() > 0) {
+            logger.info("Excel exports flushed: {}", stats());
+        }
+        if (failed.sum() > 0) {
+            logger.error("{} Excel export batch(es) failed; see earlier errors", failed.sum());
+        }
+        return true;
+    }
+
+    /**
+     * Snapshot of the queue's counters.
+     */
+    public Stats stats() {
+        long done = written.sum() + failed.sum();
+        return new Stats(queue.size(), maxDepth.get(), submitted.sum(), written.sum(), failed.sum(),
+                rowsWritten.sum(),
+                done == 0 ? 0 : latencyNanos.sum() / done / 1_000_000.0,
+                maxLatencyNanos.get() / 1_000_000.0,
+                blockedNanos.sum() / 1_000_000.0);
+    }
+
+    /**
+     * Queue metrics. Latency is measured from submit to the batch being on disk.
+     */
+    public static final class Stats {
+
+        private final int depth;
+        private final int maxDepth;
+        private final long submitted;
+        private final long written;
+        private final long failed;
+        private final long rows;
+        private final double meanLatencyMillis;
+        private final double maxLatencyMillis;
+        private final double blockedMillis;
+
+        Stats(int depth, int maxDepth, long submitted, long written, long failed, long rows,
+              double meanLatencyMillis, double maxLatencyMillis, double blockedMillis) {
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.submitted = submitted;
+            this.written = written;
+            this.failed = failed;
+            this.rows = rows;
+            this.meanLatencyMillis = meanLatencyMillis;
+            this.maxLatencyMillis = maxLatencyMillis;
+            this.blockedMillis = blockedMillis;
+        }
+
+        public int getDepth() { return depth; }
+        public int getMaxDepth() { return maxDepth; }
+        public long getSubmitted() { return submitted; }
+        public long getWritten() { return written; }
+        public long getFailed() { return failed; }
+        public long getRows() { return rows; }
+        public double getMeanLatencyMillis() { return meanLatencyMillis; }
+        public double getMaxLatencyMillis() { return maxLatencyMillis; }
+        public double getBlockedMillis() { return blockedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("ExcelExportQueue{depth=%d, maxDepth=%d, submitted=%d, written=%d, failed=%d, "
+                    + "rows=%d, meanLatency=%.1f ms, maxLatency=%.1f ms, producersBlocked=%.1f ms}",
+                    depth, maxDepth, submitted, written, failed, rows,
+                    meanLatencyMillis, maxLatencyMillis, blockedMillis);
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            write(batch);
+        }
+    }
+
+    private void write(Batch batch) {
+        try (ExcelWorkbookSession session = ExcelUtils.openSession(batch.filePath)) {
+            session.clearSheet(batch.sheetName);
+            session.writeRows(batch.sheetName, 0, 0, batch.rows);
+            session.commit();
+            written.increment();
+            rowsWritten.add(batch.rows.size());
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("Excel export of sheet '{}' to '{}' failed", batch.sheetName, batch.filePath, e);
+        } finally {
+            long latency = System.nanoTime() - batch.submittedNanos;
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            if (pending.decrementAndGet() == 0) {
+                synchronized (drained) {
+                    drained.notifyAll();
+                }
+            }
+        }
+    }
+}
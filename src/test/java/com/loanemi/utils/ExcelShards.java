@@ -0,0 +1,253 @@
+package com.loanemi.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Per-thread Excel output shards, merged into a single workbook at the end of the suite.
+ *
+ * With parallel tests every thread used to write the same workbook, queuing on its file lock
+ * and clearing each other's sheets. With sharding enabled (config key: excelShards) each
+ * thread writes its own shard file under excelShardDir, so writers never contend, and every
+ * export gets its own sheet named after the scenario and browser running on that thread.
+ * {@link #mergeInto(String)} then copies all shard sheets into one workbook, plus an "Index"
+ * sheet mapping each sheet to its scenario, browser and source shard.
+ *
+ * Threads declare what they are running with {@link #setContext(String, String)}
+ * (Cucumber hooks and LoanEMITest do this before each scenario or test method).
+ */
+public final class ExcelShards {
+
+    private static final Logger logger = LogManager.getLogger("ExcelLogger");
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigReader.getProperty("excelShards", "false"));
+    private static final String shardDir =
+            ConfigReader.getProperty("excelShardDir", "target/excel-shards");
+
+    // Excel's limit on sheet name length
+    private static final int MAX_SHEET_NAME = 31;
+
+    private static final ThreadLocal<String> scenario = new ThreadLocal<>();
+    private static final ThreadLocal<String> browser = new ThreadLocal<>();
+
+    // Every shard sheet written in this run, keyed by shard file then sheet name (retries overwrite)
+    private static final Map<String, Map<String, ShardSheet>> written = new ConcurrentHashMap<>();
+
+    private ExcelShards() {
+    }
+
+    /**
+     * One sheet exported into a shard.
+     */
+    private static final class ShardSheet {
+        final String kind;
+        final String scenario;
+        final String browser;
+
+        ShardSheet(String kind, String scenario, String browser) {
+            this.kind = kind;
+            this.scenario = scenario;
+            this.browser = browser;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the scenario and browser the current thread is running, used to name its sheets.
+     */
+    public static void setContext(String scenarioName, String browserName) {
+        scenario.set(scenarioName);
+        browser.set(browserName);
+    }
+
+    /**
+     * Opens an edit session for the current thread's exports: its own shard file when
+     * sharding is enabled, otherwise the shared workbook.
+     *
+     * @param sharedPath Workbook used when sharding is disabled (usually excelPath)
+     */
+    public static ExcelWorkbookSession openSession(String sharedPath) {
+        return ExcelUtils.openSession(targetPath(sharedPath));
+    }
+
+    /**
+     * Workbook the current thread's exports go to: its own shard file when sharding is
+     * enabled, otherwise the shared workbook. Resolve this on the exporting thread before
+     * handing rows to another thread (e.g. {@link ExcelExportQueue}).
+     *
+     * @param sharedPath Workbook used when sharding is disabled (usually excelPath)
+     */
+    public static String targetPath(String sharedPath) {
+        if (!enabled) {
+            return sharedPath;
+        }
+        String shard = shardPath();
+        new File(shard).getParentFile().mkdirs();
+        return shard;
+    }
+
+    /**
+     * Name of the sheet an export of the given kind should use on this thread: the kind
+     * itself when sharding is disabled, otherwise kind, browser and scenario combined.
+     *
+     * @param kind Configured sheet name (e.g. LoanSheet, YearlyDataSheet)
+     */
+    public static String sheetFor(String kind) {
+        if (!enabled) {
+            return kind;
+        }
+        String scenarioName = scenario.get() != null ? scenario.get() : Thread.currentThread().getName();
+        String browserName = browser.get() != null ? browser.get() : "unknown";
+
+        String name = WorkbookUtil.createSafeSheetName(
+                kind + "_" + shortBrowser(browserName) + "_" + scenarioName.replaceAll("\\s+", ""));
+        if (name.length() > MAX_SHEET_NAME) {
+            name = name.substring(0, MAX_SHEET_NAME);
+        }
+
+        written.computeIfAbsent(shardPath(), k -> new ConcurrentHashMap<>())
+               .put(name, new ShardSheet(kind, scenarioName, browserName));
+        return name;
+    }
+
+    /**
+     * Copies every shard sheet written in this run into a fresh workbook at the target path,
+     * then deletes the shard files. Does nothing when sharding is disabled or nothing was written.
+     *
+     * @param targetPath Merged workbook (replaced if it exists)
+     */
+    public static void mergeInto(String targetPath) {
+        if (!enabled || written.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        // Shards and their sheets in a stable order so repeated runs produce the same sheet order
+        Map<String, Map<String, ShardSheet>> shards = new LinkedHashMap<>();
+        written.keySet().stream().sorted().forEach(k -> shards.put(k, written.get(k)));
+
+        try {
+            Files.deleteIfExists(Paths.get(targetPath));
+        } catch (IOException e) {
+            logger.error("Cannot replace merged workbook: {}", targetPath, e);
+            return;
+        }
+
+        int sheets = 0;
+        DataFormatter formatter = new DataFormatter();
+        Set<String> usedNames = new HashSet<>();
+        List<String[]> index = new ArrayList<>();
+        index.add(new String[] { "Sheet", "Export", "Scenario", "Browser", "Shard" });
+
+        try (ExcelWorkbookSession target = ExcelUtils.openSession(targetPath)) {
+            target.sheet("Index"); // First sheet; filled in once all shards are copied
+            usedNames.add("index");
+
+            for (Map.Entry<String, Map<String, ShardSheet>> shard : shards.entrySet()) {
+                File shardFile = new File(shard.getKey());
+                if (!shardFile.exists()) {
+                    logger.warn("Shard file missing, skipped: {}", shardFile);
+                    continue;
+                }
+                try (FileInputStream fis = new FileInputStream(shardFile);
+                     XSSFWorkbook source = new XSSFWorkbook(fis)) {
+                    for (Map.Entry<String, ShardSheet> entry : new TreeMap<>(shard.getValue()).entrySet()) {
+                        Sheet sheet = source.getSheet(entry.getKey());
+                        if (sheet == null) {
+                            continue;
+                        }
+                        String name = uniqueName(entry.getKey(), usedNames);
+                        copySheet(sheet, target, name, formatter);
+                        ShardSheet meta = entry.getValue();
+                        index.add(new String[] { name, meta.kind, meta.scenario, meta.browser, shardFile.getName() });
+                        sheets++;
+                    }
+                }
+            }
+            target.writeRows("Index", 0, 0, index);
+            target.commit();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to merge Excel shards into '{}'", targetPath, e);
+            return;
+        }
+
+        logger.info("Merged {} sheet(s) from {} shard(s) into '{}' in {} ms",
+                sheets, shards.size(), targetPath, (System.nanoTime() - start) / 1_000_000);
+        written.clear();
+        deleteShards();
+    }
+
+    private static void copySheet(Sheet sheet, ExcelWorkbookSession target, String name, DataFormatter formatter) {
+        target.sheet(name);
+        for (Row row : sheet) {
+            int last = row.getLastCellNum();
+            if (last <= 0) {
+                continue;
+            }
+            String[] values = new String[last];
+            for (Cell cell : row) {
+                values[cell.getColumnIndex()] = formatter.formatCellValue(cell);
+            }
+            target.writeRow(name, row.getRowNum(), values);
+        }
+    }
+
+    // Sheet names truncated to 31 characters can collide across shards: add a ~n suffix
+    private static String uniqueName(String name, Set<String> used) {
+        String candidate = name;
+        for (int n = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); n++) {
+            String suffix = "~" + n;
+            candidate = name.substring(0, Math.min(name.length(), MAX_SHEET_NAME - suffix.length())) + suffix;
+        }
+        return candidate;
+    }
+
+    private static String shardPath() {
+        return Paths.get(shardDir, "shard-" + Thread.currentThread().getId() + ".xlsx").toString();
+    }
+
+    private static String shortBrowser(String browserName) {
+        String lower = browserName.toLowerCase(Locale.ROOT);
+        return lower.startsWith("microsoft") ? lower.substring("microsoft".length()) : lower;
+    }
+
+    private static void deleteShards() {
+        Path dir = Paths.get(shardDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Could not delete Excel shard directory: {}", dir, e);
+        }
+    }
+}
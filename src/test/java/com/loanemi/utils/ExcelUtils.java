@@ -3,10 +3,9 @@ package com.loanemi.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
-import java.io.*;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utility class for performing Excel operations.
@@ -16,9 +15,36 @@ public class ExcelUtils {
 
     private static final Logger logger = LogManager.getLogger("ExcelLogger");
 
+    // One lock per Excel file, shared by sessions and the single-cell helpers below
+    private static final ConcurrentHashMap<String, ReentrantLock> fileLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Opens an edit session on the given file in the configured {@link ExcelExportMode},
+     * creating the workbook on commit if it does not exist yet. Blocks while another thread holds a session on the same file.
+     * Prefer this over {@link #setCellData} whenever more than a handful of cells are written.
+     *
+     * @param filePath Path to the target Excel file
+     * @return Open session; close it (try-with-resources) to release the file
+     */
+    public static ExcelWorkbookSession openSession(String filePath) {
+        return openSession(filePath, ExcelExportMode.configured());
+    }
+
+    /**
+     * Opens an edit session in the given mode, ignoring the configured one.
+     *
+     * @param filePath Path to the target Excel file
+     * @param mode     BATCHED (in-memory workbook) or STREAMING (SXSSF row window)
+     * @return Open session; close it (try-with-resources) to release the file
+     */
+    public static ExcelWorkbookSession openSession(String filePath, ExcelExportMode mode) {
+        return new ExcelWorkbookSession(filePath, lockFor(filePath), mode);
+    }
+
     /**
      * Thread-safe method to set a single cell value in the specified sheet and file.
      * Automatically creates the sheet, row, or cell if it doesn't exist.
+     * Reads and rewrites the whole workbook: use {@link #openSession} for bulk writes.
      *
      * @param filePath  Path to the target Excel file
      * @param sheetName Sheet to operate on
@@ -27,61 +53,15 @@ public class ExcelUtils {
      * @param value     String value to set
      */
     public static void setCellData(String filePath, String sheetName, int rowNum, int colNum, String value) {
-        synchronized (filePath.intern()) { // Ensure thread-safe access per file
-            logger.info("Attempting to write to Excel: {}, Sheet: {}, Row: {}, Column: {}, Value: {}",
-                        filePath, sheetName, rowNum, colNum, value);
-
-            try {
-                File file = new File(filePath);
-                Workbook workbook;
-                Sheet sheet;
-
-                // Load existing workbook or create new one
-                if (file.exists()) {
-                    FileInputStream fis = new FileInputStream(file);
-                    workbook = new XSSFWorkbook(fis);
-                    fis.close();
-                    logger.info("Existing Excel file found: {}", filePath);
-                } else {
-                    workbook = new XSSFWorkbook();
-                    logger.info("Creating new Excel file: {}", filePath);
-                }
-
-                // Retrieve or create sheet
-                sheet = workbook.getSheet(sheetName);
-                if (sheet == null) {
-                    sheet = workbook.createSheet(sheetName);
-                    logger.info("Created new sheet: {}", sheetName);
-                }
-
-                // Retrieve or create row
-                Row row = sheet.getRow(rowNum);
-                if (row == null) {
-                    row = sheet.createRow(rowNum);
-                    logger.debug("Created new row at index {}", rowNum);
-                }
-
-                // Retrieve or create cell
-                Cell cell = row.getCell(colNum);
-                if (cell == null) {
-                    cell = row.createCell(colNum);
-                    logger.debug("Created new cell at column {}", colNum);
-                }
-
-                // Set value and write to disk
-                cell.setCellValue(value);
-                logger.info("Successfully set cell value at row {}, column {}", rowNum, colNum);
-
-                FileOutputStream fos = new FileOutputStream(filePath);
-                workbook.write(fos);
-                fos.close();
-                workbook.close();
-
-                logger.info("Excel write completed and file saved: {}", filePath);
-
-            } catch (Exception e) {
-                logger.error("Error writing to Excel file: {}", filePath, e);
-            }
+        logger.info("Attempting to write to Excel: {}, Sheet: {}, Row: {}, Column: {}, Value: {}",
+                    filePath, sheetName, rowNum, colNum, value);
+
+        try (ExcelWorkbookSession session = openSession(filePath, ExcelExportMode.BATCHED)) { // Ensure thread-safe access per file
+            session.setCell(sheetName, rowNum, colNum, value);
+            session.commit();
+            logger.info("Successfully set cell value at row {}, column {}", rowNum, colNum);
+        } catch (Exception e) {
+            logger.error("Error writing to Excel file: {}", filePath, e);
         }
     }
 
@@ -93,34 +73,20 @@ public class ExcelUtils {
      * @param sheetName Name of the sheet to clear
      */
     public static void clearSheet(String filePath, String sheetName) {
-        synchronized (filePath.intern()) { // Thread safety per Excel file
-            logger.info("Clearing sheet '{}' in file '{}'", sheetName, filePath);
-
-            try {
-                FileInputStream fis = new FileInputStream(filePath);
-                Workbook workbook = WorkbookFactory.create(fis);
-                fis.close();
-
-                // Remove sheet if it exists
-                int sheetIndex = workbook.getSheetIndex(sheetName);
-                if (sheetIndex != -1) {
-                    workbook.removeSheetAt(sheetIndex);
-                    logger.info("Removed existing sheet: {}", sheetName);
-                }
-
-                // Recreate fresh sheet
-                workbook.createSheet(sheetName);
-                logger.info("Recreated fresh sheet: {}", sheetName);
-
-                FileOutputStream fos = new FileOutputStream(filePath);
-                workbook.write(fos);
-                workbook.close();
-                fos.close();
-
-                logger.info("Sheet '{}' cleared and Excel file updated", sheetName);
-            } catch (Exception e) {
-                logger.error("Failed to clear sheet '{}' in file '{}'", sheetName, filePath, e);
-            }
+        logger.info("Clearing sheet '{}' in file '{}'", sheetName, filePath);
+
+        try (ExcelWorkbookSession session = openSession(filePath, ExcelExportMode.BATCHED)) { // Thread safety per Excel file
+            session.clearSheet(sheetName);
+            session.commit();
+            logger.info("Sheet '{}' cleared and Excel file updated", sheetName);
+        } catch (Exception e) {
+            logger.error("Failed to clear sheet '{}' in file '{}'", sheetName, filePath, e);
         }
     }
+
+    // Same file, same lock, however the path is spelled
+    private static ReentrantLock lockFor(String filePath) {
+        String key = Paths.get(filePath).toAbsolutePath().normalize().toString();
+        return fileLocks.computeIfAbsent(key, k -> new ReentrantLock());
+    }
 }
@@ -0,0 +1,269 @@
+package com.loanemi.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import com.loanemi.timing.JfrEvents;
+import com.loanemi.timing.TimingEvents;
+
+/**
+ * Batched edit session on one Excel workbook.
+ *
+ * The workbook is read once when the session opens, edited in memory (single cells, whole
+ * rows or rectangular blocks) and written to disk once on {@link #commit()}. In
+ * {@link ExcelExportMode#STREAMING} mode rows are streamed through SXSSF instead, keeping
+ * only a window of rows per sheet in memory (see the mode for its constraints). The session
+ * holds the file's lock from open to close, so concurrent writers to the same file are
+ * serialized exactly as with {@link ExcelUtils#setCellData}; sessions on different files
+ * run in parallel. Not thread-safe itself: use a session from the thread that opened it.
+ *
+ * Usage:
+ * <pre>
+ * try (ExcelWorkbookSession session = ExcelUtils.openSession(excelPath)) {
+ *     session.clearSheet(sheet);
+ *     session.writeRow(sheet, 0, "Year", "Principal (A)", ...);
+ *     session.commit();
+ * }
+ * </pre>
+ * Closing without committing discards the edits.
+ */
+public class ExcelWorkbookSession implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger("ExcelLogger");
+
+    private final String filePath;
+    private final ReentrantLock lock;
+    private final ExcelExportMode mode;
+    private final Workbook workbook;
+
+    private int pendingCells;
+    private boolean committed;
+    private boolean closed;
+
+    ExcelWorkbookSession(String filePath, ReentrantLock lock, ExcelExportMode mode) {
+        this.filePath = filePath;
+        this.lock = lock;
+        this.mode = mode;
+
+        lock.lock(); // Released in close()
+        boolean opened = false;
+        try {
+            XSSFWorkbook loaded = load(filePath);
+            this.workbook = mode == ExcelExportMode.STREAMING
+                    ? new SXSSFWorkbook(loaded, ExcelExportMode.streamWindow(), ExcelExportMode.compressTempFiles())
+                    : loaded;
+            opened = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open Excel file " + filePath, e);
+        } finally {
+            if (!opened) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static XSSFWorkbook load(String filePath) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            logger.info("Creating new Excel file: {}", filePath);
+            return new XSSFWorkbook();
+        }
+        JfrEvents.DataIo io = JfrEvents.dataIo("excel-read", filePath);
+        String outcome = TimingEvents.FAILED;
+        try (FileInputStream fis = new FileInputStream(file)) {
+            logger.info("Existing Excel file found: {}", filePath);
+            XSSFWorkbook loaded = new XSSFWorkbook(fis);
+            outcome = TimingEvents.OK;
+            return loaded;
+        } finally {
+            io.end(outcome);
+        }
+    }
+
+    /**
+     * Returns the named sheet, creating it if needed.
+     */
+    public Sheet sheet(String sheetName) {
+        ensureOpen();
+        Sheet sheet = workbook.getSheet(sheetName);
+        if (sheet == null) {
+            sheet = workbook.createSheet(sheetName);
+            logger.info("Created new sheet: {}", sheetName);
+        }
+        return sheet;
+    }
+
+    /**
+     * Removes the named sheet (if present) and recreates it empty.
+     */
+    public void clearSheet(String sheetName) {
+        ensureOpen();
+        int sheetIndex = workbook.getSheetIndex(sheetName);
+        if (sheetIndex != -1) {
+            workbook.removeSheetAt(sheetIndex);
+            logger.info("Removed existing sheet: {}", sheetName);
+        }
+        workbook.createSheet(sheetName);
+        logger.info("Recreated fresh sheet: {}", sheetName);
+    }
+
+    /**
+     * Sets a single cell value (0-based row and column).
+     */
+    public void setCell(String sheetName, int rowNum, int colNum, String value) {
+        cell(row(sheet(sheetName), rowNum), colNum).setCellValue(value);
+        pendingCells++;
+    }
+
+    /**
+     * Writes values into consecutive cells of one row, starting at column 0.
+     */
+    public void writeRow(String sheetName, int rowNum, String... values) {
+        writeRow(sheetName, rowNum, 0, values);
+    }
+
+    /**
+     * Writes values into consecutive cells of one row, starting at the given column.
+     */
+    public void writeRow(String sheetName, int rowNum, int firstCol, String... values) {
+        Row row = row(sheet(sheetName), rowNum);
+        for (int i = 0; i < values.length; i++) {
+            cell(row, firstCol + i).setCellValue(values[i]);
+        }
+        pendingCells += values.length;
+    }
+
+    /**
+     * Writes a block of rows starting at (firstRow, firstCol). Rows may differ in length.
+     *
+     * @return Index of the row after the block
+     */
+    public int writeRows(String sheetName, int firstRow, int firstCol, List<String[]> rows) {
+        Sheet sheet = sheet(sheetName);
+        int rowNum = firstRow;
+        for (String[] values : rows) {
+            Row row = row(sheet, rowNum++);
+            for (int i = 0; i < values.length; i++) {
+                cell(row, firstCol + i).setCellValue(values[i]);
+            }
+            pendingCells += values.length;
+        }
+        return rowNum;
+    }
+
+    /**
+     * Writes values down one column, starting at the given row.
+     */
+    public void writeColumn(String sheetName, int firstRow, int colNum, String... values) {
+        Sheet sheet = sheet(sheetName);
+        for (int i = 0; i < values.length; i++) {
+            cell(row(sheet, firstRow + i), colNum).setCellValue(values[i]);
+        }
+        pendingCells += values.length;
+    }
+
+    /**
+     * Writes the workbook to disk. The file is written to a temporary sibling first and
+     * then moved into place, so readers never see a half-written workbook.
+     * A STREAMING session can be committed once; open a new session for further edits.
+     */
+    public void commit() {
+        ensureOpen();
+        if (committed && mode == ExcelExportMode.STREAMING) {
+            throw new IllegalStateException("Streaming Excel session already committed: " + filePath);
+        }
+        long start = System.nanoTime();
+        JfrEvents.DataIo io = JfrEvents.dataIo("excel-write", filePath);
+        Path target = new File(filePath).getAbsoluteFile().toPath();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileOutputStream fos = new FileOutputStream(temp.toFile())) {
+                workbook.write(fos);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            io.end(TimingEvents.FAILED);
+            throw new UncheckedIOException("Cannot write Excel file " + filePath, e);
+        }
+        io.end(TimingEvents.OK);
+        logger.info("Excel write completed and file saved: {} ({} cell(s) in {} ms, {} mode)",
+                filePath, pendingCells, (System.nanoTime() - start) / 1_000_000, mode);
+        pendingCells = 0;
+        committed = true;
+    }
+
+    /**
+     * Releases the file lock. Uncommitted edits are discarded.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (pendingCells > 0) {
+                logger.warn("Discarding {} uncommitted cell(s) for Excel file: {}", pendingCells, filePath);
+            }
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose(); // Delete flushed-row temp files
+            }
+            workbook.close();
+        } catch (IOException e) {
+            logger.warn("Error closing workbook: {}", filePath, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Excel session already closed: " + filePath);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary Excel file: {}", temp, e);
+        }
+    }
+
+    private static Row row(Sheet sheet, int rowNum) {
+        Row row = sheet.getRow(rowNum);
+        return row != null ? row : sheet.createRow(rowNum);
+    }
+
+    private static Cell cell(Row row, int colNum) {
+        Cell cell = row.getCell(colNum);
+        return cell != null ? cell : row.createCell(colNum);
+    }
+}
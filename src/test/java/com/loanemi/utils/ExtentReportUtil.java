@@ -2,72 +2,229 @@ package com.loanemi.utils;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.loanemi.timing.JfrEvents;
+import com.loanemi.timing.TimingEvents;
 
 /**
  * Utility class for initializing and managing ExtentReports.
- * Creates timestamped HTML reports with customizable themes and titles.
+ *
+ * One report is built per suite run (a single timestamped HTML file), shared by every test
+ * thread. Each thread logs to its own current test, kept in a ThreadLocal, so parallel
+ * scenarios never write into each other's nodes. The report is written incrementally by a
+ * background flush every extentFlushIntervalSeconds (0 disables it) and once more at the end
+ * of the suite, instead of being rebuilt after every scenario.
+ *
+ * Rendering walks every test's logs, so a test changed during a flush would break it
+ * (ConcurrentModificationException). Tests are therefore only changed through {@link #log}
+ * and {@link #update}, which hold the same lock as the flush.
+ *
+ * Time spent creating tests and flushing is measured and logged with the final flush as the
+ * report's overhead per test.
  */
 public class ExtentReportUtil {
 
     private static final Logger logger = LogManager.getLogger(ExtentReportUtil.class);
 
-    private static ExtentReports extent;
-    private static ExtentTest test;
+    private static final long flushIntervalSeconds =
+            Long.parseLong(ConfigReader.getProperty("extentFlushIntervalSeconds", "30"));
+
+    // Upper bound on waiting for pending screenshots (and debug logs) before a final flush
+    private static final long SCREENSHOT_DRAIN_MILLIS = 30_000;
+
+    private static volatile ExtentReports extent;
     private static ExtentSparkReporter spark;
+    private static String reportPath;
+
+    private static final ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+
+    // Serializes report creation, test creation, changes to tests and flushes
+    private static final Object reportLock = new Object();
+
+    // Set when tests were added or finished since the last flush
+    private static final AtomicBoolean dirty = new AtomicBoolean();
+
+    private static final AtomicInteger testCount = new AtomicInteger();
+    private static final AtomicInteger flushCount = new AtomicInteger();
+    private static final LongAdder createNanos = new LongAdder();
+    private static final LongAdder flushNanos = new LongAdder();
 
     /**
-     * Initializes and configures ExtentReports with timestamped file.
+     * Returns the suite-wide report, creating it (and its timestamped file) on first call.
+     * Later calls return the same instance, so every test class and scenario can call this.
      */
     public static ExtentReports initReport() {
-        String timeStamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-        String reportPath = System.getProperty("user.dir") + "/reports/LoanEMI_Report_" + timeStamp + ".html";
+        if (extent != null) {
+            return extent;
+        }
+        synchronized (reportLock) {
+            if (extent != null) {
+                return extent;
+            }
+            String timeStamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+            reportPath = System.getProperty("user.dir") + "/reports/LoanEMI_Report_" + timeStamp + ".html";
 
-        spark = new ExtentSparkReporter(reportPath);
-        spark.config().setReportName("Loan EMI Automation Report");
-        spark.config().setDocumentTitle("Test Execution Report");
-        spark.config().setTheme(Theme.STANDARD);
-        spark.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm:ss a '('zzz')'");
+            spark = new ExtentSparkReporter(reportPath);
+            spark.config().setReportName("Loan EMI Automation Report");
+            spark.config().setDocumentTitle("Test Execution Report");
+            spark.config().setTheme(Theme.STANDARD);
+            spark.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm:ss a '('zzz')'");
 
-        extent = new ExtentReports();
-        extent.attachReporter(spark);
+            ExtentReports report = new ExtentReports();
+            report.attachReporter(spark);
+            startPeriodicFlush();
+            Runtime.getRuntime().addShutdownHook(new Thread(ExtentReportUtil::flushReport, "extent-final-flush"));
 
-        logger.info("ExtentReports initialized successfully at path: {}", reportPath);
-        return extent;
+            extent = report;
+            logger.info("ExtentReports initialized successfully at path: {}", reportPath);
+            return report;
+        }
     }
 
     /**
-     * Creates a new test entry in the report.
+     * Creates a new test entry in the report and makes it the current thread's test.
      */
     public static ExtentTest createTest(String testName) {
-        test = extent.createTest(testName);
+        ExtentReports report = initReport();
+        long start = System.nanoTime();
+        ExtentTest created;
+        synchronized (reportLock) {
+            created = report.createTest(testName);
+        }
+        test.set(created);
+        dirty.set(true);
+        testCount.incrementAndGet();
+        createNanos.add(System.nanoTime() - start);
         logger.info("ExtentTest created for scenario: {}", testName);
-        return test;
+        return created;
     }
 
     /**
-     * Retrieves the current ExtentTest instance.
+     * Retrieves the current thread's ExtentTest instance (null if it has none).
+     * Change it through {@link #log} or {@link #update}, not directly.
      */
     public static ExtentTest getTest() {
-        return test;
+        return test.get();
+    }
+
+    /**
+     * Logs to the current thread's test; does nothing if the thread has none.
+     */
+    public static void log(Status status, String details) {
+        update(test.get(), current -> current.log(status, details));
+    }
+
+    /**
+     * Logs an exception to the current thread's test; does nothing if the thread has none.
+     */
+    public static void log(Status status, Throwable throwable) {
+        update(test.get(), current -> current.log(status, throwable));
     }
 
     /**
-     * Flushes report to disk if initialized.
+     * Applies a change (log, screenshot, markup...) to a test while no flush is rendering the
+     * report. Safe from any thread, e.g. background workers attaching to a finished test.
+     *
+     * @param target Test to change; null is ignored
+     */
+    public static void update(ExtentTest target, Consumer<ExtentTest> change) {
+        if (target == null) {
+            return;
+        }
+        synchronized (reportLock) {
+            change.accept(target);
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Detaches the current thread from its test once the test or scenario has finished.
+     * The test stays in the report.
+     */
+    public static void endTest() {
+        test.remove();
+        dirty.set(true); // Final status and logs go out with the next periodic flush
+    }
+
+    /**
+     * Writes the report to disk if initialized. Called at the end of the suite (and of each
+     * TestNG class); in between, the background flush keeps the file up to date.
      */
     public static void flushReport() {
-        if (extent != null) {
-            extent.flush();
-            logger.info("ExtentReports flushed and written to disk.");
-        } else {
+        if (extent == null) {
             logger.warn("Attempted to flush ExtentReports, but instance was null.");
+            return;
+        }
+        ScreenshotPipeline.drain(SCREENSHOT_DRAIN_MILLIS); // Screenshots still being attached
+        TestLogBuffer.awaitPending(SCREENSHOT_DRAIN_MILLIS); // Debug logs of failed tests still being attached
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Never fail the caller's teardown; the next flush writes whatever this one missed
+            dirty.set(true);
+            logger.warn("ExtentReports flush failed: {}", e.toString());
+            return;
+        }
+        int tests = testCount.get();
+        double overheadMillis = (createNanos.sum() + flushNanos.sum()) / 1_000_000.0;
+        logger.info("ExtentReports flushed and written to disk: {} ({} test(s), {} flush(es), overhead {} ms total, {} ms/test)",
+                reportPath, tests, flushCount.get(), String.format("%.1f", overheadMillis),
+                String.format("%.2f", tests == 0 ? 0 : overheadMillis / tests));
+    }
+
+    private static void flush() {
+        long start = System.nanoTime();
+        JfrEvents.ReportFlush event = JfrEvents.reportFlush("extent");
+        String outcome = TimingEvents.FAILED;
+        try {
+            synchronized (reportLock) {
+                dirty.set(false);
+                extent.flush();
+            }
+            outcome = TimingEvents.OK;
+        } finally {
+            event.end(outcome);
+        }
+        flushCount.incrementAndGet();
+        flushNanos.add(System.nanoTime() - start);
+    }
+
+    private static void startPeriodicFlush() {
+        if (flushIntervalSeconds <= 0) {
+            return;
         }
+        ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "extent-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            if (!dirty.get()) {
+                return;
+            }
+            try {
+                flush();
+                logger.debug("ExtentReports periodic flush: {} test(s)", testCount.get());
+            } catch (RuntimeException e) {
+                // Not expected now that changes are locked out, but the next flush retries
+                dirty.set(true);
+                logger.debug("ExtentReports periodic flush skipped: {}", e.toString());
+            }
+        }, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
     }
 }
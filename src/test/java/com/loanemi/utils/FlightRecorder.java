@@ -0,0 +1,338 @@
+package com.loanemi.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+/**
+ * Per-session "flight recorder": keeps the recent history of a browser session in memory and
+ * writes it to disk only when a test fails.
+ *
+ * Every WebDriver call (driver, element, navigation...) is kept in a ring of the last
+ * flightRecorderCommands entries. After each state-changing call (get, navigation, click,
+ * submit, sendKeys, clear, executeScript) a frame is taken, a screenshot plus the page source,
+ * and kept in a ring of the last flightRecorderFrames frames (0 = commands only). Screenshots
+ * are kept as the PNG the browser sent; page sources are deflated, which shrinks them about
+ * tenfold. Nothing is written while tests pass: a pass discards the history, a retried attempt
+ * keeps it, so the recording of a test that failed after its retries covers all its attempts.
+ *
+ * A recorder lives on the thread that created its driver; {@link #attach(WebDriver)} wraps
+ * the driver and makes it the thread's recorder. Frames are taken through the undecorated
+ * driver (beneath any other decorator too), so they are not recorded as commands themselves,
+ * nor timed or counted as the test's round trips.
+ *
+ * Config keys: flightRecorderEnabled, flightRecorderFrames, flightRecorderCommands,
+ * flightRecorderDir.
+ */
+public final class FlightRecorder {
+
+    private static final Logger logger = LogManager.getLogger(FlightRecorder.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigReader.getProperty("flightRecorderEnabled", "false"));
+    private static final int frameCapacity =
+            Integer.parseInt(ConfigReader.getProperty("flightRecorderFrames", "5"));
+    private static final int commandCapacity =
+            Integer.parseInt(ConfigReader.getProperty("flightRecorderCommands", "200"));
+    private static final String recordingDir = ConfigReader.getProperty("flightRecorderDir", "flight-recordings");
+
+    // Longest argument or result text kept per command
+    private static final int MAX_TEXT = 120;
+
+    private static final ThreadLocal<FlightRecorder> current = new ThreadLocal<>();
+
+    private final WebDriver rawDriver;
+
+    private final long[] commandTimes;
+    private final String[] commands;
+    private int commandCount;          // Total recorded; the ring holds the last commandCapacity
+
+    private final Frame[] frames;
+    private int frameCount;
+
+    private long callStart;
+
+    private FlightRecorder(WebDriver rawDriver) {
+        this.rawDriver = rawDriver;
+        this.commandTimes = new long[Math.max(1, commandCapacity)];
+        this.commands = new String[Math.max(1, commandCapacity)];
+        this.frames = new Frame[Math.max(0, frameCapacity)];
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts recording a newly launched driver on this thread, replacing the previous recording.
+     *
+     * @return The driver to use in its place, or the same driver when recording is disabled
+     */
+    public static WebDriver attach(WebDriver driver) {
+        if (!enabled) {
+            return driver;
+        }
+        FlightRecorder recorder = new FlightRecorder(unwrap(driver));
+        current.set(recorder);
+        logger.debug("Flight recorder attached: {} command(s), {} frame(s)", commandCapacity, frameCapacity);
+        return new EventFiringDecorator<WebDriver>(recorder.new Listener()).decorate(driver);
+    }
+
+    // The browser's own driver, beneath all decorators
+    private static WebDriver unwrap(WebDriver driver) {
+        WebDriver raw = driver;
+        while (raw instanceof WrapsDriver) {
+            raw = ((WrapsDriver) raw).getWrappedDriver();
+        }
+        return raw;
+    }
+
+    /**
+     * Adds a marker line (e.g. the test about to start) to this thread's command history.
+     */
+    public static void mark(String text) {
+        FlightRecorder recorder = current.get();
+        if (recorder != null) {
+            recorder.record("--- " + text + " ---");
+        }
+    }
+
+    /**
+     * Forgets this thread's history after a passing test.
+     */
+    public static void discard() {
+        FlightRecorder recorder = current.get();
+        if (recorder != null) {
+            recorder.clear();
+        }
+    }
+
+    /**
+     * Writes this thread's history for a failed test and clears it. The recording is a folder
+     * with commands.log and, per frame, a screenshot and the page source.
+     *
+     * @param name       Test or scenario name, used for the folder
+     * @param extentTest Extent node to link the recording from (may be null)
+     * @return The recording folder, or null when nothing was recorded
+     */
+    public static Path dumpOnFailure(String name, ExtentTest extentTest) {
+        FlightRecorder recorder = current.get();
+        if (recorder == null || (recorder.commandCount == 0 && recorder.frameCount == 0)) {
+            return null;
+        }
+        String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        Path folder = Paths.get(System.getProperty("user.dir"), recordingDir,
+                name.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timeStamp);
+        try {
+            recorder.writeTo(folder);
+        } catch (IOException | DataFormatException e) {
+            logger.error("Flight recording for '{}' could not be written", name, e);
+            return null;
+        } finally {
+            recorder.clear();
+        }
+        logger.info("Flight recording for '{}' written to {}", name, folder);
+        ExtentReportUtil.update(extentTest, test -> test.log(Status.INFO, "Flight recording: " + folder));
+        return folder;
+    }
+
+    private void record(String text) {
+        int slot = commandCount % commands.length;
+        commandTimes[slot] = System.currentTimeMillis();
+        commands[slot] = text;
+        commandCount++;
+    }
+
+    private void captureFrame(String trigger) {
+        if (frames.length == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] png = ((TakesScreenshot) rawDriver).getScreenshotAs(OutputType.BYTES);
+            byte[] html = rawDriver.getPageSource().getBytes(StandardCharsets.UTF_8);
+            frames[frameCount % frames.length] =
+                    new Frame(System.currentTimeMillis(), trigger, png, deflate(html), html.length);
+            frameCount++;
+        } catch (WebDriverException e) {
+            // Alert open, page unloading or session gone: skip this frame
+            logger.debug("Flight recorder frame after {} skipped: {}", trigger, e.getMessage());
+        }
+        logger.trace("Flight recorder frame after {} took {} ms", trigger, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void clear() {
+        Arrays.fill(commands, null);
+        Arrays.fill(frames, null);
+        commandCount = 0;
+        frameCount = 0;
+    }
+
+    private void writeTo(Path folder) throws IOException, DataFormatException {
+        Files.createDirectories(folder);
+        SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+
+        StringBuilder log = new StringBuilder();
+        int kept = Math.min(commandCount, commands.length);
+        if (commandCount > kept) {
+            log.append("... ").append(commandCount - kept).append(" earlier command(s) not kept\n");
+        }
+        for (int i = commandCount - kept; i < commandCount; i++) {
+            int slot = i % commands.length;
+            log.append(time.format(new Date(commandTimes[slot]))).append("  ").append(commands[slot]).append('\n');
+        }
+        Files.write(folder.resolve("commands.log"), log.toString().getBytes(StandardCharsets.UTF_8));
+
+        int keptFrames = Math.min(frameCount, frames.length);
+        for (int i = frameCount - keptFrames, n = 1; i < frameCount; i++, n++) {
+            Frame frame = frames[i % frames.length];
+            String prefix = String.format("frame-%02d_%s_%s", n,
+                    new SimpleDateFormat("HHmmss-SSS").format(new Date(frame.time)), frame.trigger);
+            Files.write(folder.resolve(prefix + ".png"), frame.png);
+            Files.write(folder.resolve(prefix + ".html"), inflate(frame.html, frame.htmlLength));
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int length) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] out = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                read += inflater.inflate(out, read, length - read);
+            }
+            return out;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String shorten(Object value) {
+        String text;
+        if (value instanceof CharSequence[]) {
+            text = String.join("", (CharSequence[]) value);   // sendKeys
+        } else if (value instanceof Object[]) {
+            text = Arrays.deepToString((Object[]) value);     // Script arguments
+        } else {
+            text = String.valueOf(value);
+        }
+        text = text.replace('\n', ' ');
+        return text.length() <= MAX_TEXT ? text : text.substring(0, MAX_TEXT) + "...";
+    }
+
+    private static String describe(Method method, Object[] args) {
+        StringBuilder text = new StringBuilder();
+        text.append(method.getDeclaringClass().getSimpleName()).append('.').append(method.getName()).append('(');
+        if (args != null) {
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    text.append(", ");
+                }
+                text.append(shorten(args[i]));
+            }
+        }
+        return text.append(')').toString();
+    }
+
+    private static final class Frame {
+        final long time;
+        final String trigger;
+        final byte[] png;
+        final byte[] html;      // Deflated page source
+        final int htmlLength;
+
+        Frame(long time, String trigger, byte[] png, byte[] html, int htmlLength) {
+            this.time = time;
+            this.trigger = trigger;
+            this.png = png;
+            this.html = html;
+            this.htmlLength = htmlLength;
+        }
+    }
+
+    /**
+     * Records calls made through the decorated driver, on the thread that makes them.
+     */
+    private final class Listener implements WebDriverListener {
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            long millis = (System.nanoTime() - callStart) / 1_000_000;
+            String text = describe(method, args);
+            if (result instanceof String) {
+                text += " = " + shorten(result);
+            }
+            record(text + "  [" + millis + " ms]");
+
+            switch (method.getName()) {
+                case "get":
+                case "to":
+                case "back":
+                case "forward":
+                case "refresh":
+                case "click":
+                case "submit":
+                case "sendKeys":
+                case "clear":
+                case "executeScript":
+                    captureFrame(method.getName());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String message = String.valueOf(cause.getMessage()).split("\n", 2)[0];
+            record(describe(method, args) + " FAILED " + cause.getClass().getSimpleName() + ": " + shorten(message));
+        }
+    }
+}
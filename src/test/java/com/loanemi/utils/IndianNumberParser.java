@@ -0,0 +1,232 @@
+package com.loanemi.utils;
+
+/**
+ * Allocation-free parser for numeric values scraped from emicalculator.net.
+ * Reads text such as "₹ 2,37,561", "10.75 %", "60 Months" or "5 Yr" straight
+ * from a CharSequence into a double, without regex or intermediate strings.
+ *
+ * Accepted format:
+ *   [whitespace] [₹ | Rs | Rs.] [whitespace] [-] digits [.digits] [whitespace] [suffix] [whitespace]
+ *
+ * Digits may use Indian (12,34,567) or international (1,234,567) grouping,
+ * but grouping must be consistent. Supported suffixes are %, month(s), mo,
+ * year(s), yr(s) (case-insensitive). Anything else is rejected with a
+ * NumberFormatException that names the offending character and position,
+ * unlike the old replaceAll("[^\\d.]", "") approach which silently accepted
+ * malformed values like "₹ 2,37,561.5.0".
+ */
+public final class IndianNumberParser {
+
+    private static final char RUPEE = '₹';
+
+    // Exact powers of ten representable as doubles (10^0 .. 10^22)
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Largest mantissa for which mantissa / 10^k is correctly rounded (2^53)
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // Recognised unit suffixes, longest first so "months" wins over "mo"
+    private static final String[] SUFFIXES = {"months", "month", "years", "year", "yrs", "yr", "mo", "%"};
+
+    private IndianNumberParser() {
+    }
+
+    /**
+     * Parses the whole character sequence.
+     *
+     * @param text Scraped text (e.g. WebElement.getText())
+     * @return Parsed numeric value
+     * @throws NumberFormatException if the text is null, empty or malformed
+     */
+    public static double parse(CharSequence text) {
+        if (text == null) {
+            throw new NumberFormatException("Cannot parse null value");
+        }
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses the characters in [start, end) of the given sequence.
+     *
+     * @param text  Source characters
+     * @param start Index of the first character (inclusive)
+     * @param end   Index of the last character (exclusive)
+     * @return Parsed numeric value
+     * @throws NumberFormatException if the range does not hold a single well-formed number
+     */
+    public static double parse(CharSequence text, int start, int end) {
+        int pos = skipWhitespace(text, start, end);
+
+        // Optional currency prefix
+        if (pos < end && text.charAt(pos) == RUPEE) {
+            pos = skipWhitespace(text, pos + 1, end);
+        } else if (pos + 1 < end && (text.charAt(pos) == 'R' || text.charAt(pos) == 'r')
+                && (text.charAt(pos + 1) == 's' || text.charAt(pos + 1) == 'S')) {
+            pos += 2;
+            if (pos < end && text.charAt(pos) == '.') {
+                pos++;
+            }
+            pos = skipWhitespace(text, pos, end);
+        }
+
+        boolean negative = false;
+        if (pos < end && text.charAt(pos) == '-') {
+            negative = true;
+            pos++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        boolean exact = true;
+        int digitCount = 0;
+
+        // Digit grouping state
+        int groupLength = 0;
+        int firstGroupLength = -1;
+        int middleGroupLength = -1;
+
+        int numberStart = pos;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                groupLength++;
+                digitCount++;
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                } else {
+                    exact = false;
+                }
+            } else if (c == ',') {
+                if (groupLength == 0) {
+                    throw error(text, start, end, pos, "misplaced digit separator");
+                }
+                if (firstGroupLength < 0) {
+                    if (groupLength > 3) {
+                        throw error(text, start, end, pos, "leading digit group longer than 3 digits");
+                    }
+                    firstGroupLength = groupLength;
+                } else if (groupLength != 2 && groupLength != 3
+                        || (middleGroupLength > 0 && groupLength != middleGroupLength)) {
+                    throw error(text, start, end, pos, "inconsistent digit grouping");
+                } else {
+                    middleGroupLength = groupLength;
+                }
+                groupLength = 0;
+            } else {
+                break;
+            }
+            pos++;
+        }
+
+        if (firstGroupLength >= 0) {
+            if (groupLength != 3) {
+                throw error(text, start, end, pos, "last digit group must have 3 digits");
+            }
+            if (middleGroupLength == 2 && firstGroupLength > 2) {
+                throw error(text, start, end, numberStart, "inconsistent digit grouping");
+            }
+        }
+
+        // Optional fraction
+        if (pos < end && text.charAt(pos) == '.') {
+            pos++;
+            while (pos < end) {
+                char c = text.charAt(pos);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                digitCount++;
+                if (mantissa < MAX_EXACT_MANTISSA / 10 && fractionDigits < POWERS_OF_TEN.length - 1) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    fractionDigits++;
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                } else if (c != '0') {
+                    exact = false;
+                }
+                pos++;
+            }
+        }
+
+        if (digitCount == 0) {
+            throw error(text, start, end, pos, "no digits found");
+        }
+
+        // Optional unit suffix, then nothing but whitespace
+        pos = skipWhitespace(text, pos, end);
+        pos = skipSuffix(text, pos, end);
+        pos = skipWhitespace(text, pos, end);
+        if (pos != end) {
+            throw error(text, start, end, pos, "unexpected character '" + text.charAt(pos) + "'");
+        }
+
+        double value;
+        if (exact && significantDigits <= 15) {
+            // Fast path: both operands are exact doubles, so the division is correctly rounded
+            value = mantissa / POWERS_OF_TEN[fractionDigits];
+        } else {
+            value = slowParse(text, numberStart, end);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Fallback for values with more precision than a double holds exactly.
+     * Only reached for > 15 significant digits, which the calculator never displays.
+     */
+    private static double slowParse(CharSequence text, int from, int end) {
+        StringBuilder digits = new StringBuilder(end - from);
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.') {
+                digits.append(c);
+            } else if (c != ',') {
+                break;
+            }
+        }
+        return Double.parseDouble(digits.toString());
+    }
+
+    private static int skipWhitespace(CharSequence text, int pos, int end) {
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\u00A0' && c != '\u202F') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipSuffix(CharSequence text, int pos, int end) {
+        for (String suffix : SUFFIXES) {
+            int length = suffix.length();
+            if (pos + length <= end && regionMatchesIgnoreCase(text, pos, suffix)) {
+                return pos + length;
+            }
+        }
+        return pos;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence text, int pos, String suffix) {
+        for (int i = 0; i < suffix.length(); i++) {
+            if (Character.toLowerCase(text.charAt(pos + i)) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static NumberFormatException error(CharSequence text, int start, int end, int pos, String reason) {
+        return new NumberFormatException("Cannot parse \"" + text.subSequence(start, end) + "\": "
+                + reason + " at index " + (pos - start));
+    }
+}
@@ -0,0 +1,115 @@
+package com.loanemi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.loanemi.entity.TestCase;
+
+/**
+ * {@link TestCaseSource} over JSON Lines or CSV files, read with Jackson's streaming parser.
+ *
+ * JSONL: one JSON object per line, with the same fields as an inputData.json test case.
+ * CSV:   a header row naming those fields, then one test case per row.
+ *
+ * An optional "id" field names each test case; records without one are named
+ * "<file>#<record number>". Only the record being mapped is held in memory.
+ */
+final class JacksonTestCaseSource implements TestCaseSource {
+
+    private static final Logger logger = LogManager.getLogger(JacksonTestCaseSource.class);
+
+    private final String name;
+    private final MappingIterator<Map<String, Object>> records;
+
+    private long served;
+    private boolean closed;
+    private final long startNanos = System.nanoTime();
+
+    private JacksonTestCaseSource(String name, MappingIterator<Map<String, Object>> records) {
+        this.name = name;
+        this.records = records;
+        logger.info("Streaming test cases from '{}'", name);
+    }
+
+    static JacksonTestCaseSource jsonLines(String filePath) {
+        File file = new File(filePath);
+        try {
+            MappingIterator<Map<String, Object>> records = new ObjectMapper()
+                    .readerFor(Map.class)
+                    .readValues(file);
+            return new JacksonTestCaseSource(file.getName(), records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open JSONL test data " + filePath, e);
+        }
+    }
+
+    static JacksonTestCaseSource csv(String filePath) {
+        File file = new File(filePath);
+        try {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            MappingIterator<Map<String, Object>> records = new CsvMapper()
+                    .readerFor(Map.class)
+                    .with(schema)
+                    .readValues(file);
+            return new JacksonTestCaseSource(file.getName(), records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open CSV test data " + filePath, e);
+        }
+    }
+
+    @Override
+    public synchronized TestCase poll() {
+        if (closed) {
+            return null;
+        }
+        if (!records.hasNext()) {
+            close();
+            return null;
+        }
+
+        long recordNumber = served + 1;
+        try {
+            TestCase testCase = TestCaseRecords.toTestCase(name, recordNumber, records.next());
+            served = recordNumber;
+            return testCase;
+        } catch (IllegalArgumentException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized long served() {
+        return served;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            records.close();
+        } catch (IOException e) {
+            logger.warn("Error closing test data '{}'", name, e);
+        }
+        long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Closed '{}' after {} test case(s) in {} ms ({} cases/s)",
+                name, served, millis, served * 1000 / millis);
+    }
+}
@@ -1,5 +1,7 @@
 package com.loanemi.utils;
 
+import java.util.List;
+
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -39,4 +41,23 @@ public class JavaScriptUtil {
             logger.error("JavaScript setInputValue failed for value '{}'", value, e);
         }
     }
+
+    /**
+     * Reads the current value of several form fields in a single browser round trip.
+     *
+     * @param driver   WebDriver instance to cast as JavascriptExecutor
+     * @param elements Input fields to read
+     * @return The fields' values, in the order given
+     */
+    public static String[] getInputValues(WebDriver driver, WebElement... elements) {
+        List<?> values = (List<?>) ((JavascriptExecutor) driver).executeScript(
+            "return Array.prototype.map.call(arguments, function (e) { return e.value; });",
+            (Object[]) elements
+        );
+        String[] result = new String[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = String.valueOf(values.get(i));
+        }
+        return result;
+    }
 }
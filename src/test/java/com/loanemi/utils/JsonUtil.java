@@ -1,6 +1,7 @@
 package com.loanemi.utils;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
@@ -9,6 +10,8 @@ import org.apache.logging.log4j.Logger;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.loanemi.entity.JsonData;
+import com.loanemi.timing.JfrEvents;
+import com.loanemi.timing.TimingEvents;
 
 /**
  * Utility class for reading structured test data from JSON files.
@@ -18,6 +21,9 @@ public class JsonUtil {
 
     private static final Logger logger = LogManager.getLogger(JsonUtil.class);
 
+    // ObjectMapper is thread-safe once configured; share one instead of building one per read
+    private static final ObjectMapper mapper = new ObjectMapper();
+
     /**
      * Reads a nested JSON object representing test cases using the specified file path and test case ID.
      *
@@ -34,11 +40,11 @@ public class JsonUtil {
      * @return JsonData object mapped to the given key, or null if not found
      */
     public static JsonData getTestCase(String filePath, String testCaseId) {
+        JfrEvents.DataIo io = JfrEvents.dataIo("json-read", filePath);
+        String outcome = TimingEvents.FAILED;
         try {
             logger.info("Attempting to read test case '{}' from file: {}", testCaseId, filePath);
 
-            ObjectMapper mapper = new ObjectMapper();
-
             // Deserialize JSON as a nested map structure
             Map<String, Map<String, JsonData>> root = mapper.readValue(
                 new File(filePath),
@@ -54,11 +60,54 @@ public class JsonUtil {
                 logger.warn("Test case '{}' not found in JSON file '{}'", testCaseId, filePath);
             }
 
+            outcome = TimingEvents.OK;
             return data;
 
         } catch (Exception e) {
             logger.error("Error reading test case '{}' from JSON file '{}'", testCaseId, filePath, e);
             return null;
+        } finally {
+            io.end(outcome);
         }
     }
+
+    /**
+     * Reads every test case in the file in a single pass.
+     *
+     * @param filePath Path to JSON file with the same structure as {@link #getTestCase(String, String)}
+     * @return Test cases keyed by ID, in file order
+     * @throws IOException if the file cannot be read or has no "testCases" object
+     */
+    public static Map<String, JsonData> readTestCases(String filePath) throws IOException {
+        JfrEvents.DataIo io = JfrEvents.dataIo("json-read", filePath);
+        Map<String, Map<String, JsonData>> root;
+        try {
+            root = mapper.readValue(
+                new File(filePath),
+                new TypeReference<Map<String, Map<String, JsonData>>>() {}
+            );
+        } catch (IOException e) {
+            io.end(TimingEvents.FAILED);
+            throw e;
+        }
+        io.end(TimingEvents.OK);
+
+        Map<String, JsonData> testCases = root.get("testCases");
+        if (testCases == null) {
+            throw new IOException("No 'testCases' object in JSON file: " + filePath);
+        }
+        return testCases;
+    }
+
+    /**
+     * Maps a flat field map (one JSONL record or CSV row) onto JsonData.
+     * Numeric JSON values are coerced to the strings JsonData holds.
+     *
+     * @param fields Field names and values, without any ID field
+     * @return JsonData populated from the map
+     * @throws IllegalArgumentException if a field is not a JsonData property
+     */
+    public static JsonData toJsonData(Map<String, ?> fields) {
+        return mapper.convertValue(fields, JsonData.class);
+    }
 }
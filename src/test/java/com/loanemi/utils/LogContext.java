@@ -0,0 +1,55 @@
+package com.loanemi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.ThreadContext;
+
+/**
+ * Test context carried by every log line, through the Log4j2 thread context (MDC).
+ *
+ * While a test or scenario runs, its thread's log events carry the keys below; log4j2.xml
+ * prints them on each line, so one test's lines can be filtered out of the shared log even
+ * when many threads write to it. The thread itself is printed by the layout (%t).
+ * Log events are handed to the async logger's ring buffer with a copy of the context, so
+ * values must be set on the thread that logs (Cucumber hooks and LoanEMITest do this before
+ * each scenario or test method).
+ *
+ * Browser, test and attempt need not be unique: parallel workers run the same test on the same
+ * browser. Each start therefore also sets {@link #RUN}, a sequence number no other run shares.
+ */
+public final class LogContext {
+
+    public static final String BROWSER = "browser";
+    public static final String TEST = "test";
+    public static final String ATTEMPT = "attempt";
+    public static final String RUN = "run";
+
+    private static final AtomicLong runs = new AtomicLong();
+
+    private LogContext() {
+    }
+
+    /**
+     * Tags this thread's log lines with the test about to run.
+     *
+     * @param test    Test method or scenario name
+     * @param browser Browser the test runs on
+     * @param attempt 1 for the first run, 2 and up for retries
+     */
+    public static void start(String test, String browser, int attempt) {
+        ThreadContext.put(TEST, test);
+        ThreadContext.put(BROWSER, browser);
+        ThreadContext.put(ATTEMPT, Integer.toString(attempt));
+        ThreadContext.put(RUN, Long.toString(runs.incrementAndGet()));
+    }
+
+    /**
+     * Removes the test context once the test has finished.
+     */
+    public static void clear() {
+        ThreadContext.remove(TEST);
+        ThreadContext.remove(BROWSER);
+        ThreadContext.remove(ATTEMPT);
+        ThreadContext.remove(RUN);
+    }
+}
@@ -0,0 +1,183 @@
+package com.loanemi.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import com.aventstack.extentreports.ExtentTest;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Captures each screenshot once and hands the same image to every reporter.
+ *
+ * On the test thread the browser is asked for one screenshot (as the base64 text it sends
+ * anyway) and an Allure attachment slot is reserved, since Allure ties attachments to the
+ * calling thread. Everything else runs on a background executor: decoding, hashing, writing
+ * the PNG under screenshotDir, attaching it to the Extent test and writing the Allure
+ * attachment. Images are stored by content hash, so identical screenshots (the same error
+ * page across retries and browsers) are written once and shared. Browser PNGs are already
+ * compressed, so the bytes are stored as delivered.
+ *
+ * Whether a test is captured at all is decided by {@link ScreenshotPolicy}.
+ * {@link #drain(long)} waits for pending work; it runs before the final report flush.
+ *
+ * Config keys: screenshotPolicy, screenshotDir, screenshotThreads.
+ */
+public final class ScreenshotPipeline {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+
+    private static final String screenshotDir = ConfigReader.getProperty("screenshotDir", "screenshots");
+    private static final int threads = Integer.parseInt(ConfigReader.getProperty("screenshotThreads", "1"));
+
+    private static final AtomicInteger writerThreads = new AtomicInteger();
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-writer-" + writerThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Content hash → file already written for it
+    private static final Map<String, String> stored = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final LongAdder captures = new LongAdder();
+    private static final LongAdder bytesWritten = new LongAdder();
+    private static final LongAdder captureNanos = new LongAdder();
+    private static final LongAdder processNanos = new LongAdder();
+
+    private ScreenshotPipeline() {
+    }
+
+    /**
+     * Captures the browser if the configured policy asks for it for this outcome, and sends
+     * the image to the Extent test and the current Allure test.
+     *
+     * @param driver     Browser to capture
+     * @param name       Label for the file and the attachments (e.g. test or scenario name)
+     * @param failed     Outcome of the test, checked against the policy
+     * @param extentTest Extent node to attach to (may be null)
+     * @return Path of the stored PNG once written, or a completed null future if not captured
+     */
+    public static CompletableFuture<String> capture(WebDriver driver, String name, boolean failed, ExtentTest extentTest) {
+        if (!ScreenshotPolicy.configured().shouldCapture(failed) || driver == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        String base64;
+        try {
+            base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (WebDriverException e) {
+            logger.warn("Screenshot '{}' not captured, browser unavailable: {}", name, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        String label = (failed ? "Screenshot on Failure: " : "Screenshot: ") + name;
+        String allureSource = Allure.getLifecycle().prepareAttachment(label, "image/png", ".png");
+        captures.increment();
+        captureNanos.add(System.nanoTime() - start);
+
+        pending.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> process(base64, name, label, allureSource, extentTest), executor)
+                .whenComplete((path, error) -> {
+                    if (error != null) {
+                        logger.error("Screenshot '{}' could not be stored", name, error);
+                    }
+                    pending.decrementAndGet();
+                });
+    }
+
+    private static String process(String base64, String name, String label, String allureSource, ExtentTest extentTest) {
+        long start = System.nanoTime();
+        byte[] png = Base64.getMimeDecoder().decode(base64);
+        String hash = sha256(png);
+
+        // Fills the slot reserved in capture() even if the disk write below fails
+        Allure.getLifecycle().writeAttachment(allureSource, new ByteArrayInputStream(png));
+
+        String path = stored.computeIfAbsent(hash, h -> write(png, name, h)); // Identical images share one file
+        ExtentReportUtil.update(extentTest, test -> test.addScreenCaptureFromPath(path, label));
+        processNanos.add(System.nanoTime() - start);
+        return path;
+    }
+
+    // Runs once per distinct image
+    private static String write(byte[] png, String name, String hash) {
+        String safeName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        Path file = Paths.get(System.getProperty("user.dir"), screenshotDir, safeName + "_" + hash.substring(0, 12) + ".png");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, png);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write screenshot " + file, e);
+        }
+        bytesWritten.add(png.length);
+        logger.info("Screenshot saved: {}", file);
+        return file.toString();
+    }
+
+    /**
+     * Waits for queued screenshots to be written and attached.
+     *
+     * @param timeoutMillis Maximum time to wait
+     * @return true if nothing is pending any more
+     */
+    public static boolean drain(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (pending.get() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                logger.warn("{} screenshot(s) still pending after {} ms", pending.get(), timeoutMillis);
+                return false;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        long count = captures.sum();
+        if (count > 0) {
+            logger.info("Screenshots: {} captured, {} duplicate(s) not stored again, {} KB written, "
+                    + "{} ms/capture on test threads, {} ms/capture in background",
+                    count, count - stored.size(), bytesWritten.sum() / 1024,
+                    String.format("%.1f", captureNanos.sum() / 1_000_000.0 / count),
+                    String.format("%.1f", processNanos.sum() / 1_000_000.0 / count));
+        }
+        return true;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.loanemi.utils;
+
+/**
+ * When {@link ScreenshotPipeline} captures the browser at the end of a test or scenario
+ * (config key: screenshotPolicy).
+ *
+ * OFF:     never.
+ * FAILURE: only when the test failed (default).
+ * ALWAYS:  after every test, passed or failed.
+ */
+public enum ScreenshotPolicy {
+    OFF,
+    FAILURE,
+    ALWAYS;
+
+    private static final ScreenshotPolicy configured =
+            ScreenshotPolicy.valueOf(ConfigReader.getProperty("screenshotPolicy", "FAILURE").trim().toUpperCase());
+
+    /**
+     * Policy configured for this run.
+     */
+    public static ScreenshotPolicy configured() {
+        return configured;
+    }
+
+    /**
+     * Whether a test with the given outcome should be captured.
+     */
+    public boolean shouldCapture(boolean failed) {
+        return this == ALWAYS || (this == FAILURE && failed);
+    }
+}
@@ -0,0 +1,37 @@
+package com.loanemi.utils;
+
+import java.util.Map;
+
+import com.loanemi.entity.TestCase;
+
+/**
+ * Maps one flat record (JSONL object, CSV row, spreadsheet row) to a typed test case.
+ * Shared by the {@link TestCaseSource} implementations so every format names and
+ * validates records the same way.
+ */
+final class TestCaseRecords {
+
+    // Optional field naming the test case; not a JsonData property
+    static final String ID_FIELD = "id";
+
+    private TestCaseRecords() {
+    }
+
+    /**
+     * @param sourceName   File name, used for fallback IDs and error messages
+     * @param recordNumber 1-based record (or row) number within the source
+     * @param fields       Field values keyed by JsonData property name; the ID field is removed
+     * @return Typed test case named by its "id" field, or "<file>#<record number>"
+     * @throws IllegalArgumentException if a field is unknown or a numeric field is not a number
+     */
+    static TestCase toTestCase(String sourceName, long recordNumber, Map<String, Object> fields) {
+        Object id = fields.remove(ID_FIELD);
+        String testCaseId = id != null && !id.toString().isBlank() ? id.toString() : sourceName + "#" + recordNumber;
+        try {
+            return TestCase.from(testCaseId, JsonUtil.toJsonData(fields));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid test data in '" + sourceName + "' record " + recordNumber
+                    + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.loanemi.utils;
+
+import java.io.Closeable;
+import java.util.Locale;
+
+import com.loanemi.entity.TestCase;
+
+/**
+ * Lazily read, forward-only stream of typed test cases shared by data-driven test workers.
+ *
+ * Implementations read one record at a time from the underlying file, so memory use does not
+ * depend on dataset size. {@link #poll()} is thread-safe: any number of workers may drain the
+ * same source, and each test case is handed out exactly once.
+ */
+public interface TestCaseSource extends Closeable {
+
+    /**
+     * Returns the next test case, or null once the source is exhausted.
+     * The source closes itself when the last record has been read.
+     *
+     * @throws IllegalArgumentException if a record cannot be mapped to a test case
+     */
+    TestCase poll();
+
+    /**
+     * Number of test cases handed out so far.
+     */
+    long served();
+
+    /**
+     * Name of the underlying file, for logs and reports.
+     */
+    String name();
+
+    @Override
+    void close();
+
+    /**
+     * Opens a source, choosing the reader from the file extension.
+     * A worksheet other than the first can be selected with "book.xlsx!SheetName".
+     *
+     * @param filePath Path to a .jsonl, .csv or .xlsx file
+     * @return Open source positioned before the first record
+     * @throws IllegalArgumentException if the extension is not supported
+     */
+    static TestCaseSource open(String filePath) {
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        int sheetSeparator = lower.lastIndexOf(".xlsx!");
+        if (sheetSeparator >= 0) {
+            return XlsxTestCaseSource.open(filePath.substring(0, sheetSeparator + 5), filePath.substring(sheetSeparator + 6));
+        }
+        if (lower.endsWith(".xlsx")) {
+            return XlsxTestCaseSource.open(filePath, null);
+        }
+        if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+            return JacksonTestCaseSource.jsonLines(filePath);
+        }
+        if (lower.endsWith(".csv")) {
+            return JacksonTestCaseSource.csv(filePath);
+        }
+        throw new IllegalArgumentException("Unsupported test data format (expected .jsonl, .csv or .xlsx): " + filePath);
+    }
+}
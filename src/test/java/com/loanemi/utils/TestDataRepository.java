@@ -0,0 +1,109 @@
+package com.loanemi.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.loanemi.entity.JsonData;
+import com.loanemi.entity.TestCase;
+
+/**
+ * Immutable, parse-once store of typed test cases.
+ *
+ * Page objects used to call {@link JsonUtil#getTestCase(String, String)} from a field
+ * initializer, re-reading and re-parsing inputData.json for every page instance on every
+ * thread. The repository reads the file once, converts each entry to a {@link TestCase}
+ * with its numbers already parsed, and publishes the result as an unmodifiable map.
+ * Lookups afterwards are plain map reads with no locking, safe from any test thread.
+ */
+public final class TestDataRepository {
+
+    private static final Logger logger = LogManager.getLogger(TestDataRepository.class);
+
+    private final String filePath;
+    private final Map<String, TestCase> testCases;
+
+    // Loaded on first use; class initialization guarantees a single, safely published load
+    private static final class Shared {
+        static final TestDataRepository INSTANCE = load(ConfigReader.getProperty("jsonFilePath"));
+    }
+
+    private TestDataRepository(String filePath, Map<String, TestCase> testCases) {
+        this.filePath = filePath;
+        this.testCases = testCases;
+    }
+
+    /**
+     * Repository for the configured test data file (config key: jsonFilePath).
+     */
+    public static TestDataRepository shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Reads and parses every test case in the given JSON file.
+     *
+     * @param filePath Path to a JSON file in the inputData.json format
+     * @return Repository holding all test cases of the file
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a numeric field is not a number
+     */
+    public static TestDataRepository load(String filePath) {
+        long start = System.nanoTime();
+        Map<String, JsonData> raw;
+        try {
+            raw = JsonUtil.readTestCases(filePath);
+        } catch (IOException e) {
+            logger.error("Error loading test data from '{}'", filePath, e);
+            throw new UncheckedIOException("Cannot load test data from " + filePath, e);
+        }
+
+        Map<String, TestCase> parsed = new LinkedHashMap<>(raw.size() * 2);
+        for (Map.Entry<String, JsonData> entry : raw.entrySet()) {
+            parsed.put(entry.getKey(), TestCase.from(entry.getKey(), entry.getValue()));
+        }
+
+        logger.info("Loaded {} test case(s) from '{}' in {} ms",
+                parsed.size(), filePath, (System.nanoTime() - start) / 1_000_000);
+        return new TestDataRepository(filePath, Collections.unmodifiableMap(parsed));
+    }
+
+    /**
+     * Returns the test case with the given ID.
+     *
+     * @param testCaseId Test case identifier (e.g. TC03-10)
+     * @return Typed test case
+     * @throws IllegalArgumentException if the file has no such test case
+     */
+    public TestCase get(String testCaseId) {
+        TestCase testCase = testCases.get(testCaseId);
+        if (testCase == null) {
+            throw new IllegalArgumentException("Test case '" + testCaseId + "' not found in '" + filePath + "'");
+        }
+        return testCase;
+    }
+
+    /**
+     * Whether the file defines the given test case.
+     */
+    public boolean contains(String testCaseId) {
+        return testCases.containsKey(testCaseId);
+    }
+
+    /**
+     * All test cases, in file order.
+     */
+    public Collection<TestCase> all() {
+        return testCases.values();
+    }
+
+    public int size() {
+        return testCases.size();
+    }
+}
@@ -0,0 +1,276 @@
+package com.loanemi.utils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+
+import io.qameta.allure.Allure;
+
+/**
+ * Log4j2 appender that holds each test's detail lines (debug and below) in memory and only
+ * writes them out when the test fails.
+ *
+ * Debug and trace events are grouped by the test run in the MDC (see {@link LogContext#RUN});
+ * events without one are ignored, and info and above are left to the file log. Each test keeps
+ * at most maxEvents lines, the oldest dropped first. When the test ends,
+ * {@link #finish(boolean, ExtentTest)} decides: a pass throws the lines away, a failure
+ * appends them to the target appender (the file log, with their original time stamps) and
+ * attaches them to the Extent test and the current Allure test.
+ *
+ * With async loggers the appender runs on the logger's background thread, behind whatever the
+ * test logged last; the outcome therefore travels through the same ring buffer, as an event
+ * on the {@link #END_LOGGER} logger, so a test's lines are all in before they are judged.
+ *
+ * Configured in log4j2.xml: {@code <TestLogBuffer name="..." target="FileLogger" maxEvents="2000"/>}.
+ */
+@Plugin(name = "TestLogBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class TestLogBuffer extends AbstractAppender {
+
+    /**
+     * Logger that carries test outcomes to the appender; routed only to this appender.
+     */
+    public static final String END_LOGGER = "TestLogBuffer";
+
+    private static final Marker END = MarkerManager.getMarker("TEST_END");
+    private static final Logger endLogger = LogManager.getLogger(END_LOGGER);
+
+    // Outcomes handed over by finish(), keyed by test run, picked up with the END event
+    private static final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    // Set while a TestLogBuffer appender is running, so finish() has someone to hand over to
+    private static volatile boolean installed;
+
+    private static final LongAdder discardedEvents = new LongAdder();
+    private static final LongAdder writtenEvents = new LongAdder();
+
+    private final Configuration configuration;
+    private final String targetName;
+    private final int maxEvents;
+    private final PatternLayout attachmentLayout;
+
+    // Lines per test run; each test's lines come from one thread (the async logger thread)
+    private final Map<String, ArrayDeque<LogEvent>> buffers = new ConcurrentHashMap<>();
+
+    private static final class Outcome {
+        final boolean failed;
+        final String name;
+        final ExtentTest extentTest;
+        final String allureSource;
+
+        Outcome(boolean failed, String name, ExtentTest extentTest, String allureSource) {
+            this.failed = failed;
+            this.name = name;
+            this.extentTest = extentTest;
+            this.allureSource = allureSource;
+        }
+    }
+
+    private TestLogBuffer(String name, Filter filter, Layout<?> layout, Configuration configuration,
+                          String targetName, int maxEvents) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.configuration = configuration;
+        this.targetName = targetName;
+        this.maxEvents = maxEvents;
+        this.attachmentLayout = layout instanceof PatternLayout
+                ? (PatternLayout) layout
+                : PatternLayout.newBuilder().withConfiguration(configuration).withPattern("%d{DEFAULT} %-5level [%logger{1}] - %msg%n").build();
+    }
+
+    @PluginFactory
+    public static TestLogBuffer createAppender(@PluginAttribute("name") String name,
+                                               @PluginAttribute("target") String target,
+                                               @PluginAttribute(value = "maxEvents", defaultInt = 2000) int maxEvents,
+                                               @PluginElement("Layout") Layout<?> layout,
+                                               @PluginElement("Filter") Filter filter,
+                                               @PluginConfiguration Configuration configuration) {
+        if (name == null) {
+            LOGGER.error("No name provided for TestLogBuffer");
+            return null;
+        }
+        return new TestLogBuffer(name, filter, layout, configuration, target, Math.max(1, maxEvents));
+    }
+
+    /**
+     * Ends the current thread's test: its buffered detail is discarded if it passed, or written
+     * to the file log and attached to the reports if it failed. Call before {@link LogContext#clear()}.
+     *
+     * @param failed     Whether the test (or this attempt of it) failed
+     * @param extentTest Extent node to attach the detail to (may be null)
+     */
+    public static void finish(boolean failed, ExtentTest extentTest) {
+        if (!installed) {
+            return;
+        }
+        String name = ThreadContext.get(LogContext.TEST);
+        String key = key(ThreadContext.get(LogContext.RUN), name);
+        if (key == null) {
+            return;
+        }
+        String allureSource = null;
+        if (failed) {
+            // Allure ties attachments to the test thread: reserve the slot here, fill it later
+            allureSource = Allure.getLifecycle().prepareAttachment("Debug log: " + name, "text/plain", ".log");
+        }
+        outcomes.put(key, new Outcome(failed, name, extentTest, allureSource));
+        endLogger.info(END, "Test {} ended", name); // Reaches the appender after the test's own lines
+    }
+
+    /**
+     * Waits until every finished test's outcome has been applied (detail written or dropped).
+     *
+     * @return true if nothing is pending any more
+     */
+    public static boolean awaitPending(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!outcomes.isEmpty()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Debug lines discarded with passing tests and written for failed ones, so far.
+     */
+    public static String stats() {
+        return discardedEvents.sum() + " detail line(s) discarded with passing tests, "
+                + writtenEvents.sum() + " written for failed tests";
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        installed = true;
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        installed = false;
+        return super.stop(timeout, timeUnit);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        ReadOnlyStringMap context = event.getContextData();
+        String key = key(context.getValue(LogContext.RUN), context.getValue(LogContext.TEST));
+        if (key == null) {
+            return;
+        }
+        if (END.equals(event.getMarker())) {
+            end(key);
+            return;
+        }
+        if (event.getLevel().isMoreSpecificThan(Level.INFO)) {
+            return; // Info and above go to the file log directly
+        }
+        ArrayDeque<LogEvent> buffer = buffers.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (buffer.size() == maxEvents) {
+            buffer.removeFirst();
+            discardedEvents.increment();
+        }
+        // Async events are reused ring buffer slots, context map included: copy both
+        buffer.addLast(new Log4jLogEvent.Builder(event)
+                .setContextData(ContextDataFactory.createContextData(context))
+                .build());
+    }
+
+    private void end(String key) {
+        Outcome outcome = outcomes.remove(key);
+        ArrayDeque<LogEvent> buffer = buffers.remove(key);
+        if (outcome == null) {
+            return;
+        }
+        if (buffer == null || buffer.isEmpty()) {
+            if (outcome.allureSource != null) {
+                // finish() reserved the slot; an unfilled one stays broken in the report
+                Allure.getLifecycle().writeAttachment(outcome.allureSource,
+                        new ByteArrayInputStream("(no debug lines)\n".getBytes(StandardCharsets.UTF_8)));
+            }
+            return;
+        }
+        if (!outcome.failed) {
+            discardedEvents.add(buffer.size());
+            return;
+        }
+        writtenEvents.add(buffer.size());
+
+        List<LogEvent> events = new ArrayList<>(buffer);
+        Appender target = targetName != null ? configuration.getAppender(targetName) : null;
+        if (target != null) {
+            target.append(header(events.get(0), outcome.name, events.size()));
+            for (LogEvent event : events) {
+                target.append(event);
+            }
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (LogEvent event : events) {
+            text.append(attachmentLayout.toSerializable(event));
+        }
+        if (outcome.allureSource != null) {
+            Allure.getLifecycle().writeAttachment(outcome.allureSource,
+                    new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+        ExtentReportUtil.update(outcome.extentTest, test -> {
+            test.info("Debug log (" + events.size() + " line(s))");
+            test.info(MarkupHelper.createCodeBlock(text.toString()));
+        });
+    }
+
+    private static LogEvent header(LogEvent first, String name, int lines) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(END_LOGGER)
+                .setThreadName(first.getThreadName())
+                .setLevel(Level.INFO)
+                .setContextData(ContextDataFactory.createContextData(first.getContextData()))
+                .setTimeMillis(System.currentTimeMillis())
+                .setMessage(new SimpleMessage("Detail log of failed test '" + name + "' (" + lines + " line(s)) follows"))
+                .build();
+    }
+
+    // The run number alone is unique; browser, test and attempt repeat across parallel workers
+    private static String key(String run, String test) {
+        return test == null || run == null ? null : run + '|' + test;
+    }
+}
@@ -0,0 +1,293 @@
+package com.loanemi.utils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import com.loanemi.entity.TestCase;
+
+/**
+ * {@link TestCaseSource} over an XLSX worksheet, read with POI's event (SAX) model.
+ *
+ * The first row names the fields (same names as inputData.json, plus an optional "id"
+ * column); every following non-blank row is one test case. Unlike XSSFWorkbook, which builds
+ * the whole workbook in memory, the sheet XML is parsed as a stream on a background reader
+ * thread that hands rows over through a small bounded queue. Memory use is therefore constant
+ * in the number of rows: only the shared-strings table and the queued rows are held.
+ *
+ * Throughput (rows/s) and heap usage are logged when the source is closed: the heap in use
+ * when the source was opened (the baseline) and the most seen while streaming, sampled by the
+ * reader every few rows. Nothing JVM-wide (such as memory pool peaks) is reset.
+ */
+final class XlsxTestCaseSource implements TestCaseSource {
+
+    private static final Logger logger = LogManager.getLogger(XlsxTestCaseSource.class);
+
+    // Rows parsed ahead of the consumers; bounds memory and applies backpressure to the parser
+    private static final int QUEUE_CAPACITY = 1024;
+
+    // Rows between heap usage samples taken by the reader thread
+    private static final int HEAP_SAMPLE_ROWS = 1024;
+
+    // End-of-sheet marker placed on the queue by the reader thread
+    private static final Row END = new Row(-1, Collections.emptyMap());
+
+    private final String name;
+    private final BlockingQueue<Row> rows = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread reader;
+    private final long startNanos = System.nanoTime();
+    private final long baselineHeap = usedHeap();
+
+    // Most heap in use seen while streaming; written by the reader thread only
+    private volatile long maxHeap = baselineHeap;
+
+    private volatile Throwable readerError;
+    private long served;
+    private boolean closed;
+
+    /**
+     * One spreadsheet row, keyed by header name.
+     */
+    private static final class Row {
+        final int rowNumber;
+        final Map<String, Object> fields;
+
+        Row(int rowNumber, Map<String, Object> fields) {
+            this.rowNumber = rowNumber;
+            this.fields = fields;
+        }
+    }
+
+    private XlsxTestCaseSource(File file, String sheetName) {
+        this.name = file.getName() + (sheetName != null ? "!" + sheetName : "");
+        this.reader = new Thread(() -> readSheet(file, sheetName), "xlsx-reader-" + file.getName());
+        this.reader.setDaemon(true);
+        this.reader.start();
+        logger.info("Streaming test cases from '{}'", name);
+    }
+
+    /**
+     * Opens a worksheet for streaming.
+     *
+     * @param filePath  Path to an .xlsx workbook
+     * @param sheetName Worksheet to read, or null for the first sheet
+     */
+    static XlsxTestCaseSource open(String filePath, String sheetName) {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new IllegalArgumentException("XLSX test data not found: " + filePath);
+        }
+        return new XlsxTestCaseSource(file, sheetName);
+    }
+
+    @Override
+    public synchronized TestCase poll() {
+        if (closed) {
+            return null;
+        }
+
+        Row row;
+        try {
+            row = rows.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            return null;
+        }
+
+        if (row == END) {
+            Throwable error = readerError;
+            close();
+            if (error != null) {
+                throw new IllegalStateException("Error reading XLSX test data '" + name + "': " + error.getMessage(), error);
+            }
+            return null;
+        }
+
+        try {
+            TestCase testCase = TestCaseRecords.toTestCase(name, row.rowNumber + 1, row.fields);
+            served++;
+            return testCase;
+        } catch (IllegalArgumentException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized long served() {
+        return served;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        reader.interrupt(); // Unblocks the reader if consumers stopped early
+        rows.clear();
+
+        long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        long maxHeapSeen = Math.max(maxHeap, usedHeap());
+        logger.info("Closed '{}' after {} row(s) in {} ms ({} rows/s, heap {} MB at open, at most {} MB while streaming)",
+                name, served, millis, served * 1000 / millis, baselineHeap / (1024 * 1024), maxHeapSeen / (1024 * 1024));
+    }
+
+    /**
+     * Reader thread: SAX-parses the sheet and queues one Row per non-blank spreadsheet row.
+     */
+    private void readSheet(File file, String sheetName) {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (sheetName != null && !sheetName.equals(sheets.getSheetName())) {
+                        continue;
+                    }
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            xssfReader.getStylesTable(), null, strings, new RowCollector(), new RawNumberFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Worksheet '" + sheetName + "' not found in " + file.getName());
+        } catch (StopReading e) {
+            logger.debug("Reading of '{}' stopped early", name);
+        } catch (Exception e) {
+            readerError = e;
+            logger.error("Error streaming XLSX test data '{}'", name, e);
+        } finally {
+            try {
+                rows.put(END);
+            } catch (InterruptedException e) {
+                // Closed by a consumer; nobody is waiting for the end marker
+            }
+        }
+    }
+
+    /**
+     * Receives cell events and assembles header-keyed rows.
+     */
+    private final class RowCollector implements SheetContentsHandler {
+
+        private final List<String> header = new ArrayList<>();
+        private Map<String, Object> current;
+        private boolean headerRow = true;
+        private int rowsSinceSample;
+
+        @Override
+        public void startRow(int rowNum) {
+            current = new LinkedHashMap<>();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = columnIndex(cellReference);
+            if (headerRow) {
+                while (header.size() <= column) {
+                    header.add(null);
+                }
+                header.set(column, formattedValue.trim());
+            } else if (column < header.size() && header.get(column) != null && !formattedValue.isBlank()) {
+                current.put(header.get(column), formattedValue);
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headerRow) {
+                headerRow = false;
+                logger.debug("Header of '{}': {}", name, header);
+                return;
+            }
+            if (current.isEmpty()) {
+                return; // Blank row
+            }
+            try {
+                rows.put(new Row(rowNum, current));
+            } catch (InterruptedException e) {
+                throw new StopReading();
+            }
+            if (++rowsSinceSample == HEAP_SAMPLE_ROWS) {
+                rowsSinceSample = 0;
+                maxHeap = Math.max(maxHeap, usedHeap());
+            }
+        }
+    }
+
+    /**
+     * Thrown from the SAX callbacks to abandon parsing once the source is closed.
+     */
+    private static final class StopReading extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StopReading() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Returns numbers as their exact decimal value (1500000, not "1,500,000" or "1.5E6"),
+     * ignoring any display format except for dates.
+     */
+    private static final class RawNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString)) {
+                return super.formatRawCellContents(value, formatIndex, formatString);
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    // "AB12" -> 27 (0-based column)
+    private static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    // Heap in use by the whole JVM right now
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
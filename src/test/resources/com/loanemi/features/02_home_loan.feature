@@ -20,7 +20,7 @@
 @homepage
 Feature: Home Loan EMI Data Extraction
 
-  @home
+  @home @commandBudget=commands:450,scripts:20
   Scenario: Extract Home Loan EMI and Amortization Table
     Given The user opens the EMI calculator site
     When The user calculates and extracts Home Loan EMI data
@@ -20,7 +20,7 @@
 @loanpage
 Feature: EMI Calculator Field and Slider Validation
 
-  @emi_field
+  @emi_field @commandBudget=commands:90,scripts:14
   Scenario: Validate EMI Calculator Fields and Sliders
     Given The user opens the EMI calculator site
     When The user validates EMI calculator fields and sliders only
@@ -20,7 +20,7 @@
 @loanpage
 Feature: EMI Calculator UI Validation
 
-  @emi_ui
+  @emi_ui @commandBudget=commands:60,scripts:4
   Scenario: Validate EMI Calculator Results and Summary
     Given The user opens the EMI calculator site
     When The user validates EMI calculator summary
@@ -20,7 +20,7 @@
 @loanpage
 Feature: Loan Amount Calculator Field and Slider Validation
 
-  @amount_field
+  @amount_field @commandBudget=commands:100,scripts:14
   Scenario: Validate Loan Amount Fields and Sliders
     Given The user opens the EMI calculator site
     When The user validates Loan Amount calculator fields and sliders only
@@ -20,7 +20,7 @@
 @loanpage
 Feature: Loan Amount Calculator UI Validation
 
-  @amount_ui
+  @amount_ui @commandBudget=commands:40,scripts:2
   Scenario: Validate Loan Amount Results and Summary
     Given The user opens the EMI calculator site
     When The user validates Loan Amount calculator summary
@@ -21,7 +21,7 @@
 @loanpage
 Feature: Loan Tenure Calculator Field and Slider Validation
 
-  @tenure_field
+  @tenure_field @commandBudget=commands:90,scripts:12
   Scenario: Validate Loan Tenure Fields and Sliders
     Given The user opens the EMI calculator site
     When The user validates Loan Tenure calculator fields and sliders only
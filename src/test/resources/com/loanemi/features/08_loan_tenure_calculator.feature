@@ -20,7 +20,7 @@
 @loanpage
 Feature: Loan Tenure Calculator UI Validation
 
-  @tenure_ui
+  @tenure_ui @commandBudget=commands:40,scripts:2
   Scenario: Validate Loan Tenure Summary
     Given The user opens the EMI calculator site
     When The user validates Loan Tenure calculator summary
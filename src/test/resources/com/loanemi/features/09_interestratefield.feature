@@ -21,7 +21,7 @@
 @loanpage
 Feature: Interest Rate Calculator Field and Slider Validation
 
-  @rate_field
+  @rate_field @commandBudget=commands:100,scripts:14
   Scenario: Validate Interest Rate Fields and Sliders
     Given The user opens the EMI calculator site
     When The user validates Interest Rate calculator fields and sliders only
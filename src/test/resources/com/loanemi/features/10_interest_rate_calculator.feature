@@ -20,7 +20,7 @@
 @loanpage
 Feature: Interest Rate Calculator UI Validation
 
-  @rate_ui
+  @rate_ui @commandBudget=commands:40,scripts:2
   Scenario: Validate Interest Rate Summary
     Given The user opens the EMI calculator site
     When The user validates Interest Rate calculator summary